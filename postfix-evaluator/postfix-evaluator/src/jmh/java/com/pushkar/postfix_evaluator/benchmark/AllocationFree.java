@@ -0,0 +1,15 @@
+package com.pushkar.postfix_evaluator.benchmark;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a benchmark whose operation must not allocate once warmed up.
+ * {@link BenchmarkRunner} fails the run if the GC profiler reports allocation for it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface AllocationFree {
+}
@@ -0,0 +1,84 @@
+package com.pushkar.postfix_evaluator.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every result reports
+ * allocation rate next to throughput and average time.
+ * Accepts the standard JMH command line, e.g. {@code ParserBenchmark -p operatorCount=64}.
+ * Exits with status 1 if a benchmark marked {@link AllocationFree} allocated.
+ */
+public class BenchmarkRunner {
+    
+    /**
+     * Normalized allocation below which a benchmark counts as allocation-free;
+     * the GC profiler reports small fractions of a byte per operation as noise
+     */
+    private static final double ALLOCATION_NOISE_BYTES = 1.0;
+    
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        
+        List<String> allocating = findAllocating(results);
+        if (!allocating.isEmpty()) {
+            System.err.println("Benchmarks marked @AllocationFree allocated:");
+            allocating.forEach(line -> System.err.println("  " + line));
+            System.exit(1);
+        }
+    }
+    
+    /**
+     * Lists the allocation-free benchmarks whose normalized allocation rate exceeds the noise level
+     */
+    private static List<String> findAllocating(Collection<RunResult> results) throws ClassNotFoundException {
+        List<String> allocating = new ArrayList<>();
+        for (RunResult result : results) {
+            String benchmark = result.getParams().getBenchmark();
+            if (!isAllocationFree(benchmark)) {
+                continue;
+            }
+            // JMH declares the secondary results with a raw Result value type, so look values up by name
+            for (String name : result.getSecondaryResults().keySet()) {
+                Result<?> secondary = result.getSecondaryResults().get(name);
+                if (name.endsWith("gc.alloc.rate.norm") && secondary.getScore() >= ALLOCATION_NOISE_BYTES) {
+                    allocating.add(String.format("%s %s: %.1f B/op", benchmark,
+                        result.getParams().getMode(), secondary.getScore()));
+                }
+            }
+        }
+        return allocating;
+    }
+    
+    /**
+     * Checks whether a benchmark method, given by its fully qualified name, is marked allocation-free
+     */
+    private static boolean isAllocationFree(String benchmark) throws ClassNotFoundException {
+        int separator = benchmark.lastIndexOf('.');
+        Class<?> type = Class.forName(benchmark.substring(0, separator));
+        String method = benchmark.substring(separator + 1);
+        for (Method candidate : type.getMethods()) {
+            if (candidate.getName().equals(method) && candidate.isAnnotationPresent(AllocationFree.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,96 @@
+package com.pushkar.postfix_evaluator.benchmark;
+
+import com.pushkar.postfix_evaluator.corpus.CorpusGenerator;
+import com.pushkar.postfix_evaluator.corpus.CorpusSpec;
+import com.pushkar.postfix_evaluator.corpus.ExpressionCorpus;
+import com.pushkar.postfix_evaluator.corpus.TreeShape;
+import com.pushkar.postfix_evaluator.engine.CompiledExpression;
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.parser.InfixToPostfixConverter;
+import com.pushkar.postfix_evaluator.parser.Tokenizer;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generated corpus shared by the benchmarks, with every stage's input precomputed
+ * so each benchmark measures one stage only
+ */
+@State(Scope.Benchmark)
+public class CorpusState {
+    
+    /**
+     * Number of equations cycled through, so one expression cannot be overfitted
+     */
+    private static final int CORPUS_SIZE = 16;
+    
+    @Param({"8", "64", "512"})
+    private int operatorCount;
+    
+    @Param({"LEFT_DEEP", "BALANCED"})
+    private TreeShape shape;
+    
+    @Param({"additive", "mixed"})
+    private String operatorMix;
+    
+    @Param({"0", "8"})
+    private int variableCount;
+    
+    /**
+     * NDJSON corpus written by {@link CorpusGenerator}; replaces the generated corpus when set
+     */
+    @Param({""})
+    private String corpusFile;
+    
+    String[] infix;
+    List<List<String>> infixTokens;
+    List<List<String>> postfixTokens;
+    TreeNode[] trees;
+    CompiledExpression[] compiled;
+    List<Map<String, Number>> bindings;
+    
+    @Setup
+    public void setUp() throws IOException {
+        ExpressionCorpus corpus = corpusFile.isEmpty()
+                ? CorpusGenerator.generate(spec())
+                : ExpressionCorpus.read(Path.of(corpusFile));
+        int size = corpus.size();
+        infix = new String[size];
+        infixTokens = new ArrayList<>(size);
+        postfixTokens = new ArrayList<>(size);
+        trees = new TreeNode[size];
+        compiled = new CompiledExpression[size];
+        bindings = new ArrayList<>(size);
+        
+        for (int i = 0; i < size; i++) {
+            infix[i] = corpus.get(i).getEquation();
+            infixTokens.add(Tokenizer.tokenize(infix[i]));
+            postfixTokens.add(InfixToPostfixConverter.convert(infixTokens.get(i)));
+            trees[i] = EquationParser.parse(infix[i]);
+            compiled[i] = CompiledExpression.compile(trees[i]);
+            bindings.add(corpus.get(i).getVariables());
+        }
+    }
+    
+    int size() {
+        return infix.length;
+    }
+    
+    private CorpusSpec spec() {
+        CorpusSpec spec = new CorpusSpec();
+        spec.setEquationCount(CORPUS_SIZE);
+        spec.setOperatorCount(operatorCount);
+        spec.setShape(shape);
+        spec.setOperatorWeights(CorpusSpec.operatorMix(operatorMix));
+        spec.setVariableCount(variableCount);
+        return spec;
+    }
+}
@@ -0,0 +1,65 @@
+package com.pushkar.postfix_evaluator.benchmark;
+
+import com.pushkar.postfix_evaluator.parser.InfixNotationReconstructor;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the stages that walk a built expression tree
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluatorBenchmark {
+    
+    private int cursor;
+    
+    private int next(CorpusState corpus) {
+        cursor = cursor + 1 == corpus.size() ? 0 : cursor + 1;
+        return cursor;
+    }
+    
+    @Benchmark
+    public Double evaluate(CorpusState corpus) {
+        int i = next(corpus);
+        return EvaluatorService.evaluate(corpus.trees[i], corpus.bindings.get(i));
+    }
+    
+    @Benchmark
+    @AllocationFree
+    public double evaluateToDouble(CorpusState corpus) {
+        int i = next(corpus);
+        return EvaluatorService.evaluateToDouble(corpus.trees[i], corpus.bindings.get(i));
+    }
+    
+    @Benchmark
+    @AllocationFree
+    public double evaluateCompiled(CorpusState corpus) {
+        int i = next(corpus);
+        return corpus.compiled[i].evaluate(corpus.bindings.get(i));
+    }
+    
+    @Benchmark
+    public Set<String> extractVariables(CorpusState corpus) {
+        return EvaluatorService.extractVariables(corpus.trees[next(corpus)]);
+    }
+    
+    @Benchmark
+    public String reconstruct(CorpusState corpus) {
+        return InfixNotationReconstructor.reconstruct(corpus.trees[next(corpus)]);
+    }
+}
@@ -0,0 +1,58 @@
+package com.pushkar.postfix_evaluator.benchmark;
+
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.parser.InfixToPostfixConverter;
+import com.pushkar.postfix_evaluator.parser.PostfixTreeBuilder;
+import com.pushkar.postfix_evaluator.parser.Tokenizer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for each parsing stage, fed with the previous stage's output
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+    
+    private int cursor;
+    
+    private int next(CorpusState corpus) {
+        cursor = cursor + 1 == corpus.size() ? 0 : cursor + 1;
+        return cursor;
+    }
+    
+    @Benchmark
+    public List<String> tokenize(CorpusState corpus) {
+        return Tokenizer.tokenize(corpus.infix[next(corpus)]);
+    }
+    
+    @Benchmark
+    public List<String> convert(CorpusState corpus) {
+        return InfixToPostfixConverter.convert(corpus.infixTokens.get(next(corpus)));
+    }
+    
+    @Benchmark
+    public TreeNode buildTree(CorpusState corpus) {
+        return PostfixTreeBuilder.buildTree(corpus.postfixTokens.get(next(corpus)));
+    }
+    
+    @Benchmark
+    public TreeNode parse(CorpusState corpus) {
+        return EquationParser.parse(corpus.infix[next(corpus)]);
+    }
+}
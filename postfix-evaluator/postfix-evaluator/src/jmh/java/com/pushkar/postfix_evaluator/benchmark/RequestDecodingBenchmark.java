@@ -0,0 +1,105 @@
+package com.pushkar.postfix_evaluator.benchmark;
+
+import com.pushkar.postfix_evaluator.dto.EquationEvaluationResultDTO;
+import com.pushkar.postfix_evaluator.dto.EvaluationRequestDTO;
+import com.pushkar.postfix_evaluator.dto.EvaluationRequestReader;
+import com.pushkar.postfix_evaluator.dto.EvaluationResponseDTO;
+import com.pushkar.postfix_evaluator.engine.CompiledExpression;
+import com.pushkar.postfix_evaluator.engine.VariableSlots;
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON work around one evaluate call: binding the request into a
+ * Map and echoing it in the full response, against reading it straight into variable
+ * slots and writing the lean response, on the compiled engine and on the tree interpreter
+ * that equations run on until they are promoted
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestDecodingBenchmark {
+    
+    @Param({"4", "32"})
+    public int variableCount;
+    
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private String equation;
+    private TreeNode rootNode;
+    private CompiledExpression compiled;
+    private String[] schema;
+    private byte[] body;
+    
+    @Setup
+    public void setUp() {
+        StringJoiner sum = new StringJoiner(" + ");
+        Map<String, Number> variables = new LinkedHashMap<>();
+        for (int i = 0; i < variableCount; i++) {
+            sum.add("v" + i + " * " + (i + 1));
+            variables.put("v" + i, i * 1.25 + 0.5);
+        }
+        equation = sum.toString();
+        rootNode = EquationParser.parse(equation);
+        compiled = CompiledExpression.compile(rootNode);
+        schema = compiled.getVariableNames();
+        body = mapper.writeValueAsBytes(new EvaluationRequestDTO(variables));
+    }
+    
+    @Benchmark
+    public byte[] mapRequestFullResponse() {
+        EvaluationRequestDTO request = mapper.readValue(body, EvaluationRequestDTO.class);
+        double result = compiled.evaluate(request.getVariables());
+        return mapper.writeValueAsBytes(
+            new EvaluationResponseDTO("1", equation, request.getVariables(), result));
+    }
+    
+    @Benchmark
+    public byte[] slotRequestLeanResponse() {
+        VariableSlots variables;
+        try (JsonParser parser = mapper.createParser(body)) {
+            variables = EvaluationRequestReader.readVariables(parser, schema);
+        }
+        double result = compiled.evaluate(variables);
+        return mapper.writeValueAsBytes(new EquationEvaluationResultDTO("1", result, null));
+    }
+    
+    @Benchmark
+    public byte[] mapRequestFullResponseInterpreted() {
+        EvaluationRequestDTO request = mapper.readValue(body, EvaluationRequestDTO.class);
+        double result = EvaluatorService.evaluateToDouble(rootNode, request.getVariables());
+        return mapper.writeValueAsBytes(
+            new EvaluationResponseDTO("1", equation, request.getVariables(), result));
+    }
+    
+    @Benchmark
+    public byte[] slotRequestLeanResponseInterpreted() {
+        VariableSlots variables;
+        try (JsonParser parser = mapper.createParser(body)) {
+            variables = EvaluationRequestReader.readVariables(parser, schema);
+        }
+        double result = EvaluatorService.evaluateToDouble(rootNode, variables);
+        return mapper.writeValueAsBytes(new EquationEvaluationResultDTO("1", result, null));
+    }
+}
@@ -0,0 +1,115 @@
+package com.pushkar.postfix_evaluator.benchmark;
+
+import com.pushkar.postfix_evaluator.corpus.CorpusGenerator;
+import com.pushkar.postfix_evaluator.corpus.CorpusSpec;
+import com.pushkar.postfix_evaluator.corpus.ExpressionCorpus;
+import com.pushkar.postfix_evaluator.corpus.GeneratedEquation;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares platform and virtual request threads at increasing concurrency.
+ * One operation is a wave of {@code concurrency} simulated evaluate requests, each blocking
+ * briefly in place of persistence and logging I/O before parsing and evaluating an equation.
+ * Platform threads come from a pool capped like Tomcat's default of 200 request threads;
+ * virtual threads are started per request, as Tomcat does with
+ * {@code spring.threads.virtual.enabled=true}. Requests per second = concurrency / time per wave.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThreadModelBenchmark {
+    
+    /**
+     * Request thread pool size of an embedded Tomcat with default settings
+     */
+    static final int PLATFORM_POOL_SIZE = 200;
+    
+    public enum ThreadModel {
+        PLATFORM,
+        VIRTUAL
+    }
+    
+    @Param({"PLATFORM", "VIRTUAL"})
+    private ThreadModel threadModel;
+    
+    @Param({"64", "256", "1024", "4096"})
+    private int concurrency;
+    
+    /**
+     * Time each request spends blocked, standing in for I/O
+     */
+    @Param({"1000"})
+    private long blockingMicros;
+    
+    private ExecutorService executor;
+    private ExpressionCorpus corpus;
+    
+    @Setup
+    public void setUp() {
+        executor = threadModel == ThreadModel.PLATFORM
+                ? Executors.newFixedThreadPool(PLATFORM_POOL_SIZE,
+                    Thread.ofPlatform().name("request-", 0).daemon().factory())
+                : Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("request-", 0).factory());
+        
+        CorpusSpec spec = new CorpusSpec();
+        spec.setEquationCount(64);
+        spec.setOperatorCount(16);
+        corpus = CorpusGenerator.generate(spec);
+    }
+    
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+    
+    @Benchmark
+    public double requestWave() throws InterruptedException, ExecutionException {
+        Duration blocking = Duration.ofNanos(blockingMicros * 1000);
+        List<Future<Double>> requests = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            GeneratedEquation equation = corpus.get(i % corpus.size());
+            requests.add(executor.submit(() -> handle(equation, blocking)));
+        }
+        
+        double sum = 0;
+        for (Future<Double> request : requests) {
+            sum += request.get();
+        }
+        return sum;
+    }
+    
+    /**
+     * Simulates one evaluate request: blocking I/O, then parse and evaluate
+     */
+    private static double handle(GeneratedEquation equation, Duration blocking) throws InterruptedException {
+        Thread.sleep(blocking);
+        return EvaluatorService.evaluateToDouble(
+            EquationParser.parse(equation.getEquation()), equation.getVariables());
+    }
+}
@@ -0,0 +1,325 @@
+package com.pushkar.postfix_evaluator.corpus;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Seeded generator of valid infix equations with matching variable bindings.
+ * Output only uses syntax the parser accepts: fully parenthesized binary
+ * subexpressions and unary minus directly after an opening parenthesis.
+ * Every equation evaluates without error against its bindings: a division whose
+ * divisor evaluates to zero becomes a multiplication, and exponents are small
+ * integer constants so powers stay real-valued.
+ */
+public class CorpusGenerator {
+    
+    private static final Pattern VARIABLE = Pattern.compile("x\\d+");
+    
+    /**
+     * Maximum number of remembered subtrees per operator count for duplication
+     */
+    private static final int POOL_LIMIT = 64;
+    
+    private final CorpusSpec spec;
+    private final Random random;
+    private final String[] operators;
+    private final int[] cumulativeWeights;
+    private final double[] bindings;
+    private final Map<Integer, List<Subtree>> pool = new HashMap<>();
+    
+    private CorpusGenerator(CorpusSpec spec) {
+        this.spec = spec;
+        this.random = new Random(spec.getSeed());
+        this.operators = spec.getOperatorWeights().keySet().toArray(new String[0]);
+        this.cumulativeWeights = new int[operators.length];
+        int total = 0;
+        for (int i = 0; i < operators.length; i++) {
+            total += spec.getOperatorWeights().get(operators[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Operator weights must have a positive total");
+        }
+        this.bindings = new double[spec.getVariableCount()];
+        for (int i = 0; i < bindings.length; i++) {
+            bindings[i] = nonZeroValue();
+        }
+    }
+    
+    /**
+     * Generates a corpus
+     * 
+     * @param spec the generation settings
+     * @return the corpus, identical for identical specs
+     */
+    public static ExpressionCorpus generate(CorpusSpec spec) {
+        CorpusGenerator generator = new CorpusGenerator(spec);
+        int depth = Math.max(spec.getMaxDepth(), minimumDepth(spec.getOperatorCount()));
+        
+        List<GeneratedEquation> equations = new ArrayList<>(spec.getEquationCount());
+        for (int i = 0; i < spec.getEquationCount(); i++) {
+            Subtree root = generator.subtree(spec.getOperatorCount(), depth, false);
+            String infix = root.operatorCount > 0 && !root.negated
+                    ? root.text.substring(1, root.text.length() - 1)
+                    : root.text;
+            Double expected = Double.isFinite(root.value) ? root.value : null;
+            equations.add(new GeneratedEquation(infix, generator.bindingsFor(infix), expected));
+        }
+        return new ExpressionCorpus(equations);
+    }
+    
+    /**
+     * Generates a subtree with the given number of binary operators within the depth budget.
+     * Whole equations are never repeated, only their subexpressions.
+     */
+    private Subtree subtree(int operatorCount, int depth, boolean repeatable) {
+        if (operatorCount == 0) {
+            return maybeNegate(leaf(), depth);
+        }
+        
+        List<Subtree> candidates = pool.get(operatorCount);
+        if (repeatable && candidates != null && random.nextDouble() < spec.getDuplicateRate()) {
+            Subtree repeated = candidates.get(random.nextInt(candidates.size()));
+            if (repeated.depth <= depth) {
+                return repeated;
+            }
+        }
+        
+        int left = leftOperatorCount(operatorCount, depth);
+        int right = operatorCount - 1 - left;
+        String operator = pickOperator();
+        if (right > 0 && operator.equals("^")) {
+            operator = "*";
+        }
+        
+        Subtree leftTree = subtree(left, depth - 1, true);
+        Subtree rightTree = operator.equals("^")
+                ? constant(2 + random.nextInt(2))
+                : subtree(right, depth - 1, true);
+        double value = apply(operator, leftTree.value, rightTree.value);
+        if (operator.equals("/") && rightTree.value == 0) {
+            operator = "*";
+            value = leftTree.value * rightTree.value;
+        }
+        
+        Subtree result = new Subtree(
+                "(" + leftTree.text + " " + operator + " " + rightTree.text + ")",
+                value, 1 + Math.max(leftTree.depth, rightTree.depth), operatorCount, false);
+        remember(result);
+        return maybeNegate(result, depth);
+    }
+    
+    /**
+     * Decides how many operators go into the left subtree for the configured shape
+     */
+    private int leftOperatorCount(int operatorCount, int depth) {
+        int remaining = operatorCount - 1;
+        int capacity = capacity(depth - 1);
+        int min = Math.max(0, remaining - capacity);
+        int max = Math.min(remaining, capacity);
+        switch (spec.getShape()) {
+            case LEFT_DEEP:
+                return max;
+            case BALANCED:
+                return Math.min(max, Math.max(min, remaining / 2));
+            default:
+                return min + random.nextInt(max - min + 1);
+        }
+    }
+    
+    /**
+     * Wraps an operand in a unary minus when the rate and depth budget allow
+     */
+    private Subtree maybeNegate(Subtree operand, int depth) {
+        if (operand.negated || operand.depth >= depth || random.nextDouble() >= spec.getUnaryMinusRate()) {
+            return operand;
+        }
+        return new Subtree("(-" + operand.text + ")", 0 - operand.value,
+                operand.depth + 1, operand.operatorCount, true);
+    }
+    
+    /**
+     * Creates a variable or constant leaf
+     */
+    private Subtree leaf() {
+        if (bindings.length > 0 && random.nextDouble() < spec.getVariableRate()) {
+            int slot = random.nextInt(bindings.length);
+            return new Subtree("x" + slot, bindings[slot], 1, 0, false);
+        }
+        if (random.nextInt(5) == 0) {
+            int whole = random.nextInt(10);
+            int fraction = 1 + random.nextInt(9);
+            return new Subtree(whole + "." + fraction, Double.parseDouble(whole + "." + fraction), 1, 0, false);
+        }
+        return constant(random.nextInt(10));
+    }
+    
+    private static Subtree constant(int value) {
+        return new Subtree(Integer.toString(value), value, 1, 0, false);
+    }
+    
+    private String pickOperator() {
+        int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operators[i];
+            }
+        }
+        return operators[operators.length - 1];
+    }
+    
+    /**
+     * Keeps a bounded sample of subtrees per operator count for later duplication
+     */
+    private void remember(Subtree subtree) {
+        if (spec.getDuplicateRate() <= 0) {
+            return;
+        }
+        List<Subtree> candidates = pool.computeIfAbsent(subtree.operatorCount, count -> new ArrayList<>());
+        if (candidates.size() < POOL_LIMIT) {
+            candidates.add(subtree);
+        } else {
+            candidates.set(random.nextInt(POOL_LIMIT), subtree);
+        }
+    }
+    
+    /**
+     * Collects bindings for the variables an equation actually uses
+     */
+    private Map<String, Number> bindingsFor(String infix) {
+        Map<String, Number> variables = new TreeMap<>();
+        Matcher matcher = VARIABLE.matcher(infix);
+        while (matcher.find()) {
+            String name = matcher.group();
+            variables.put(name, bindings[Integer.parseInt(name.substring(1))]);
+        }
+        return variables;
+    }
+    
+    /**
+     * Creates a binding value in [-10, 10) with two decimals, never zero
+     */
+    private double nonZeroValue() {
+        int hundredths;
+        do {
+            hundredths = random.nextInt(2000) - 1000;
+        } while (hundredths == 0);
+        return hundredths / 100.0;
+    }
+    
+    /**
+     * Applies an operator the same way the tree interpreter does
+     */
+    private static double apply(String operator, double left, double right) {
+        switch (operator) {
+            case "+":
+                return left + right;
+            case "-":
+                return left - right;
+            case "*":
+                return left * right;
+            case "/":
+                return left / right;
+            default:
+                return Math.pow(left, right);
+        }
+    }
+    
+    /**
+     * Gets the number of binary operators that fit in a tree of the given depth
+     */
+    private static int capacity(int depth) {
+        if (depth < 1) {
+            return 0;
+        }
+        return depth >= 31 ? Integer.MAX_VALUE : (1 << (depth - 1)) - 1;
+    }
+    
+    /**
+     * Gets the smallest depth that can hold the given number of binary operators
+     */
+    private static int minimumDepth(int operatorCount) {
+        return 33 - Integer.numberOfLeadingZeros(operatorCount);
+    }
+    
+    /**
+     * Writes a corpus file from command-line options, e.g.
+     * {@code --out=target/corpus.ndjson --count=1000 --operators=64 --shape=BALANCED}
+     */
+    public static void main(String[] args) throws Exception {
+        CorpusSpec spec = new CorpusSpec();
+        Path out = Path.of("target/corpus.ndjson");
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String value = option[1];
+            switch (option[0]) {
+                case "out":
+                    out = Path.of(value);
+                    break;
+                case "seed":
+                    spec.setSeed(Long.parseLong(value));
+                    break;
+                case "count":
+                    spec.setEquationCount(Integer.parseInt(value));
+                    break;
+                case "operators":
+                    spec.setOperatorCount(Integer.parseInt(value));
+                    break;
+                case "depth":
+                    spec.setMaxDepth(Integer.parseInt(value));
+                    break;
+                case "shape":
+                    spec.setShape(TreeShape.valueOf(value));
+                    break;
+                case "mix":
+                    spec.setOperatorWeights(CorpusSpec.operatorMix(value));
+                    break;
+                case "variables":
+                    spec.setVariableCount(Integer.parseInt(value));
+                    break;
+                case "variable-rate":
+                    spec.setVariableRate(Double.parseDouble(value));
+                    break;
+                case "duplicate-rate":
+                    spec.setDuplicateRate(Double.parseDouble(value));
+                    break;
+                case "unary-rate":
+                    spec.setUnaryMinusRate(Double.parseDouble(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + option[0]);
+            }
+        }
+        generate(spec).write(out);
+        System.out.println("Wrote " + spec.getEquationCount() + " equations to " + out);
+    }
+    
+    /**
+     * A generated subexpression with its value under the corpus bindings
+     */
+    private static final class Subtree {
+        private final String text;
+        private final double value;
+        private final int depth;
+        private final int operatorCount;
+        private final boolean negated;
+        
+        private Subtree(String text, double value, int depth, int operatorCount, boolean negated) {
+            this.text = text;
+            this.value = value;
+            this.depth = depth;
+            this.operatorCount = operatorCount;
+            this.negated = negated;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.pushkar.postfix_evaluator.corpus;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings for generating a synthetic expression corpus.
+ * The same spec and seed always produce the same corpus.
+ */
+@Data
+public class CorpusSpec {
+    
+    private long seed = 42;
+    
+    /**
+     * Number of equations in the corpus
+     */
+    private int equationCount = 100;
+    
+    /**
+     * Number of binary operators in each equation
+     */
+    private int operatorCount = 64;
+    
+    /**
+     * Maximum tree depth, raised to the minimum depth that fits the operators
+     */
+    private int maxDepth = Integer.MAX_VALUE;
+    
+    private TreeShape shape = TreeShape.RANDOM;
+    
+    /**
+     * Relative weight of each binary operator
+     */
+    private Map<String, Integer> operatorWeights = operatorMix("mixed");
+    
+    /**
+     * Number of distinct variables shared by the corpus, or 0 for constants only
+     */
+    private int variableCount = 8;
+    
+    /**
+     * Probability that a leaf is a variable rather than a constant
+     */
+    private double variableRate = 0.5;
+    
+    /**
+     * Probability that a subtree repeats one generated earlier with the same operator count
+     */
+    private double duplicateRate = 0.0;
+    
+    /**
+     * Probability that an operand is negated with a unary minus
+     */
+    private double unaryMinusRate = 0.0;
+    
+    /**
+     * Gets the operator weights for a named mix
+     * 
+     * @param name one of {@code additive}, {@code multiplicative}, {@code mixed} or {@code power}
+     * @return operator weights keyed by operator symbol
+     * @throws IllegalArgumentException if the mix is unknown
+     */
+    public static Map<String, Integer> operatorMix(String name) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        switch (name) {
+            case "additive":
+                weights.put("+", 1);
+                weights.put("-", 1);
+                break;
+            case "multiplicative":
+                weights.put("*", 2);
+                weights.put("/", 1);
+                break;
+            case "mixed":
+                weights.put("+", 4);
+                weights.put("-", 3);
+                weights.put("*", 3);
+                weights.put("/", 2);
+                weights.put("^", 1);
+                break;
+            case "power":
+                weights.put("+", 1);
+                weights.put("*", 1);
+                weights.put("^", 2);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown operator mix: " + name);
+        }
+        return weights;
+    }
+}
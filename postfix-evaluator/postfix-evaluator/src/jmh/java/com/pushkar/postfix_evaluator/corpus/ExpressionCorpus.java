@@ -0,0 +1,78 @@
+package com.pushkar.postfix_evaluator.corpus;
+
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A generated list of equations, stored on disk as NDJSON so runs can reuse it
+ */
+public class ExpressionCorpus {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final List<GeneratedEquation> equations;
+    
+    public ExpressionCorpus(List<GeneratedEquation> equations) {
+        this.equations = Collections.unmodifiableList(new ArrayList<>(equations));
+    }
+    
+    public List<GeneratedEquation> getEquations() {
+        return equations;
+    }
+    
+    public int size() {
+        return equations.size();
+    }
+    
+    public GeneratedEquation get(int index) {
+        return equations.get(index);
+    }
+    
+    /**
+     * Writes the corpus as one JSON object per line
+     * 
+     * @param file the file to write, replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        ObjectWriter writer = MAPPER.writerFor(GeneratedEquation.class);
+        try (BufferedWriter out = Files.newBufferedWriter(file)) {
+            for (GeneratedEquation equation : equations) {
+                out.write(writer.writeValueAsString(equation));
+                out.newLine();
+            }
+        }
+    }
+    
+    /**
+     * Reads a corpus written by {@link #write(Path)}
+     * 
+     * @param file the NDJSON file to read
+     * @return the corpus
+     * @throws IOException if the file cannot be read
+     */
+    public static ExpressionCorpus read(Path file) throws IOException {
+        List<GeneratedEquation> equations = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(file);
+             MappingIterator<GeneratedEquation> entries =
+                     MAPPER.readerFor(GeneratedEquation.class).readValues(in)) {
+            while (entries.hasNext()) {
+                equations.add(entries.next());
+            }
+        }
+        return new ExpressionCorpus(equations);
+    }
+}
@@ -0,0 +1,25 @@
+package com.pushkar.postfix_evaluator.corpus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One corpus entry: an infix equation and bindings for exactly the variables it uses.
+ * Serialized as one NDJSON line that the bulk store endpoint also accepts.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GeneratedEquation {
+    private String equation;
+    
+    private Map<String, Number> variables;
+    
+    /**
+     * Result of evaluating the equation with its bindings, or null when it is not finite
+     */
+    private Double expected;
+}
@@ -0,0 +1,21 @@
+package com.pushkar.postfix_evaluator.corpus;
+
+/**
+ * How a generated expression distributes its operators between left and right subtrees
+ */
+public enum TreeShape {
+    /**
+     * Every operator goes into the left subtree until the depth limit forces a split
+     */
+    LEFT_DEEP,
+    
+    /**
+     * Operators are split evenly, giving logarithmic depth
+     */
+    BALANCED,
+    
+    /**
+     * Operators are split at random within the depth limit
+     */
+    RANDOM
+}
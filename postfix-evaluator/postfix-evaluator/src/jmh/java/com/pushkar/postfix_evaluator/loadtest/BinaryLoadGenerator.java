@@ -0,0 +1,166 @@
+package com.pushkar.postfix_evaluator.loadtest;
+
+import com.pushkar.postfix_evaluator.binary.BinaryEvaluationClient;
+import com.pushkar.postfix_evaluator.binary.BinaryProtocol;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop load generator for the binary evaluation protocol.
+ * Stores one equation over HTTP, then has each connection send windows of pipelined
+ * requests and wait for all their responses, reporting throughput and the latency
+ * percentiles of a whole window's round trip.
+ * 
+ * <p>Example: {@code --connections=4 --pipeline=256 --duration=30 --equation="a * b + c"}
+ */
+public class BinaryLoadGenerator {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(Map.of(
+            "url", "http://localhost:8080",
+            "host", "localhost",
+            "port", "9090",
+            "equation", "a * b + c",
+            "connections", "4",
+            "pipeline", "256",
+            "duration", "30",
+            "warmup", "5"));
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            if (option.length != 2 || !options.containsKey(option[0])) {
+                throw new IllegalArgumentException("Unknown option: " + arg);
+            }
+            options.put(option[0], option[1]);
+        }
+        
+        String equation = options.get("equation");
+        long equationId = store(options.get("url"), equation);
+        int variableCount = EvaluatorService.extractVariables(EquationParser.parse(equation)).size();
+        int connections = Integer.parseInt(options.get("connections"));
+        int pipeline = Integer.parseInt(options.get("pipeline"));
+        long warmupNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("warmup")));
+        long durationNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(options.get("duration")));
+        
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        Worker[] workers = new Worker[connections];
+        for (int i = 0; i < connections; i++) {
+            workers[i] = new Worker(options.get("host"), Integer.parseInt(options.get("port")),
+                equationId, variableCount, pipeline, measureFrom, end);
+            workers[i].thread.start();
+        }
+        
+        Histogram windows = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+        long requests = 0;
+        long failures = 0;
+        for (Worker worker : workers) {
+            worker.thread.join();
+            if (worker.error != null) {
+                throw worker.error;
+            }
+            windows.add(worker.windows);
+            requests += worker.requests;
+            failures += worker.failures;
+        }
+        
+        double seconds = durationNanos / 1e9;
+        System.out.printf("Connections %d, pipeline %d, %d variables%n", connections, pipeline, variableCount);
+        System.out.printf("Requests   %,d (%,d failed)%n", requests, failures);
+        System.out.printf("Throughput %,.0f evaluations/s%n", requests / seconds);
+        System.out.printf("Window round trip (us): p50 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+            windows.getValueAtPercentile(50) / 1e3, windows.getValueAtPercentile(99) / 1e3,
+            windows.getValueAtPercentile(99.9) / 1e3, windows.getMaxValue() / 1e3);
+    }
+    
+    /**
+     * Stores the equation through the REST API and returns its numeric ID
+     */
+    private static long store(String url, String equation) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url + "/api/equations/store"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                    MAPPER.writeValueAsString(Map.of("equation", equation))))
+                .build();
+        HttpResponse<String> response = HttpClient.newHttpClient()
+                .send(request, HttpResponse.BodyHandlers.ofString());
+        return Long.parseLong(MAPPER.readTree(response.body()).get("equationId").asString());
+    }
+    
+    /**
+     * One connection sending windows of pipelined requests
+     */
+    private static final class Worker implements Runnable {
+        private final String host;
+        private final int port;
+        private final long equationId;
+        private final double[] values;
+        private final int pipeline;
+        private final long measureFrom;
+        private final long end;
+        private final Histogram windows = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+        private final Thread thread;
+        
+        private long requests;
+        private long failures;
+        private Exception error;
+        
+        Worker(String host, int port, long equationId, int variableCount, int pipeline,
+               long measureFrom, long end) {
+            this.host = host;
+            this.port = port;
+            this.equationId = equationId;
+            this.values = new double[variableCount];
+            this.pipeline = pipeline;
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.thread = Thread.ofPlatform().name("binary-load").unstarted(this);
+        }
+        
+        @Override
+        public void run() {
+            try (BinaryEvaluationClient client = new BinaryEvaluationClient(host, port)) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long now = System.nanoTime();
+                while (now < end) {
+                    for (int i = 0; i < pipeline; i++) {
+                        for (int v = 0; v < values.length; v++) {
+                            values[v] = random.nextDouble(1, 100);
+                        }
+                        client.send(equationId, values);
+                    }
+                    client.flush();
+                    int failed = 0;
+                    for (int i = 0; i < pipeline; i++) {
+                        if (client.receive() != BinaryProtocol.OK) {
+                            failed++;
+                        }
+                    }
+                    
+                    long finished = System.nanoTime();
+                    if (now >= measureFrom) {
+                        windows.recordValue(Math.min(finished - now, windows.getHighestTrackableValue()));
+                        requests += pipeline;
+                        failures += failed;
+                    }
+                    now = finished;
+                }
+            } catch (Exception e) {
+                error = e;
+            }
+        }
+    }
+}
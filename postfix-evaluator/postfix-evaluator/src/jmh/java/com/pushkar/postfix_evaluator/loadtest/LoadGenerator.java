@@ -0,0 +1,297 @@
+package com.pushkar.postfix_evaluator.loadtest;
+
+import com.pushkar.postfix_evaluator.corpus.CorpusGenerator;
+import com.pushkar.postfix_evaluator.corpus.CorpusSpec;
+import com.pushkar.postfix_evaluator.corpus.ExpressionCorpus;
+import com.pushkar.postfix_evaluator.corpus.GeneratedEquation;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Self-contained HTTP load generator for a locally running evaluator.
+ * Preloads equations, then drives store, list and evaluate requests either at an
+ * open-loop arrival rate or from closed-loop workers, and writes a JSON report
+ * with HdrHistogram latency percentiles and throughput per operation.
+ * 
+ * <p>Example: {@code --rate=2000 --concurrency=32 --duration=60 --mix=evaluate=9,list=1}
+ */
+public class LoadGenerator {
+    
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ExpressionCorpus corpus;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger storeCursor = new AtomicInteger();
+    private final List<String> preloadedIds = new ArrayList<>();
+    private final List<GeneratedEquation> preloadedEquations = new ArrayList<>();
+    
+    private volatile long measureFrom;
+    
+    public LoadGenerator(LoadTestConfig config, ExpressionCorpus corpus) {
+        this.config = config;
+        this.corpus = corpus;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        
+        this.operations = config.getMix().keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += config.getMix().get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Request mix must have a positive total weight");
+        }
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        LoadTestReport report = new LoadGenerator(config, loadCorpus(config)).run();
+        
+        Path reportFile = Path.of(config.getReport());
+        if (reportFile.getParent() != null) {
+            Files.createDirectories(reportFile.getParent());
+        }
+        MAPPER.writerWithDefaultPrettyPrinter().writeValue(reportFile.toFile(), report);
+        print(report);
+        System.out.println("Report written to " + reportFile);
+    }
+    
+    /**
+     * Preloads equations, runs the configured load and summarizes it
+     * 
+     * @return the report
+     * @throws IOException if preloading fails
+     * @throws InterruptedException if interrupted while waiting for requests
+     */
+    public LoadTestReport run() throws IOException, InterruptedException {
+        preload();
+        
+        ExecutorService workers = Executors.newFixedThreadPool(config.getConcurrency(),
+                Thread.ofPlatform().name("load-", 0).daemon().factory());
+        long start = System.nanoTime();
+        measureFrom = start + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        
+        if (config.getRate() > 0) {
+            dispatchOpenLoop(workers, start, end);
+        } else {
+            for (int i = 0; i < config.getConcurrency(); i++) {
+                workers.execute(() -> {
+                    while (System.nanoTime() < end) {
+                        execute(pickOperation(), System.nanoTime());
+                    }
+                });
+            }
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(60, TimeUnit.SECONDS)) {
+            workers.shutdownNow();
+        }
+        double measuredSeconds = (Math.max(System.nanoTime(), end) - measureFrom) / 1e9;
+        
+        Stats total = new Stats();
+        Map<Operation, LoadTestReport.OperationReport> perOperation = new EnumMap<>(Operation.class);
+        for (Map.Entry<Operation, Stats> entry : stats.entrySet()) {
+            if (entry.getValue().requests.sum() > 0) {
+                perOperation.put(entry.getKey(), entry.getValue().report(measuredSeconds));
+                total.add(entry.getValue());
+            }
+        }
+        return new LoadTestReport(config, measuredSeconds, total.report(measuredSeconds), perOperation);
+    }
+    
+    /**
+     * Issues requests at fixed intended start times regardless of how fast the server
+     * answers, so a stalled server shows up as latency instead of as fewer requests
+     */
+    private void dispatchOpenLoop(ExecutorService workers, long start, long end) {
+        double intervalNanos = 1e9 / config.getRate();
+        for (long i = 0; ; i++) {
+            long intended = start + (long) (i * intervalNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pickOperation();
+            workers.execute(() -> execute(operation, intended));
+        }
+    }
+    
+    /**
+     * Sends one request and records its latency from the intended start
+     */
+    private void execute(Operation operation, long intendedStart) {
+        long sent = System.nanoTime();
+        boolean failed;
+        try {
+            HttpResponse<Void> response = client.send(request(operation), HttpResponse.BodyHandlers.discarding());
+            failed = response.statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        long done = System.nanoTime();
+        
+        if (intendedStart >= measureFrom) {
+            stats.get(operation).record(done - intendedStart, done - sent, failed);
+        }
+    }
+    
+    private HttpRequest request(Operation operation) {
+        String base = config.getUrl() + "/api/equations";
+        switch (operation) {
+            case STORE:
+                GeneratedEquation equation = corpus.get(
+                        Math.floorMod(storeCursor.getAndIncrement(), corpus.size()));
+                return post(base + "/store", Map.of("equation", equation.getEquation()));
+            case LIST:
+                return HttpRequest.newBuilder(URI.create(base)).GET().build();
+            default:
+                int index = ThreadLocalRandom.current().nextInt(preloadedIds.size());
+                return post(base + "/" + preloadedIds.get(index) + "/evaluate",
+                        Map.of("variables", preloadedEquations.get(index).getVariables()));
+        }
+    }
+    
+    private static HttpRequest post(String url, Object body) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                .build();
+    }
+    
+    private Operation pickOperation() {
+        int roll = ThreadLocalRandom.current().nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (roll < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+    
+    /**
+     * Stores the first corpus equations through the bulk endpoint and keeps their ids
+     */
+    private void preload() throws IOException, InterruptedException {
+        int count = Math.min(config.getPreload(), corpus.size());
+        List<Map<String, String>> body = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            body.add(Map.of("equation", corpus.get(i).getEquation()));
+        }
+        
+        HttpResponse<String> response = client.send(
+                post(config.getUrl() + "/api/equations/store/bulk", body),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IOException("Preload failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        for (JsonNode result : MAPPER.readTree(response.body()).path("results")) {
+            if (result.hasNonNull("equationId")) {
+                preloadedIds.add(result.get("equationId").asString());
+                preloadedEquations.add(corpus.get(result.get("index").asInt()));
+            }
+        }
+        if (preloadedIds.isEmpty() && config.getMix().getOrDefault(Operation.EVALUATE, 0) > 0) {
+            throw new IOException("No equations were preloaded; evaluate requests have no targets");
+        }
+    }
+    
+    private static ExpressionCorpus loadCorpus(LoadTestConfig config) throws IOException {
+        if (!config.getCorpus().isEmpty()) {
+            return ExpressionCorpus.read(Path.of(config.getCorpus()));
+        }
+        CorpusSpec spec = new CorpusSpec();
+        spec.setSeed(config.getSeed());
+        spec.setEquationCount(Math.max(config.getPreload(), 1000));
+        spec.setOperatorCount(config.getOperators());
+        return CorpusGenerator.generate(spec);
+    }
+    
+    private static void print(LoadTestReport report) {
+        System.out.printf("%-10s %10s %8s %10s %9s %9s %9s %9s%n",
+                "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<Operation, LoadTestReport.OperationReport> entry : report.getOperations().entrySet()) {
+            print(entry.getKey().name(), entry.getValue());
+        }
+        print("TOTAL", report.getTotal());
+    }
+    
+    private static void print(String name, LoadTestReport.OperationReport operation) {
+        LoadTestReport.LatencySummary latency = operation.getLatency();
+        System.out.printf("%-10s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                name, operation.getRequests(), operation.getErrors(), operation.getThroughput(),
+                latency.getP50(), latency.getP99(), latency.getP999(), latency.getMax());
+    }
+    
+    /**
+     * Recorded outcomes of one operation type; latencies are kept in microseconds
+     */
+    private static final class Stats {
+        private final Histogram latency = new ConcurrentHistogram(3);
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        
+        private void record(long latencyNanos, long serviceNanos, boolean failed) {
+            latency.recordValue(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+            serviceTime.recordValue(TimeUnit.NANOSECONDS.toMicros(serviceNanos));
+            requests.increment();
+            if (failed) {
+                errors.increment();
+            }
+        }
+        
+        private void add(Stats other) {
+            latency.add(other.latency);
+            serviceTime.add(other.serviceTime);
+            requests.add(other.requests.sum());
+            errors.add(other.errors.sum());
+        }
+        
+        private LoadTestReport.OperationReport report(double seconds) {
+            return new LoadTestReport.OperationReport(
+                    requests.sum(), errors.sum(), requests.sum() / seconds,
+                    LoadTestReport.LatencySummary.of(latency),
+                    LoadTestReport.LatencySummary.of(serviceTime));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.pushkar.postfix_evaluator.loadtest;
+
+import lombok.Data;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Settings for a load-test run, parsed from {@code --name=value} arguments
+ */
+@Data
+public class LoadTestConfig {
+    
+    private String url = "http://localhost:8080";
+    
+    /**
+     * Number of worker threads, which bounds requests in flight
+     */
+    private int concurrency = 16;
+    
+    /**
+     * Open-loop arrival rate in requests per second, or 0 for closed-loop workers
+     */
+    private double rate = 500;
+    
+    private int durationSeconds = 30;
+    
+    /**
+     * Leading seconds whose requests are sent but not recorded
+     */
+    private int warmupSeconds = 5;
+    
+    /**
+     * Relative weight of each operation
+     */
+    private Map<Operation, Integer> mix = parseMix("store=1,list=1,evaluate=8");
+    
+    /**
+     * Number of equations stored before the run and targeted by evaluate requests
+     */
+    private int preload = 1000;
+    
+    /**
+     * Corpus file to draw equations from; a corpus is generated when empty
+     */
+    private String corpus = "";
+    
+    /**
+     * Binary operators per generated equation
+     */
+    private int operators = 16;
+    
+    private long seed = 42;
+    
+    private String report = "target/loadtest-report.json";
+    
+    /**
+     * Parses command-line options over the defaults
+     * 
+     * @param args options such as {@code --rate=2000 --mix=evaluate=9,store=1}
+     * @return the configuration
+     * @throws IllegalArgumentException if an option is malformed or unknown
+     */
+    public static LoadTestConfig fromArgs(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            String value = option[1];
+            switch (option[0]) {
+                case "url":
+                    config.setUrl(value);
+                    break;
+                case "concurrency":
+                    config.setConcurrency(Integer.parseInt(value));
+                    break;
+                case "rate":
+                    config.setRate(Double.parseDouble(value));
+                    break;
+                case "duration":
+                    config.setDurationSeconds(Integer.parseInt(value));
+                    break;
+                case "warmup":
+                    config.setWarmupSeconds(Integer.parseInt(value));
+                    break;
+                case "mix":
+                    config.setMix(parseMix(value));
+                    break;
+                case "preload":
+                    config.setPreload(Integer.parseInt(value));
+                    break;
+                case "corpus":
+                    config.setCorpus(value);
+                    break;
+                case "operators":
+                    config.setOperators(Integer.parseInt(value));
+                    break;
+                case "seed":
+                    config.setSeed(Long.parseLong(value));
+                    break;
+                case "report":
+                    config.setReport(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + option[0]);
+            }
+        }
+        return config;
+    }
+    
+    /**
+     * Parses a request mix such as {@code store=1,list=1,evaluate=8}
+     */
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.split("=", 2);
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight but got: " + entry);
+            }
+            mix.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,81 @@
+package com.pushkar.postfix_evaluator.loadtest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load-test run.
+ * Latency is measured from each request's intended start, so queueing behind a
+ * slow server is counted (coordinated-omission corrected); service time is
+ * measured from the moment the request was actually sent.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoadTestReport {
+    private LoadTestConfig config;
+    
+    private double measuredSeconds;
+    
+    private OperationReport total;
+    
+    private Map<Operation, OperationReport> operations;
+    
+    /**
+     * Counts, throughput and latency of one operation type
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class OperationReport {
+        private long requests;
+        
+        private long errors;
+        
+        private double throughput;
+        
+        private LatencySummary latency;
+        
+        private LatencySummary serviceTime;
+    }
+    
+    /**
+     * Percentiles of a latency histogram, in milliseconds
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LatencySummary {
+        private double mean;
+        
+        private double p50;
+        
+        private double p90;
+        
+        private double p99;
+        
+        private double p999;
+        
+        private double max;
+        
+        /**
+         * Summarizes a histogram recorded in microseconds
+         * 
+         * @param histogram latencies in microseconds
+         * @return the summary in milliseconds
+         */
+        public static LatencySummary of(Histogram histogram) {
+            return new LatencySummary(
+                    histogram.getMean() / 1000.0,
+                    histogram.getValueAtPercentile(50) / 1000.0,
+                    histogram.getValueAtPercentile(90) / 1000.0,
+                    histogram.getValueAtPercentile(99) / 1000.0,
+                    histogram.getValueAtPercentile(99.9) / 1000.0,
+                    histogram.getMaxValue() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.pushkar.postfix_evaluator.loadtest;
+
+/**
+ * Requests issued by the load generator
+ */
+public enum Operation {
+    /**
+     * POST /api/equations/store with a corpus equation
+     */
+    STORE,
+    
+    /**
+     * GET /api/equations
+     */
+    LIST,
+    
+    /**
+     * POST /api/equations/{id}/evaluate against a preloaded equation
+     */
+    EVALUATE
+}
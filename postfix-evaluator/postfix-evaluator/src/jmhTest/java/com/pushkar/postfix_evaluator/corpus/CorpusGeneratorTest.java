@@ -0,0 +1,66 @@
+package com.pushkar.postfix_evaluator.corpus;
+
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CorpusGenerator
+ */
+@DisplayName("Corpus Generator Tests")
+class CorpusGeneratorTest {
+    
+    private static CorpusSpec spec() {
+        CorpusSpec spec = new CorpusSpec();
+        spec.setSeed(7);
+        spec.setEquationCount(50);
+        spec.setOperatorCount(32);
+        spec.setDuplicateRate(0.3);
+        spec.setUnaryMinusRate(0.1);
+        return spec;
+    }
+    
+    private static List<Double> evaluate(ExpressionCorpus corpus) {
+        List<Double> results = new ArrayList<>();
+        for (GeneratedEquation equation : corpus.getEquations()) {
+            results.add(EvaluatorService.evaluateToDouble(
+                EquationParser.parse(equation.getEquation()), equation.getVariables()));
+        }
+        return results;
+    }
+    
+    @Test
+    @DisplayName("should generate, parse and evaluate the same corpus for the same seed")
+    void testSeededCorpusIsReproducible() {
+        ExpressionCorpus first = CorpusGenerator.generate(spec());
+        ExpressionCorpus second = CorpusGenerator.generate(spec());
+        
+        assertEquals(50, first.size());
+        assertEquals(first.getEquations(), second.getEquations());
+        
+        List<Double> results = evaluate(first);
+        assertEquals(results, evaluate(second));
+        for (int i = 0; i < first.size(); i++) {
+            Double expected = first.get(i).getExpected();
+            if (expected != null) {
+                assertEquals(expected, results.get(i), Math.abs(expected) * 1e-9);
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("should generate a different corpus for a different seed")
+    void testSeedChangesCorpus() {
+        CorpusSpec other = spec();
+        other.setSeed(8);
+        
+        assertNotEquals(CorpusGenerator.generate(spec()).getEquations(),
+            CorpusGenerator.generate(other).getEquations());
+    }
+}
@@ -0,0 +1,127 @@
+package com.pushkar.postfix_evaluator.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to measured latency (additive increase, multiplicative decrease).
+ * Each completion faster than the target latency raises the limit by about one per limit's worth
+ * of completions while the limit is in use; each slower one cuts it by 10%. Callers over the
+ * limit wait in a bounded queue for a bounded time; when the queue is full they are refused at once.
+ */
+public final class AdaptiveConcurrencyLimit {
+    
+    private static final double BACKOFF_RATIO = 0.9;
+    
+    private final int maxLimit;
+    private final long targetLatencyNanos;
+    private final int queueSize;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition released = lock.newCondition();
+    
+    private double limit;
+    private int inFlight;
+    private int waiting;
+    
+    /**
+     * Creates a limit starting at its maximum
+     * 
+     * @param maxLimit largest number of concurrent holders
+     * @param targetLatencyMillis latency above which the limit is cut
+     * @param queueSize largest number of callers waiting for a permit
+     */
+    public AdaptiveConcurrencyLimit(int maxLimit, long targetLatencyMillis, int queueSize) {
+        this.maxLimit = Math.max(1, maxLimit);
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+        this.queueSize = queueSize;
+        this.limit = this.maxLimit;
+    }
+    
+    /**
+     * Takes a permit, waiting in the queue for at most the timeout if the limit is reached
+     * 
+     * @param timeoutNanos longest time to wait
+     * @return true if a permit was taken; false if the queue was full or the wait timed out
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public boolean tryAcquire(long timeoutNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < (int) limit) {
+                inFlight++;
+                return true;
+            }
+            if (waiting >= queueSize || timeoutNanos <= 0) {
+                return false;
+            }
+            waiting++;
+            try {
+                long remaining = timeoutNanos;
+                while (inFlight >= (int) limit) {
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return true;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Returns a permit and adapts the limit to the holder's latency
+     * 
+     * @param latencyNanos time the permit was held
+     */
+    public void release(long latencyNanos) {
+        lock.lock();
+        try {
+            if (latencyNanos > targetLatencyNanos) {
+                limit = Math.max(1, limit * BACKOFF_RATIO);
+            } else if (inFlight * 2 >= limit) {
+                // Only grow while the limit is actually being used
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+            inFlight--;
+            if (inFlight < (int) limit) {
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Gets the current limit
+     * 
+     * @return number of permits that may be held at once
+     */
+    public int getLimit() {
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Gets the number of permits held
+     * 
+     * @return permits in use
+     */
+    public int getInFlight() {
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
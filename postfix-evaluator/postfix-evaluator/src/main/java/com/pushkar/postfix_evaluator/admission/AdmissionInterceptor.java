@@ -0,0 +1,132 @@
+package com.pushkar.postfix_evaluator.admission;
+
+import com.pushkar.postfix_evaluator.exception.OverloadedException;
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for the equation API.
+ * Requests are split into a cheap and an expensive lane, each with its own adaptive concurrency
+ * limit and bounded wait queue, so large equations saturating their lane cannot starve small ones.
+ * A request is expensive if its handler is marked {@link ExpensiveRequest}, if it names a stored
+ * equation of at least the node threshold, or if its body is at least the size threshold. Requests that find their lane full are refused with
+ * {@link OverloadedException} before the handler runs, so no parsing or evaluation work is done.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+    
+    private static final String ADMISSION_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".admission";
+    
+    private final EquationRepository equationRepository;
+    private final AdaptiveConcurrencyLimit cheapLane;
+    private final AdaptiveConcurrencyLimit expensiveLane;
+    private final Counter cheapRejections;
+    private final Counter expensiveRejections;
+    private final int expensiveNodes;
+    private final long expensiveBodyBytes;
+    private final long queueTimeoutNanos;
+    private final int retryAfterSeconds;
+    
+    public AdmissionInterceptor(EquationRepository equationRepository, MeterRegistry registry,
+                                AdaptiveConcurrencyLimit cheapLane, AdaptiveConcurrencyLimit expensiveLane,
+                                int expensiveNodes, long expensiveBodyBytes,
+                                long queueTimeoutMillis, int retryAfterSeconds) {
+        this.equationRepository = equationRepository;
+        this.cheapLane = cheapLane;
+        this.expensiveLane = expensiveLane;
+        this.expensiveNodes = expensiveNodes;
+        this.expensiveBodyBytes = expensiveBodyBytes;
+        this.queueTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(queueTimeoutMillis);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.cheapRejections = registerLane(registry, "cheap", cheapLane);
+        this.expensiveRejections = registerLane(registry, "expensive", expensiveLane);
+    }
+    
+    private static Counter registerLane(MeterRegistry registry, String lane, AdaptiveConcurrencyLimit limit) {
+        Gauge.builder("evaluator.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Current concurrency limit of an admission lane")
+                .tag("lane", lane)
+                .register(registry);
+        Gauge.builder("evaluator.admission.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .description("Requests holding a permit of an admission lane")
+                .tag("lane", lane)
+                .register(registry);
+        return Counter.builder("evaluator.admission.rejected")
+                .description("Requests refused because their admission lane was full")
+                .tag("lane", lane)
+                .register(registry);
+    }
+    
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) != null) {
+            // Async dispatch of a request admitted earlier; it still holds its permit
+            return true;
+        }
+        
+        AdaptiveConcurrencyLimit lane = isExpensive(request, handler) ? expensiveLane : cheapLane;
+        boolean admitted;
+        try {
+            admitted = lane.tryAcquire(queueTimeoutNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            (lane == expensiveLane ? expensiveRejections : cheapRejections).increment();
+            throw new OverloadedException(
+                "Server is at capacity for " + (lane == expensiveLane ? "expensive" : "cheap")
+                    + " requests, retry later",
+                retryAfterSeconds
+            );
+        }
+        request.setAttribute(ADMISSION_ATTRIBUTE, new Admission(lane, System.nanoTime()));
+        return true;
+    }
+    
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        if (request.getAttribute(ADMISSION_ATTRIBUTE) instanceof Admission admission) {
+            request.removeAttribute(ADMISSION_ATTRIBUTE);
+            admission.lane.release(System.nanoTime() - admission.started);
+        }
+    }
+    
+    /**
+     * Classifies a request from its handler, its stored equation's node count or its body size,
+     * without reading the body
+     */
+    private boolean isExpensive(HttpServletRequest request, Object handler) {
+        if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(ExpensiveRequest.class)) {
+            return true;
+        }
+        if (request.getContentLengthLong() >= expensiveBodyBytes) {
+            return true;
+        }
+        if (!(request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables)
+                || !(variables.get("equationId") instanceof String equationId)) {
+            return false;
+        }
+        Equation equation = equationRepository.findById(equationId);
+        TreeStatistics statistics = equation != null ? equation.getStatistics() : null;
+        return statistics != null && statistics.getNodeCount() >= expensiveNodes;
+    }
+    
+    /**
+     * Lane permit held by an admitted request
+     */
+    private record Admission(AdaptiveConcurrencyLimit lane, long started) {
+    }
+}
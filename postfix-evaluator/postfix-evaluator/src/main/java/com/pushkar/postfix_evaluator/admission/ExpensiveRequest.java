@@ -0,0 +1,19 @@
+package com.pushkar.postfix_evaluator.admission;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler whose work grows with what the request asks for, such as the points of a sweep,
+ * the samples of a simulation or the number of equations evaluated, rather than with the size of
+ * a single equation. {@link AdmissionInterceptor} always admits such requests through the
+ * expensive lane, however small the equation or body.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExpensiveRequest {
+}
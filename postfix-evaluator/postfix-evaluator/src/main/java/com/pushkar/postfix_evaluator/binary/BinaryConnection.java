@@ -0,0 +1,282 @@
+package com.pushkar.postfix_evaluator.binary;
+
+import com.pushkar.postfix_evaluator.engine.CompiledExpression;
+import com.pushkar.postfix_evaluator.engine.EvaluationDeadline;
+import com.pushkar.postfix_evaluator.exception.EvaluationTimeoutException;
+import com.pushkar.postfix_evaluator.metrics.EvaluatorMetrics;
+import com.pushkar.postfix_evaluator.model.BuildStatus;
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
+import com.pushkar.postfix_evaluator.parser.PipelineStage;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import com.pushkar.postfix_evaluator.service.RuntimeStatsService;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+/**
+ * One client connection of the binary protocol server, confined to its event loop thread.
+ * Every complete request frame in the input buffer is answered before more input is read,
+ * so clients may pipeline requests. When the client does not read its responses fast
+ * enough, the connection stops reading until the output buffer has drained.
+ * Equations large enough to reach a clock check are evaluated with the evaluation deadline,
+ * so one request cannot hold the event loop and the other connections on it.
+ */
+final class BinaryConnection {
+    
+    /**
+     * Number of entries in the direct-mapped equation cache
+     */
+    private static final int CACHE_SIZE = 64;
+    
+    private final SocketChannel channel;
+    private final SelectionKey key;
+    private final DirectBufferPool bufferPool;
+    private final ByteBuffer in;
+    private final ByteBuffer out;
+    private final int maxValues;
+    private final long evaluationTimeoutMillis;
+    
+    private final EquationRepository equationRepository;
+    private final EvaluatorMetrics evaluatorMetrics;
+    private final RuntimeStatsService runtimeStatsService;
+    
+    private final CachedEquation[] cache = new CachedEquation[CACHE_SIZE];
+    private byte missStatus;
+    private boolean closed;
+    
+    BinaryConnection(SocketChannel channel, SelectionKey key, DirectBufferPool bufferPool,
+                     EquationRepository equationRepository, EvaluatorMetrics evaluatorMetrics,
+                     RuntimeStatsService runtimeStatsService, long evaluationTimeoutMillis) {
+        this.channel = channel;
+        this.key = key;
+        this.bufferPool = bufferPool;
+        this.in = bufferPool.acquire();
+        this.out = bufferPool.acquire();
+        this.maxValues = BinaryProtocol.maxValues(bufferPool.bufferSize());
+        this.equationRepository = equationRepository;
+        this.evaluatorMetrics = evaluatorMetrics;
+        this.runtimeStatsService = runtimeStatsService;
+        this.evaluationTimeoutMillis = evaluationTimeoutMillis;
+    }
+    
+    /**
+     * Reads available input and answers every complete request in it
+     * 
+     * @throws IOException if the channel or the client's framing fails
+     */
+    void onReadable() throws IOException {
+        if (channel.read(in) < 0) {
+            close();
+            return;
+        }
+        process();
+    }
+    
+    /**
+     * Continues writing responses, then answers requests left waiting for output space
+     * 
+     * @throws IOException if the channel fails
+     */
+    void onWritable() throws IOException {
+        process();
+    }
+    
+    /**
+     * Alternates between answering requests and flushing responses until input runs out
+     * or the client stops accepting output
+     */
+    private void process() throws IOException {
+        while (!closed) {
+            boolean outputFull = answerRequests();
+            if (!flush()) {
+                key.interestOps(SelectionKey.OP_WRITE);
+                return;
+            }
+            if (!outputFull) {
+                key.interestOps(SelectionKey.OP_READ);
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Answers the complete request frames in the input buffer
+     * 
+     * @return true if answering stopped because the output buffer is full
+     * @throws ProtocolException if a frame has a negative or oversized value count
+     */
+    private boolean answerRequests() throws IOException {
+        in.flip();
+        try {
+            while (in.remaining() >= BinaryProtocol.REQUEST_HEADER_BYTES) {
+                if (out.remaining() < BinaryProtocol.RESPONSE_BYTES) {
+                    return true;
+                }
+                int count = in.getInt(in.position() + Long.BYTES);
+                if (count < 0 || count > maxValues) {
+                    throw new ProtocolException("Invalid value count " + count);
+                }
+                if (in.remaining() < BinaryProtocol.REQUEST_HEADER_BYTES + count * Double.BYTES) {
+                    return false;
+                }
+                long equationId = in.getLong();
+                in.getInt();
+                answer(equationId, count);
+            }
+            return false;
+        } finally {
+            in.compact();
+        }
+    }
+    
+    /**
+     * Evaluates one request whose values are next in the input buffer
+     */
+    private void answer(long equationId, int count) {
+        CachedEquation cached = lookup(equationId);
+        if (cached == null || count != cached.slots.length) {
+            in.position(in.position() + count * Double.BYTES);
+            respond(cached == null ? missStatus : BinaryProtocol.INVALID_REQUEST, Double.NaN);
+            return;
+        }
+        
+        double[] slots = cached.slots;
+        for (int i = 0; i < count; i++) {
+            slots[i] = in.getDouble();
+        }
+        
+        long started = System.nanoTime();
+        try {
+            EvaluationDeadline deadline = cached.timed ? EvaluationDeadline.after(evaluationTimeoutMillis) : null;
+            double result = cached.compiled.evaluate(slots, deadline);
+            record(cached.equation, started, PipelineOutcome.SUCCESS);
+            respond(BinaryProtocol.OK, result);
+        } catch (EvaluationTimeoutException e) {
+            record(cached.equation, started, PipelineOutcome.TIMEOUT);
+            respond(BinaryProtocol.TIMEOUT, Double.NaN);
+        } catch (RuntimeException e) {
+            record(cached.equation, started, PipelineOutcome.of(e));
+            respond(BinaryProtocol.EVALUATION_ERROR, Double.NaN);
+        }
+    }
+    
+    /**
+     * Finds an equation in the connection's cache, loading and compiling it on a miss.
+     * Cached entries are checked against the repository on every request, so deleted
+     * equations are reported as not found straight away.
+     * 
+     * @return the cached equation, or null with {@code missStatus} set
+     */
+    private CachedEquation lookup(long equationId) {
+        int index = (int) equationId & (CACHE_SIZE - 1);
+        CachedEquation cached = cache[index];
+        if (cached != null && cached.id == equationId
+                && equationRepository.findById(cached.key) == cached.equation) {
+            return cached;
+        }
+        cache[index] = null;
+        
+        String key = Long.toString(equationId);
+        Equation equation = equationRepository.findById(key);
+        if (equation == null) {
+            missStatus = BinaryProtocol.NOT_FOUND;
+            return null;
+        }
+        // Never wait for a background build on the event loop
+        if (equation.getBuildStatus() == BuildStatus.PENDING) {
+            missStatus = BinaryProtocol.NOT_READY;
+            return null;
+        }
+        if (equation.getBuildStatus() == BuildStatus.FAILED) {
+            missStatus = BinaryProtocol.INVALID_REQUEST;
+            return null;
+        }
+        
+        CompiledExpression compiled = equation.getCompiled();
+        if (compiled == null) {
+            try {
+                compiled = CompiledExpression.compile(equation.getRootNode());
+            } catch (RuntimeException e) {
+                missStatus = BinaryProtocol.EVALUATION_ERROR;
+                return null;
+            }
+        }
+        // Smaller equations never reach a clock check, so they skip starting a deadline
+        boolean timed = evaluationTimeoutMillis > 0 && compiled.size() >= EvaluationDeadline.CHECK_INTERVAL;
+        cached = new CachedEquation(equationId, key, equation, compiled, timed);
+        cache[index] = cached;
+        return cached;
+    }
+    
+    private void record(Equation equation, long started, PipelineOutcome outcome) {
+        long elapsed = System.nanoTime() - started;
+        evaluatorMetrics.stageCompleted(PipelineStage.EVALUATE, outcome, elapsed);
+        runtimeStatsService.record(equation, elapsed, outcome != PipelineOutcome.SUCCESS);
+    }
+    
+    private void respond(byte status, double result) {
+        out.put(status);
+        out.putDouble(result);
+    }
+    
+    /**
+     * Writes buffered responses
+     * 
+     * @return true if all buffered responses were written
+     */
+    private boolean flush() throws IOException {
+        if (out.position() == 0) {
+            return true;
+        }
+        out.flip();
+        try {
+            channel.write(out);
+            return !out.hasRemaining();
+        } finally {
+            out.compact();
+        }
+    }
+    
+    /**
+     * Closes the connection and returns its buffers to the pool
+     */
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        key.cancel();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to do for a connection that is going away
+        }
+        bufferPool.release(in);
+        bufferPool.release(out);
+    }
+    
+    /**
+     * Compiled form of an equation and the value array for its variables
+     */
+    private static final class CachedEquation {
+        private final long id;
+        private final String key;
+        private final Equation equation;
+        private final CompiledExpression compiled;
+        private final double[] slots;
+        private final boolean timed;
+        
+        CachedEquation(long id, String key, Equation equation, CompiledExpression compiled, boolean timed) {
+            this.id = id;
+            this.key = key;
+            this.equation = equation;
+            this.compiled = compiled;
+            this.slots = new double[compiled.getVariableNames().length];
+            this.timed = timed;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.pushkar.postfix_evaluator.binary;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+/**
+ * Blocking client for the binary evaluation protocol, for internal callers and benchmarks.
+ * Requests are buffered until {@link #flush()}, so many can be pipelined per round trip.
+ * Every request must be matched by a {@link #receive()}; keep the number of unread
+ * responses bounded (a few thousand) so neither side's socket buffers fill up.
+ * Instances are not thread-safe.
+ */
+public class BinaryEvaluationClient implements AutoCloseable {
+    
+    /**
+     * Buffer size, matching the server's default so any frame this client sends is accepted
+     */
+    private static final int BUFFER_SIZE = 65536;
+    
+    private final SocketChannel channel;
+    private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final ByteBuffer in = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    
+    private double result;
+    
+    /**
+     * Connects to a binary protocol server
+     * 
+     * @param host server host
+     * @param port server port ({@code evaluator.binary.port})
+     * @throws IOException if the connection fails
+     */
+    public BinaryEvaluationClient(String host, int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(host, port));
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        in.limit(0);
+    }
+    
+    /**
+     * Buffers a request, writing earlier requests out first if the buffer is full
+     * 
+     * @param equationId numeric ID of a stored equation
+     * @param values variable values in schema order (variable names sorted alphabetically)
+     * @throws IOException if writing fails
+     */
+    public void send(long equationId, double... values) throws IOException {
+        int frameBytes = BinaryProtocol.REQUEST_HEADER_BYTES + values.length * Double.BYTES;
+        if (frameBytes > BUFFER_SIZE) {
+            throw new IllegalArgumentException("At most " + BinaryProtocol.maxValues(BUFFER_SIZE) + " values per request");
+        }
+        if (out.remaining() < frameBytes) {
+            flush();
+        }
+        out.putLong(equationId);
+        out.putInt(values.length);
+        for (double value : values) {
+            out.putDouble(value);
+        }
+    }
+    
+    /**
+     * Writes all buffered requests
+     * 
+     * @throws IOException if writing fails
+     */
+    public void flush() throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+    
+    /**
+     * Reads the response to the oldest unanswered request
+     * 
+     * @return the status code, one of the {@link BinaryProtocol} constants
+     * @throws IOException if reading fails or the server closed the connection
+     */
+    public byte receive() throws IOException {
+        while (in.remaining() < BinaryProtocol.RESPONSE_BYTES) {
+            in.compact();
+            int read = channel.read(in);
+            in.flip();
+            if (read < 0) {
+                throw new EOFException("Connection closed by server");
+            }
+        }
+        byte status = in.get();
+        result = in.getDouble();
+        return status;
+    }
+    
+    /**
+     * Gets the result of the last response read by {@link #receive()}
+     * 
+     * @return the result, or NaN if the request failed
+     */
+    public double getResult() {
+        return result;
+    }
+    
+    /**
+     * Evaluates a single request in one round trip
+     * 
+     * @param equationId numeric ID of a stored equation
+     * @param values variable values in schema order
+     * @return the result of evaluation
+     * @throws EvaluationException if the server reports a failure status
+     * @throws IOException if the connection fails
+     */
+    public double evaluate(long equationId, double... values) throws IOException {
+        send(equationId, values);
+        flush();
+        byte status = receive();
+        if (status != BinaryProtocol.OK) {
+            throw new EvaluationException(BinaryProtocol.describe(status));
+        }
+        return result;
+    }
+    
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,213 @@
+package com.pushkar.postfix_evaluator.binary;
+
+import com.pushkar.postfix_evaluator.metrics.EvaluatorMetrics;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import com.pushkar.postfix_evaluator.service.RuntimeStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * TCP server for the binary evaluation protocol described in {@link BinaryProtocol}.
+ * An acceptor thread hands new connections round-robin to a fixed set of event loops,
+ * each multiplexing its connections on one selector. Requests are evaluated on the
+ * event loop against compiled forms of stored equations, skipping HTTP and JSON entirely.
+ */
+@Component
+@ConditionalOnProperty(name = "evaluator.binary.enabled", havingValue = "true")
+public class BinaryEvaluationServer implements SmartLifecycle {
+    
+    /**
+     * Idle connection buffers kept for reuse
+     */
+    private static final int MAX_POOLED_BUFFERS = 1024;
+    
+    @Autowired
+    private EquationRepository equationRepository;
+    
+    @Autowired
+    private EvaluatorMetrics evaluatorMetrics;
+    
+    @Autowired
+    private RuntimeStatsService runtimeStatsService;
+    
+    @Value("${evaluator.binary.port:9090}")
+    private int port;
+    
+    @Value("${evaluator.binary.io-threads:1}")
+    private int ioThreads;
+    
+    @Value("${evaluator.binary.buffer-size:65536}")
+    private int bufferSize;
+    
+    @Value("${evaluator.limits.evaluation-timeout-ms:5000}")
+    private long evaluationTimeoutMillis;
+    
+    private DirectBufferPool bufferPool;
+    private ServerSocketChannel serverChannel;
+    private EventLoop[] eventLoops;
+    private Thread acceptor;
+    private volatile boolean running;
+    
+    @Override
+    public void start() {
+        bufferPool = new DirectBufferPool(bufferSize, MAX_POOLED_BUFFERS);
+        try {
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.bind(new InetSocketAddress(port));
+            eventLoops = new EventLoop[Math.max(ioThreads, 1)];
+            for (int i = 0; i < eventLoops.length; i++) {
+                eventLoops[i] = new EventLoop(i);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start binary protocol server on port " + port, e);
+        }
+        
+        running = true;
+        for (EventLoop eventLoop : eventLoops) {
+            eventLoop.thread.start();
+        }
+        acceptor = Thread.ofPlatform().name("binary-accept").daemon().start(this::accept);
+    }
+    
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            serverChannel.close();
+            acceptor.join();
+            for (EventLoop eventLoop : eventLoops) {
+                eventLoop.selector.wakeup();
+                eventLoop.thread.join();
+            }
+        } catch (IOException e) {
+            // The listening socket is going away regardless
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Gets the port the server is listening on, which differs from the configured
+     * port when that is 0
+     * 
+     * @return the bound port
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+    
+    /**
+     * Accepts connections until the server stops
+     */
+    private void accept() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                eventLoops[next].add(channel);
+                next = (next + 1) % eventLoops.length;
+            } catch (IOException e) {
+                // Closing the server channel ends the loop; other failures affect one connection only
+            }
+        }
+    }
+    
+    private static void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Nothing left to release
+        }
+    }
+    
+    /**
+     * Selector thread serving a share of the connections
+     */
+    private final class EventLoop implements Runnable {
+        private final Selector selector;
+        private final Queue<SocketChannel> accepted = new ConcurrentLinkedQueue<>();
+        private final Thread thread;
+        
+        EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = Thread.ofPlatform().name("binary-io-" + index).daemon().unstarted(this);
+        }
+        
+        void add(SocketChannel channel) {
+            accepted.add(channel);
+            selector.wakeup();
+        }
+        
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select(this::handle);
+                    register();
+                }
+            } catch (IOException e) {
+                // Selector failed; its connections are closed below
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    ((BinaryConnection) key.attachment()).close();
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    // Nothing left to release
+                }
+            }
+        }
+        
+        /**
+         * Registers connections handed over by the acceptor
+         */
+        private void register() {
+            SocketChannel channel;
+            while ((channel = accepted.poll()) != null) {
+                try {
+                    SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                    key.attach(new BinaryConnection(channel, key, bufferPool,
+                        equationRepository, evaluatorMetrics, runtimeStatsService, evaluationTimeoutMillis));
+                } catch (IOException e) {
+                    closeQuietly(channel);
+                }
+            }
+        }
+        
+        private void handle(SelectionKey key) {
+            BinaryConnection connection = (BinaryConnection) key.attachment();
+            try {
+                if (key.isReadable()) {
+                    connection.onReadable();
+                } else if (key.isWritable()) {
+                    connection.onWritable();
+                }
+            } catch (IOException | CancelledKeyException e) {
+                connection.close();
+            }
+        }
+    }
+}
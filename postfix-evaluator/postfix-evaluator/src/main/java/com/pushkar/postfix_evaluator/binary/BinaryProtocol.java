@@ -0,0 +1,60 @@
+package com.pushkar.postfix_evaluator.binary;
+
+/**
+ * Frame layout and status codes of the binary evaluation protocol.
+ * All values are big-endian. A request frame is
+ * {@code [equationId: long][n: int][n doubles]}, with the variable values in schema order
+ * (variable names sorted alphabetically). Every request is answered, in request order,
+ * by a response frame {@code [status: byte][result: double]}; the result is NaN unless the
+ * status is {@link #OK}. A frame with a negative or oversized value count closes the connection.
+ */
+public final class BinaryProtocol {
+    
+    public static final int REQUEST_HEADER_BYTES = Long.BYTES + Integer.BYTES;
+    public static final int RESPONSE_BYTES = 1 + Double.BYTES;
+    
+    public static final byte OK = 0;
+    public static final byte NOT_FOUND = 1;
+    public static final byte INVALID_REQUEST = 2;
+    public static final byte EVALUATION_ERROR = 3;
+    public static final byte NOT_READY = 4;
+    public static final byte TIMEOUT = 5;
+    
+    private BinaryProtocol() {
+    }
+    
+    /**
+     * Gets the largest value count whose request frame fits in a buffer of the given size
+     * 
+     * @param bufferSize connection buffer size in bytes
+     * @return maximum number of values per request
+     */
+    public static int maxValues(int bufferSize) {
+        return (bufferSize - REQUEST_HEADER_BYTES) / Double.BYTES;
+    }
+    
+    /**
+     * Describes a status code
+     * 
+     * @param status the status code of a response
+     * @return human-readable description
+     */
+    public static String describe(int status) {
+        switch (status) {
+            case OK:
+                return "OK";
+            case NOT_FOUND:
+                return "Equation not found";
+            case INVALID_REQUEST:
+                return "Invalid request: value count does not match the equation's variables, or the equation failed to build";
+            case EVALUATION_ERROR:
+                return "Evaluation failed";
+            case NOT_READY:
+                return "Equation is still building";
+            case TIMEOUT:
+                return "Evaluation exceeded its deadline";
+            default:
+                return "Unknown status " + status;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.pushkar.postfix_evaluator.binary;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+
+/**
+ * Pool of equally sized direct buffers shared by all binary protocol connections.
+ * Buffers are taken when a connection opens and returned when it closes, so
+ * steady-state traffic allocates no buffers at all.
+ */
+final class DirectBufferPool {
+    
+    private final int bufferSize;
+    private final ArrayBlockingQueue<ByteBuffer> free;
+    
+    /**
+     * @param bufferSize size of every buffer in bytes
+     * @param maxPooled maximum number of idle buffers kept for reuse
+     */
+    DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(maxPooled);
+    }
+    
+    /**
+     * Takes a cleared buffer from the pool, allocating one if the pool is empty
+     * 
+     * @return buffer owned by the caller until {@link #release(ByteBuffer)}
+     */
+    ByteBuffer acquire() {
+        ByteBuffer buffer = free.poll();
+        return buffer != null ? buffer.clear() : ByteBuffer.allocateDirect(bufferSize);
+    }
+    
+    /**
+     * Returns a buffer to the pool, or lets it be collected if the pool is full
+     * 
+     * @param buffer buffer previously taken from this pool
+     */
+    void release(ByteBuffer buffer) {
+        free.offer(buffer.clear());
+    }
+    
+    int bufferSize() {
+        return bufferSize;
+    }
+}
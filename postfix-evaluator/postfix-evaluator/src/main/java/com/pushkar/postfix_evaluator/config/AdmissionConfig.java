@@ -0,0 +1,85 @@
+package com.pushkar.postfix_evaluator.config;
+
+import com.pushkar.postfix_evaluator.admission.AdaptiveConcurrencyLimit;
+import com.pushkar.postfix_evaluator.admission.AdmissionInterceptor;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configuration for admission control of the equation API.
+ * Each lane's limit starts at its maximum concurrency and adapts to its target latency.
+ */
+@Configuration
+@ConditionalOnProperty(name = "evaluator.admission.enabled", havingValue = "true")
+public class AdmissionConfig {
+    
+    @Value("${evaluator.admission.cheap.max-concurrency:64}")
+    private int cheapMaxConcurrency;
+    
+    @Value("${evaluator.admission.cheap.target-latency-ms:50}")
+    private long cheapTargetLatencyMillis;
+    
+    @Value("${evaluator.admission.expensive.max-concurrency:4}")
+    private int expensiveMaxConcurrency;
+    
+    @Value("${evaluator.admission.expensive.target-latency-ms:2000}")
+    private long expensiveTargetLatencyMillis;
+    
+    @Value("${evaluator.admission.expensive-nodes:10000}")
+    private int expensiveNodes;
+    
+    @Value("${evaluator.admission.expensive-body-bytes:1048576}")
+    private long expensiveBodyBytes;
+    
+    @Value("${evaluator.admission.queue-size:64}")
+    private int queueSize;
+    
+    @Value("${evaluator.admission.queue-timeout-ms:100}")
+    private long queueTimeoutMillis;
+    
+    @Value("${evaluator.admission.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+    
+    /**
+     * Interceptor admitting equation API requests through the cheap and expensive lanes
+     * 
+     * @param equationRepository repository used to look up the node count of a request's equation
+     * @param registry registry for the lane metrics
+     * @return the interceptor
+     */
+    @Bean
+    public AdmissionInterceptor admissionInterceptor(EquationRepository equationRepository, MeterRegistry registry) {
+        return new AdmissionInterceptor(
+            equationRepository,
+            registry,
+            new AdaptiveConcurrencyLimit(cheapMaxConcurrency, cheapTargetLatencyMillis, queueSize),
+            new AdaptiveConcurrencyLimit(expensiveMaxConcurrency, expensiveTargetLatencyMillis, queueSize),
+            expensiveNodes,
+            expensiveBodyBytes,
+            queueTimeoutMillis,
+            retryAfterSeconds
+        );
+    }
+    
+    /**
+     * Registers the admission interceptor for the equation API
+     * 
+     * @param interceptor the admission interceptor
+     * @return MVC configuration adding the interceptor
+     */
+    @Bean
+    public WebMvcConfigurer admissionConfigurer(AdmissionInterceptor interceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor).addPathPatterns("/api/equations/**");
+            }
+        };
+    }
+}
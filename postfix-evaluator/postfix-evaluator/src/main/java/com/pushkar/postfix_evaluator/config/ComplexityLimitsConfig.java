@@ -0,0 +1,43 @@
+package com.pushkar.postfix_evaluator.config;
+
+import com.pushkar.postfix_evaluator.parser.ComplexityLimits;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the complexity limits enforced while equations are parsed.
+ * The evaluation deadline is configured on the execution service.
+ */
+@Configuration
+public class ComplexityLimitsConfig {
+    
+    @Value("${evaluator.limits.max-length:1048576}")
+    private int maxLength;
+    
+    @Value("${evaluator.limits.max-tokens:250000}")
+    private int maxTokens;
+    
+    @Value("${evaluator.limits.max-nodes:250000}")
+    private int maxNodes;
+    
+    @Value("${evaluator.limits.max-depth:100000}")
+    private int maxDepth;
+    
+    private ComplexityLimits limits;
+    
+    @PostConstruct
+    void applyLimits() {
+        limits = new ComplexityLimits(maxLength, maxTokens, maxNodes, maxDepth);
+        EquationParser.setLimits(limits);
+    }
+    
+    @PreDestroy
+    void removeLimits() {
+        if (EquationParser.getLimits() == limits) {
+            EquationParser.setLimits(ComplexityLimits.UNLIMITED);
+        }
+    }
+}
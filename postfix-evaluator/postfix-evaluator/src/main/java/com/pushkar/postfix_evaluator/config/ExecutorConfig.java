@@ -0,0 +1,41 @@
+package com.pushkar.postfix_evaluator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Configuration for the thread pools used by server-side evaluation
+ */
+@Configuration
+public class ExecutorConfig {
+    
+    /**
+     * Pool used to evaluate many equations in parallel for a single request
+     * 
+     * @param parallelism number of worker threads, or 0 to use all available processors
+     * @return the evaluation executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService evaluationExecutor(@Value("${evaluator.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("evaluation-", 0).daemon().factory());
+    }
+    
+    /**
+     * Pool used to parse equations in parallel during bulk import
+     * 
+     * @param parallelism number of worker threads, or 0 to use all available processors
+     * @return the parse executor
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService parseExecutor(@Value("${evaluator.parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("parse-", 0).daemon().factory());
+    }
+}
@@ -0,0 +1,39 @@
+package com.pushkar.postfix_evaluator.config;
+
+import com.pushkar.postfix_evaluator.controller.ReactiveEquationHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Configuration for the reactive streaming API.
+ * The servlet API keeps its Tomcat port; the reactive API is served by its own
+ * Reactor Netty server so streams never tie up request threads.
+ */
+@Configuration
+@ConditionalOnProperty(name = "evaluator.reactive.enabled", havingValue = "true")
+public class ReactiveServerConfig {
+    
+    /**
+     * Reactor Netty server for the reactive API, bound while the application context starts
+     * 
+     * @param handler the reactive equation handler
+     * @param port port to listen on, or 0 for any free port
+     * @return the running server
+     */
+    @Bean(destroyMethod = "disposeNow")
+    public DisposableServer reactiveServer(ReactiveEquationHandler handler,
+                                           @Value("${evaluator.reactive.port:8081}") int port) {
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(handler.routes());
+        return HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+    }
+}
@@ -0,0 +1,42 @@
+package com.pushkar.postfix_evaluator.controller;
+
+import com.pushkar.postfix_evaluator.dto.TopEquationsResponseDTO;
+import com.pushkar.postfix_evaluator.service.RuntimeStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST Controller for operational views of the stored equations
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class AdminController {
+    
+    @Autowired
+    private RuntimeStatsService runtimeStatsService;
+    
+    /**
+     * Lists the most expensive equations
+     * GET /api/admin/equations/top?by=cpu|p99|rate&limit=N
+     * 
+     * @param by ranking: total evaluation time, p99 latency or call rate
+     * @param limit maximum number of equations to return
+     * @return the top equations with their statistics, most expensive first
+     */
+    @GetMapping("/equations/top")
+    public ResponseEntity<TopEquationsResponseDTO> getTopEquations(
+            @RequestParam(defaultValue = "cpu") String by,
+            @RequestParam(defaultValue = "10") int limit) {
+        
+        TopEquationsResponseDTO response = new TopEquationsResponseDTO(
+            by,
+            runtimeStatsService.getTopEquations(by, limit)
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
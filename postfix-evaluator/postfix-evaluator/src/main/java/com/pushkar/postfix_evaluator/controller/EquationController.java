@@ -1,22 +1,72 @@
 package com.pushkar.postfix_evaluator.controller;
 
+import com.pushkar.postfix_evaluator.admission.ExpensiveRequest;
+import com.pushkar.postfix_evaluator.binary.BinaryProtocol;
+import com.pushkar.postfix_evaluator.dto.BatchAggregatesDTO;
+import com.pushkar.postfix_evaluator.dto.BatchEvaluationRequestDTO;
+import com.pushkar.postfix_evaluator.dto.BatchEvaluationResponseDTO;
+import com.pushkar.postfix_evaluator.dto.BulkStoreResponseDTO;
+import com.pushkar.postfix_evaluator.dto.BulkStoreResultDTO;
+import com.pushkar.postfix_evaluator.dto.EquationEvaluationResultDTO;
 import com.pushkar.postfix_evaluator.dto.EvaluationRequestDTO;
+import com.pushkar.postfix_evaluator.dto.EvaluationRequestReader;
 import com.pushkar.postfix_evaluator.dto.EvaluationResponseDTO;
 import com.pushkar.postfix_evaluator.dto.EquationDTO;
 import com.pushkar.postfix_evaluator.dto.EquationRequestDTO;
 import com.pushkar.postfix_evaluator.dto.EquationResponseDTO;
+import com.pushkar.postfix_evaluator.dto.EquationStatusDTO;
 import com.pushkar.postfix_evaluator.dto.EquationsListResponseDTO;
+import com.pushkar.postfix_evaluator.dto.ExecutionPlanDTO;
+import com.pushkar.postfix_evaluator.dto.MonteCarloRequestDTO;
+import com.pushkar.postfix_evaluator.dto.MonteCarloResponseDTO;
+import com.pushkar.postfix_evaluator.dto.MultiEvaluationRequestDTO;
+import com.pushkar.postfix_evaluator.dto.MultiEvaluationResponseDTO;
+import com.pushkar.postfix_evaluator.dto.ProfileRequestDTO;
+import com.pushkar.postfix_evaluator.dto.ProfileResponseDTO;
+import com.pushkar.postfix_evaluator.dto.SweepRequestDTO;
+import com.pushkar.postfix_evaluator.engine.BatchAggregate;
+import com.pushkar.postfix_evaluator.engine.BatchResult;
+import com.pushkar.postfix_evaluator.engine.EvaluationProfile;
+import com.pushkar.postfix_evaluator.engine.ExecutionPlan;
+import com.pushkar.postfix_evaluator.engine.MonteCarloSampler;
+import com.pushkar.postfix_evaluator.engine.MonteCarloSummary;
+import com.pushkar.postfix_evaluator.engine.SweepGrid;
+import com.pushkar.postfix_evaluator.engine.VariableSlots;
+import com.pushkar.postfix_evaluator.exception.EquationNotFoundException;
 import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.jfr.RequestEvent;
 import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
 import com.pushkar.postfix_evaluator.service.EquationService;
-import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import com.pushkar.postfix_evaluator.service.ExecutionService;
+import com.pushkar.postfix_evaluator.service.FanOutEvaluationService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * REST Controller for equation operations
@@ -28,21 +78,62 @@ public class EquationController {
     @Autowired
     private EquationService equationService;
     
+    @Autowired
+    private ExecutionService executionService;
+    
+    @Autowired
+    private FanOutEvaluationService fanOutEvaluationService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    private static final Set<String> BATCH_AGGREGATES =
+            Set.of("sum", "mean", "min", "max", "argmin", "argmax", "errorCount", "topK");
+    private static final int DEFAULT_TOP_K = 10;
+    
     /**
      * Stores an equation
      * POST /api/equations/store
      * 
+     * With async=true only a character check runs before the ID is returned;
+     * the expression tree is built in the background and reported by the status endpoint.
+     * 
      * @param request the equation request containing the equation string
+     * @param async whether to build the expression tree in the background
      * @return response with equation ID
      */
     @PostMapping("/store")
     public ResponseEntity<EquationResponseDTO> storeEquation(
-            @RequestBody EquationRequestDTO request) {
-        
+            @RequestBody EquationRequestDTO request,
+            @RequestParam(defaultValue = "false") boolean async) {
+        RequestEvent event = RequestEvent.start("store");
+        try {
+            ResponseEntity<EquationResponseDTO> response = store(request, async);
+            recordRequest(event, response.getBody().getEquationId(), PipelineOutcome.SUCCESS);
+            return response;
+        } catch (RuntimeException e) {
+            recordRequest(event, null, PipelineOutcome.of(e));
+            throw e;
+        }
+    }
+    
+    /**
+     * Stores an equation synchronously or accepts it for a background build
+     */
+    private ResponseEntity<EquationResponseDTO> store(EquationRequestDTO request, boolean async) {
         if (request == null || request.getEquation() == null) {
             throw new InvalidEquationException("Request body and equation cannot be null");
         }
         
+        if (async) {
+            String equationId = equationService.storeEquationAsync(request.getEquation());
+            EquationResponseDTO response = new EquationResponseDTO(
+                "Equation accepted for background build",
+                equationId
+            );
+            return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+        }
+        
         String equationId = equationService.storeEquation(request.getEquation());
         
         EquationResponseDTO response = new EquationResponseDTO(
@@ -53,6 +144,71 @@ public class EquationController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
     
+    /**
+     * Reports the build state of a stored equation
+     * GET /api/equations/{equationId}/status
+     * 
+     * @param equationId the ID of the equation
+     * @return response with the build status and any build error
+     */
+    @GetMapping("/{equationId}/status")
+    public ResponseEntity<EquationStatusDTO> getEquationStatus(@PathVariable String equationId) {
+        Equation equation = equationService.getEquationById(equationId);
+        EquationStatusDTO response = new EquationStatusDTO(
+            equation.getId(),
+            equation.getBuildStatus(),
+            equation.getBuildError()
+        );
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+    
+    /**
+     * Stores many equations in one request
+     * POST /api/equations/store/bulk
+     * 
+     * Accepts either a JSON array or newline-delimited JSON of equation requests.
+     * The body is read incrementally, so the whole input is never held in memory at once.
+     * 
+     * @param request the HTTP request whose body contains the equations
+     * @return per-equation IDs or errors in input order
+     * @throws IOException if the request body cannot be read
+     */
+    @ExpensiveRequest
+    @PostMapping(value = "/store/bulk",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkStoreResponseDTO> storeEquations(HttpServletRequest request) throws IOException {
+        List<BulkStoreResultDTO> results;
+        try (MappingIterator<EquationRequestDTO> items = objectMapper
+                .readerFor(EquationRequestDTO.class)
+                .readValues(request.getInputStream())) {
+            
+            Iterator<String> equations = new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return items.hasNextValue();
+                }
+                
+                @Override
+                public String next() {
+                    EquationRequestDTO item = items.nextValue();
+                    return item != null ? item.getEquation() : null;
+                }
+            };
+            results = equationService.storeEquations(equations);
+        } catch (JacksonException e) {
+            throw new InvalidEquationException("Malformed bulk request: " + e.getOriginalMessage());
+        }
+        
+        int failed = (int) results.stream().filter(r -> r.getError() != null).count();
+        BulkStoreResponseDTO response = new BulkStoreResponseDTO(
+            results.size() - failed,
+            failed,
+            results
+        );
+        
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+    
     /**
      * Retrieves all stored equations
      * GET /api/equations
@@ -78,17 +234,108 @@ public class EquationController {
     public ResponseEntity<EvaluationResponseDTO> evaluateEquation(
             @PathVariable String equationId,
             @RequestBody EvaluationRequestDTO request) {
+        RequestEvent event = RequestEvent.start("evaluate");
+        try {
+            ResponseEntity<EvaluationResponseDTO> response = evaluate(equationId, request);
+            recordRequest(event, equationId, PipelineOutcome.SUCCESS);
+            return response;
+        } catch (RuntimeException e) {
+            recordRequest(event, equationId, PipelineOutcome.of(e));
+            throw e;
+        }
+    }
+    
+    /**
+     * Evaluates an equation, answering with only its ID and the result.
+     * The body is read with a streaming parser straight into the equation's variable
+     * slots, and the request's variables and the equation text are not echoed back.
+     * POST /api/equations/{equationId}/evaluate?response=lean
+     * 
+     * @param equationId the ID of the equation to evaluate
+     * @param request the HTTP request whose body holds the variable values
+     * @return response with the equation ID and evaluation result
+     * @throws IOException if the request body cannot be read
+     */
+    @PostMapping(value = "/{equationId}/evaluate", params = "response=lean")
+    public ResponseEntity<EquationEvaluationResultDTO> evaluateEquationLean(
+            @PathVariable String equationId,
+            HttpServletRequest request) throws IOException {
+        RequestEvent event = RequestEvent.start("evaluate");
+        try {
+            Equation equation = equationService.getEvaluableEquation(equationId);
+            
+            VariableSlots variables;
+            try (JsonParser parser = objectMapper.createParser(request.getInputStream())) {
+                variables = EvaluationRequestReader.readVariables(parser, equation.getVariableSchema());
+            } catch (JacksonException e) {
+                throw new InvalidEquationException("Malformed evaluation request: " + e.getOriginalMessage());
+            }
+            
+            Double result = executionService.evaluate(equation, variables);
+            recordRequest(event, equationId, PipelineOutcome.SUCCESS);
+            return new ResponseEntity<>(
+                new EquationEvaluationResultDTO(equation.getId(), result, null), HttpStatus.OK);
+        } catch (RuntimeException e) {
+            recordRequest(event, equationId, PipelineOutcome.of(e));
+            throw e;
+        }
+    }
+    
+    /**
+     * Evaluates many equations against one shared set of variable values
+     * POST /api/equations/evaluate
+     * 
+     * @param request the equations to evaluate, by ID list or referenced variable, and the variable values
+     * @return response with results and errors keyed by equation ID
+     */
+    @ExpensiveRequest
+    @PostMapping("/evaluate")
+    public ResponseEntity<MultiEvaluationResponseDTO> evaluateEquations(
+            @RequestBody MultiEvaluationRequestDTO request) {
+        if (request == null || request.getVariables() == null) {
+            throw new InvalidEquationException("Request body and variables map cannot be null");
+        }
+        if ((request.getEquationIds() == null) == (request.getVariable() == null)) {
+            throw new InvalidEquationException("Exactly one of equationIds or variable must be given");
+        }
+        
+        List<String> equationIds = request.getEquationIds();
+        if (equationIds == null) {
+            // Numeric IDs in ascending order, so the response does not depend on index order
+            equationIds = equationService.getEquationsByVariable(request.getVariable()).stream()
+                    .map(Equation::getId)
+                    .sorted(Comparator.comparingInt(String::length).thenComparing(Comparator.naturalOrder()))
+                    .toList();
+        }
+        
+        Map<String, Double> results = new LinkedHashMap<>();
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (EquationEvaluationResultDTO result
+                : fanOutEvaluationService.evaluateEquations(equationIds, request.getVariables())) {
+            if (result.getError() != null) {
+                errors.put(result.getEquationId(), result.getError());
+            } else {
+                results.put(result.getEquationId(), result.getResult());
+            }
+        }
         
+        return new ResponseEntity<>(new MultiEvaluationResponseDTO(results, errors), HttpStatus.OK);
+    }
+    
+    /**
+     * Evaluates a stored equation with one set of variable values
+     */
+    private ResponseEntity<EvaluationResponseDTO> evaluate(String equationId, EvaluationRequestDTO request) {
         if (request == null || request.getVariables() == null) {
             throw new InvalidEquationException("Request body and variables map cannot be null");
         }
         
-        // Retrieve the equation
-        Equation equation = equationService.getEquationById(equationId);
+        // Retrieve the equation, waiting for a pending background build
+        Equation equation = equationService.getEvaluableEquation(equationId);
         
-        // Evaluate the expression tree
-        Double result = EvaluatorService.evaluate(
-            equation.getRootNode(),
+        // Evaluate on the interpreter or, once the equation is hot, its compiled form
+        Double result = executionService.evaluate(
+            equation,
             request.getVariables()
         );
         
@@ -102,4 +349,362 @@ public class EquationController {
         
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
+    
+    /**
+     * Commits a request flight-recorder event if it passes the recording's threshold,
+     * looking up the equation's tree statistics only in that case
+     */
+    private void recordRequest(RequestEvent event, String equationId, PipelineOutcome outcome) {
+        if (!event.finish()) {
+            return;
+        }
+        Equation equation = null;
+        if (equationId != null) {
+            try {
+                equation = equationService.getEquationById(equationId);
+            } catch (EquationNotFoundException e) {
+                // Unknown IDs are recorded without tree statistics
+            }
+        }
+        event.complete(equationId, equation, outcome);
+    }
+    
+    /**
+     * Evaluates an equation at every point of a grid of variable values, streaming one result
+     * per point in point order, as NDJSON lines or as binary frames ({@link BinaryProtocol})
+     * POST /api/equations/{equationId}/sweep?format=ndjson|binary
+     * 
+     * @param equationId the ID of the equation to sweep
+     * @param request per-variable ranges and fixed values of the other variables
+     * @param format ndjson (default) or binary
+     * @return streamed response with one result per grid point
+     */
+    @ExpensiveRequest
+    @PostMapping("/{equationId}/sweep")
+    public ResponseEntity<StreamingResponseBody> sweep(
+            @PathVariable String equationId,
+            @RequestBody SweepRequestDTO request,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        if (request == null) {
+            throw new InvalidEquationException("Request body cannot be null");
+        }
+        boolean binary = format.equals("binary");
+        if (!binary && !format.equals("ndjson")) {
+            throw new InvalidEquationException("Format must be ndjson or binary");
+        }
+        
+        // Validate everything before the response starts, so errors still get a proper status
+        Equation equation = equationService.getEvaluableEquation(equationId);
+        SweepGrid grid = executionService.createSweepGrid(equation, request.getRanges(), request.getVariables());
+        
+        if (binary) {
+            StreamingResponseBody body = out -> writeSweepFrames(out, equation, grid);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_OCTET_STREAM).body(body);
+        }
+        StreamingResponseBody body = out -> writeSweepLines(out, equation, grid);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Streams sweep results as {@code {"index":n,"result":r}} or {@code {"index":n,"error":"..."}} lines
+     */
+    private void writeSweepLines(OutputStream out, Equation equation, SweepGrid grid) throws IOException {
+        long[] index = {0};
+        executionService.sweep(equation, grid, chunk -> {
+            StringBuilder lines = new StringBuilder(chunk.size() * 32);
+            for (int i = 0; i < chunk.size(); i++) {
+                lines.append("{\"index\":").append(index[0]++);
+                if (chunk.isError(i)) {
+                    lines.append(",\"error\":").append(objectMapper.writeValueAsString(chunk.getError(i)));
+                } else if (Double.isFinite(chunk.getValue(i))) {
+                    lines.append(",\"result\":").append(chunk.getValue(i));
+                } else {
+                    // Written as strings, as Jackson writes non-finite numbers
+                    lines.append(",\"result\":\"").append(chunk.getValue(i)).append('"');
+                }
+                lines.append("}\n");
+            }
+            write(out, lines.toString().getBytes(StandardCharsets.UTF_8));
+        });
+        out.flush();
+    }
+    
+    /**
+     * Streams sweep results as {@code [status: byte][result: double]} frames
+     */
+    private void writeSweepFrames(OutputStream out, Equation equation, SweepGrid grid) throws IOException {
+        DataOutputStream frames = new DataOutputStream(new BufferedOutputStream(out, 65536));
+        executionService.sweep(equation, grid, chunk -> {
+            try {
+                for (int i = 0; i < chunk.size(); i++) {
+                    frames.writeByte(chunk.isError(i) ? BinaryProtocol.EVALUATION_ERROR : BinaryProtocol.OK);
+                    frames.writeDouble(chunk.getValue(i));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        frames.flush();
+    }
+    
+    private static void write(OutputStream out, byte[] bytes) {
+        try {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Evaluates an equation on random samples of its variables and returns only aggregate
+     * statistics of the results; the same seed always gives the same results
+     * POST /api/equations/{equationId}/simulate
+     * 
+     * @param equationId the ID of the equation to simulate
+     * @param request per-variable distributions, fixed values, sample count and seed
+     * @return mean, variance, range, quantile estimates and histogram of the results
+     */
+    @ExpensiveRequest
+    @PostMapping("/{equationId}/simulate")
+    public ResponseEntity<MonteCarloResponseDTO> simulate(
+            @PathVariable String equationId,
+            @RequestBody MonteCarloRequestDTO request) {
+        if (request == null || request.getSamples() == null) {
+            throw new InvalidEquationException("Request body must contain a sample count");
+        }
+        
+        Equation equation = equationService.getEvaluableEquation(equationId);
+        MonteCarloSampler sampler = executionService.createMonteCarloSampler(
+            equation, request.getDistributions(), request.getVariables());
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+        MonteCarloSummary summary = executionService.simulate(
+            equation, sampler, request.getSamples(), seed, request.getQuantiles(), request.getBins());
+        
+        MonteCarloResponseDTO response = new MonteCarloResponseDTO(
+            equation.getId(),
+            equation.getEquationInfix(),
+            summary.getSeed(),
+            summary.getSampleCount(),
+            summary.getErrorCount(),
+            summary.getMean(),
+            summary.getVariance(),
+            summary.getStandardDeviation(),
+            summary.getMin(),
+            summary.getMax(),
+            summary.getQuantiles(),
+            summary.getHistogram()
+        );
+        
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+    
+    /**
+     * Evaluates an equation against many sets of variable values
+     * POST /api/equations/{equationId}/evaluate/batch
+     * 
+     * @param equationId the ID of the equation to evaluate
+     * @param request the batch request containing one variable map per row
+     * @return response with one result per row and errors for failed rows
+     */
+    @ExpensiveRequest
+    @PostMapping("/{equationId}/evaluate/batch")
+    public ResponseEntity<BatchEvaluationResponseDTO> evaluateBatch(
+            @PathVariable String equationId,
+            @RequestBody BatchEvaluationRequestDTO request) {
+        
+        if (request == null || request.getBindings() == null) {
+            throw new InvalidEquationException("Request body and bindings list cannot be null");
+        }
+        
+        Equation equation = equationService.getEvaluableEquation(equationId);
+        int rows = request.getBindings().size();
+        ExecutionPlan plan = executionService.explain(equation, rows);
+        
+        if (request.getAggregate() != null) {
+            BatchAggregatesDTO aggregates = aggregateBatch(equation, request);
+            return new ResponseEntity<>(
+                new BatchEvaluationResponseDTO(equation.getId(), plan.getStrategy(), null, null, aggregates),
+                HttpStatus.OK
+            );
+        }
+        
+        BatchResult batch = executionService.evaluateBatch(equation, request.getBindings());
+        
+        List<Double> results = new ArrayList<>(rows);
+        Map<Integer, String> errors = new LinkedHashMap<>();
+        for (int i = 0; i < rows; i++) {
+            if (batch.isError(i)) {
+                results.add(null);
+                errors.put(i, batch.getError(i));
+            } else {
+                results.add(batch.getValue(i));
+            }
+        }
+        
+        BatchEvaluationResponseDTO response = new BatchEvaluationResponseDTO(
+            equation.getId(),
+            plan.getStrategy(),
+            results,
+            errors,
+            null
+        );
+        
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+    
+    /**
+     * Computes the reductions named by a batch request without keeping per-row results
+     */
+    private BatchAggregatesDTO aggregateBatch(Equation equation, BatchEvaluationRequestDTO request) {
+        Set<String> requested = new HashSet<>(request.getAggregate());
+        if (requested.isEmpty() || !BATCH_AGGREGATES.containsAll(requested)) {
+            throw new InvalidEquationException(
+                "Aggregate must name one or more of sum, mean, min, max, argmin, argmax, errorCount, topK"
+            );
+        }
+        int topK = !requested.contains("topK") ? 0 : request.getK() != null ? request.getK() : DEFAULT_TOP_K;
+        BatchAggregate aggregate = executionService.aggregateBatch(equation, request.getBindings(), topK);
+        
+        // Extremes are null rather than NaN when there are no comparable results
+        boolean hasExtremes = aggregate.argmax() >= 0;
+        return new BatchAggregatesDTO(
+            aggregate.count(),
+            requested.contains("errorCount") ? aggregate.errorCount() : null,
+            requested.contains("sum") ? aggregate.sum() : null,
+            requested.contains("mean") && aggregate.count() > 0 ? aggregate.mean() : null,
+            requested.contains("min") && hasExtremes ? aggregate.min() : null,
+            requested.contains("argmin") && hasExtremes ? aggregate.argmin() : null,
+            requested.contains("max") && hasExtremes ? aggregate.max() : null,
+            requested.contains("argmax") && hasExtremes ? aggregate.argmax() : null,
+            requested.contains("topK") ? aggregate.topK() : null
+        );
+    }
+    
+    /**
+     * Explains which evaluation engine would be used for an equation
+     * GET /api/equations/{equationId}/explain?bindings=N
+     * 
+     * @param equationId the ID of the equation
+     * @param bindings number of variable bindings the request would carry
+     * @return the chosen plan and the tree statistics behind it
+     */
+    @GetMapping("/{equationId}/explain")
+    public ResponseEntity<ExecutionPlanDTO> explainEquation(
+            @PathVariable String equationId,
+            @RequestParam(defaultValue = "1") int bindings) {
+        
+        Equation equation = equationService.getEvaluableEquation(equationId);
+        ExecutionPlan plan = executionService.explain(equation, bindings);
+        
+        ExecutionPlanDTO response = new ExecutionPlanDTO(
+            equation.getId(),
+            plan.getStrategy(),
+            plan.getReason(),
+            plan.getBindingCount(),
+            plan.getEstimatedCost(),
+            plan.getStatistics()
+        );
+        
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+    
+    /**
+     * Profiles the evaluation of an equation, reporting where its time goes
+     * POST /api/equations/{equationId}/profile?limit=N
+     * 
+     * @param equationId the ID of the equation to profile
+     * @param request either one variable map or a batch of bindings to evaluate
+     * @param limit maximum number of subtrees to list, most expensive first
+     * @return the annotated expression, per-subtree costs and rewrite suggestions
+     */
+    @ExpensiveRequest
+    @PostMapping("/{equationId}/profile")
+    public ResponseEntity<ProfileResponseDTO> profileEquation(
+            @PathVariable String equationId,
+            @RequestBody ProfileRequestDTO request,
+            @RequestParam(defaultValue = "20") int limit) {
+        
+        if (request == null || (request.getVariables() == null && request.getBindings() == null)) {
+            throw new InvalidEquationException("Request body must contain variables or bindings");
+        }
+        
+        Equation equation = equationService.getEvaluableEquation(equationId);
+        List<Map<String, Number>> bindings = request.getBindings() != null
+                ? request.getBindings()
+                : List.of(request.getVariables());
+        EvaluationProfile profile = executionService.profile(equation, bindings, limit);
+        
+        ProfileResponseDTO response = new ProfileResponseDTO(
+            equation.getId(),
+            equation.getEquationInfix(),
+            profile.getBindingCount(),
+            profile.getErrorCount(),
+            profile.getFirstError(),
+            profile.getTotalMicros(),
+            profile.getPowerTimeShare(),
+            profile.getDivisionTimeShare(),
+            profile.getAnnotated(),
+            profile.getSubtrees(),
+            profile.getSuggestions()
+        );
+        
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+    
+    /**
+     * Retrieves all stored equations that reference a variable
+     * GET /api/equations/variables/{variable}
+     * 
+     * @param variable the variable name
+     * @return list of dependent equations
+     */
+    @GetMapping("/variables/{variable}")
+    public ResponseEntity<EquationsListResponseDTO> getEquationsByVariable(
+            @PathVariable String variable) {
+        List<EquationDTO> equations = equationService.getEquationsByVariable(variable).stream()
+                .map(eq -> new EquationDTO(eq.getId(), eq.getEquationInfix()))
+                .toList();
+        return new ResponseEntity<>(new EquationsListResponseDTO(equations), HttpStatus.OK);
+    }
+    
+    /**
+     * Evaluates every equation that references a variable with the given variable values.
+     * Results are streamed as newline-delimited JSON in completion order.
+     * POST /api/equations/variables/{variable}/evaluate
+     * 
+     * @param variable the variable whose dependent equations are evaluated
+     * @param request the evaluation request containing variable values
+     * @return streamed response with one result per dependent equation
+     */
+    @ExpensiveRequest
+    @PostMapping(value = "/variables/{variable}/evaluate", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> evaluateDependentEquations(
+            @PathVariable String variable,
+            @RequestBody EvaluationRequestDTO request) {
+        
+        if (request == null || request.getVariables() == null) {
+            throw new InvalidEquationException("Request body and variables map cannot be null");
+        }
+        
+        StreamingResponseBody body = out -> fanOutEvaluationService.evaluateDependents(
+            variable,
+            request.getVariables(),
+            result -> writeLine(out, result)
+        );
+        
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Writes one result as a JSON line and flushes it to the client
+     */
+    private void writeLine(OutputStream out, EquationEvaluationResultDTO result) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
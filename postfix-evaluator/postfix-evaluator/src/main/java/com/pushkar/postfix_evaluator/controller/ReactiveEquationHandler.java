@@ -0,0 +1,224 @@
+package com.pushkar.postfix_evaluator.controller;
+
+import com.pushkar.postfix_evaluator.dto.EquationEvaluationRequestDTO;
+import com.pushkar.postfix_evaluator.dto.EquationEvaluationResultDTO;
+import com.pushkar.postfix_evaluator.exception.EquationNotFoundException;
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.service.EquationService;
+import com.pushkar.postfix_evaluator.service.ExecutionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyExtractors;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.RequestPredicates;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+/**
+ * Reactive handler for streaming evaluation, served by the Reactor Netty server
+ * configured in {@link com.pushkar.postfix_evaluator.config.ReactiveServerConfig}.
+ * 
+ * Requests and results are newline-delimited JSON on one long-lived HTTP exchange.
+ * The body is processed one network chunk at a time: every complete line in a chunk is
+ * evaluated and the chunk's results are written as a single buffer, in request order.
+ * The next chunk is only read once earlier results have been written, so a slow client
+ * slows down its own stream instead of filling server memory, and a line longer than
+ * the line limit ends the stream instead of being buffered until its newline arrives.
+ */
+@Component
+public class ReactiveEquationHandler {
+    
+    /**
+     * Request chunks read ahead of evaluation on each stream
+     */
+    private static final int PREFETCH_CHUNKS = 4;
+    
+    @Autowired
+    private EquationService equationService;
+    
+    @Autowired
+    private ExecutionService executionService;
+    
+    @Autowired
+    private JsonMapper jsonMapper;
+    
+    @Value("${evaluator.reactive.max-line-bytes:1048576}")
+    private int maxLineBytes;
+    
+    /**
+     * Routes of the reactive API
+     * 
+     * @return the router function
+     */
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .POST("/api/reactive/equations/evaluate",
+                    RequestPredicates.contentType(MediaType.APPLICATION_NDJSON), this::evaluateStream)
+                .build();
+    }
+    
+    /**
+     * Evaluates a stream of requests, one JSON object per line, each naming an equation
+     * and its variable values. A malformed or overlong line ends the stream with a final error result.
+     * POST /api/reactive/equations/evaluate
+     * 
+     * @param request the server request whose body streams evaluation requests
+     * @return streamed response with one result line per request line
+     */
+    public Mono<ServerResponse> evaluateStream(ServerRequest request) {
+        Flux<DataBuffer> results = evaluateLines(request.body(BodyExtractors.toDataBuffers()));
+        
+        return ServerResponse.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(BodyInserters.fromDataBuffers(results));
+    }
+    
+    /**
+     * Evaluates newline-delimited requests chunk by chunk.
+     * Evaluation runs off the network threads because it may wait for a pending background build.
+     */
+    private Flux<DataBuffer> evaluateLines(Flux<DataBuffer> chunks) {
+        return Flux.defer(() -> {
+            LineBuffer lines = new LineBuffer();
+            return chunks
+                    .publishOn(Schedulers.boundedElastic(), PREFETCH_CHUNKS)
+                    .map(chunk -> evaluateChunk(chunk, lines))
+                    .concatWith(Mono.fromCallable(() -> evaluateRemainder(lines)))
+                    .takeUntil(results -> lines.failed)
+                    .filter(results -> results.length > 0)
+                    .<DataBuffer>map(DefaultDataBufferFactory.sharedInstance::wrap)
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+    
+    /**
+     * Evaluates the complete lines of a chunk, keeping a trailing partial line for the next one
+     */
+    private byte[] evaluateChunk(DataBuffer chunk, LineBuffer lines) {
+        try {
+            lines.append(chunk);
+        } finally {
+            DataBufferUtils.release(chunk);
+        }
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int start = 0;
+        for (int i = 0; i < lines.length && !lines.failed; i++) {
+            if (lines.bytes[i] == '\n') {
+                evaluateLine(lines, start, i, out);
+                start = i + 1;
+            }
+        }
+        lines.discard(start);
+        if (!lines.failed && lines.length > maxLineBytes) {
+            // Fail as soon as the partial line is too long rather than waiting for its newline
+            rejectLine(lines, out);
+        }
+        return out.toByteArray();
+    }
+    
+    /**
+     * Evaluates a final line that was not terminated by a newline
+     */
+    private byte[] evaluateRemainder(LineBuffer lines) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        evaluateLine(lines, 0, lines.length, out);
+        return out.toByteArray();
+    }
+    
+    /**
+     * Decodes and evaluates one line, writing its result line; blank lines are skipped
+     */
+    private void evaluateLine(LineBuffer lines, int from, int to, ByteArrayOutputStream out) {
+        while (from < to && Character.isWhitespace(lines.bytes[from])) {
+            from++;
+        }
+        if (from == to) {
+            return;
+        }
+        if (to - from > maxLineBytes) {
+            rejectLine(lines, out);
+            return;
+        }
+        
+        EquationEvaluationResultDTO result;
+        try {
+            EquationEvaluationRequestDTO request = jsonMapper.readValue(
+                lines.bytes, from, to - from, EquationEvaluationRequestDTO.class);
+            result = evaluateOne(request);
+        } catch (JacksonException e) {
+            result = new EquationEvaluationResultDTO(null, null, "Malformed request: " + e.getOriginalMessage());
+            lines.failed = true;
+        }
+        jsonMapper.writeValue(out, result);
+        out.write('\n');
+    }
+    
+    /**
+     * Writes the error result of a line over the length limit and ends the stream
+     */
+    private void rejectLine(LineBuffer lines, ByteArrayOutputStream out) {
+        EquationEvaluationResultDTO result = new EquationEvaluationResultDTO(null, null,
+            "Malformed request: line exceeds the limit of " + maxLineBytes + " bytes");
+        lines.failed = true;
+        jsonMapper.writeValue(out, result);
+        out.write('\n');
+    }
+    
+    /**
+     * Evaluates a single request, capturing failures as an error result
+     */
+    private EquationEvaluationResultDTO evaluateOne(EquationEvaluationRequestDTO request) {
+        String equationId = request != null ? request.getEquationId() : null;
+        try {
+            if (equationId == null || request.getVariables() == null) {
+                throw new InvalidEquationException("Equation ID and variables map cannot be null");
+            }
+            Equation equation = equationService.getEvaluableEquation(equationId);
+            Double result = executionService.evaluate(equation, request.getVariables());
+            return new EquationEvaluationResultDTO(equationId, result, null);
+        } catch (EquationNotFoundException | InvalidEquationException | EvaluationException e) {
+            return new EquationEvaluationResultDTO(equationId, null, e.getMessage());
+        }
+    }
+    
+    /**
+     * Bytes received on one stream that have not yet been evaluated
+     */
+    private static final class LineBuffer {
+        private byte[] bytes = new byte[8192];
+        private int length;
+        private boolean failed;
+        
+        void append(DataBuffer chunk) {
+            int count = chunk.readableByteCount();
+            if (length + count > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+            }
+            chunk.read(bytes, length, count);
+            length += count;
+        }
+        
+        void discard(int count) {
+            System.arraycopy(bytes, count, bytes, 0, length - count);
+            length -= count;
+        }
+    }
+}
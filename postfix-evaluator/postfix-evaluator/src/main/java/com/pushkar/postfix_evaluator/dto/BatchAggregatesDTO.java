@@ -0,0 +1,37 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.pushkar.postfix_evaluator.engine.RankedRow;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the requested reductions of a batch evaluation.
+ * Only requested reductions are set; rows is always the number of successful rows.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchAggregatesDTO {
+    private long rows;
+    
+    private Long errorCount;
+    
+    private Double sum;
+    
+    private Double mean;
+    
+    private Double min;
+    
+    private Integer argmin;
+    
+    private Double max;
+    
+    private Integer argmax;
+    
+    private List<RankedRow> topK;
+}
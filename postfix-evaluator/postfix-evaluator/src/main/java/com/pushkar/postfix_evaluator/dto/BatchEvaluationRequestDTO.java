@@ -0,0 +1,24 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for batch evaluation requests containing one variable map per row.
+ * When aggregate names reductions (sum, mean, min, max, argmin, argmax, errorCount, topK),
+ * only those are returned instead of per-row results; topK keeps the k largest results.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchEvaluationRequestDTO {
+    private List<Map<String, Number>> bindings;
+    
+    private List<String> aggregate;
+    
+    private Integer k;
+}
@@ -0,0 +1,33 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pushkar.postfix_evaluator.engine.ExecutionStrategy;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for batch evaluation responses.
+ * Failed rows have a null result and an entry in errors keyed by row index.
+ * Aggregating requests carry only the aggregates, without per-row results.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class BatchEvaluationResponseDTO {
+    @JsonProperty("equationId")
+    private String equationId;
+    
+    private ExecutionStrategy strategy;
+    
+    private List<Double> results;
+    
+    private Map<Integer, String> errors;
+    
+    private BatchAggregatesDTO aggregates;
+}
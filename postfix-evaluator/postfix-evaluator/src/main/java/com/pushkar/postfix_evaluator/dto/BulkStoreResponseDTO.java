@@ -0,0 +1,21 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for bulk import responses containing per-equation results in input order
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStoreResponseDTO {
+    private int stored;
+    
+    private int failed;
+    
+    private List<BulkStoreResultDTO> results;
+}
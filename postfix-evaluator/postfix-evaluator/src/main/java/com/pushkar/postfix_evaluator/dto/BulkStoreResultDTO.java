@@ -0,0 +1,24 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of storing one equation in a bulk import.
+ * Exactly one of equationId or error is set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkStoreResultDTO {
+    private int index;
+    
+    @JsonProperty("equationId")
+    private String equationId;
+    
+    private String error;
+}
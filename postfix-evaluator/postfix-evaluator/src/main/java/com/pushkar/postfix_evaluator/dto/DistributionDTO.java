@@ -0,0 +1,25 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the distribution of one random variable in a Monte Carlo simulation.
+ * Uniform distributions use min and max; normal and lognormal distributions use mean and
+ * stdDev, which for lognormal are those of the variable's natural logarithm.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistributionDTO {
+    private String type;
+    
+    private Double min;
+    
+    private Double max;
+    
+    private Double mean;
+    
+    private Double stdDev;
+}
@@ -0,0 +1,21 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for one element of a streamed evaluation request, naming the equation to evaluate
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquationEvaluationRequestDTO {
+    @JsonProperty("equationId")
+    private String equationId;
+    
+    private Map<String, Number> variables;
+}
@@ -0,0 +1,24 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of evaluating one equation within a multi-equation request.
+ * Exactly one of result or error is set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EquationEvaluationResultDTO {
+    @JsonProperty("equationId")
+    private String equationId;
+    
+    private Double result;
+    
+    private String error;
+}
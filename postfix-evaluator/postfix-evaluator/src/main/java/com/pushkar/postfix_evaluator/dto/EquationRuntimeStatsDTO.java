@@ -0,0 +1,33 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the evaluation statistics of one equation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EquationRuntimeStatsDTO {
+    @JsonProperty("equationId")
+    private String equationId;
+    
+    private String equation;
+    
+    private long calls;
+    
+    private long errors;
+    
+    private double totalTimeMs;
+    
+    private double meanMicros;
+    
+    private double p50Micros;
+    
+    private double p99Micros;
+    
+    private double callsPerSecond;
+}
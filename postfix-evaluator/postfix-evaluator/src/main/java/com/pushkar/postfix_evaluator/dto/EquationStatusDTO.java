@@ -0,0 +1,24 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pushkar.postfix_evaluator.model.BuildStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for reporting the build state of a stored equation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EquationStatusDTO {
+    @JsonProperty("equationId")
+    private String equationId;
+    
+    private BuildStatus status;
+    
+    private String error;
+}
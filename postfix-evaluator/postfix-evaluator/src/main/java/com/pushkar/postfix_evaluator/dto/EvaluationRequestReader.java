@@ -0,0 +1,79 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.pushkar.postfix_evaluator.engine.VariableSlots;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+
+/**
+ * Streaming reader for the body of an evaluation request ({@link EvaluationRequestDTO}).
+ * Numbers are read straight from the parser into the target equation's variable slots,
+ * so no map is built and no value is boxed. Variables the equation does not use are skipped.
+ */
+public class EvaluationRequestReader {
+    
+    /**
+     * Reads the variables of an evaluation request
+     * 
+     * @param parser parser positioned before the request object
+     * @param schema the equation's variable names sorted alphabetically
+     * @return the variable values in slot order
+     * @throws InvalidEquationException if the body or its variables map is missing or null
+     * @throws tools.jackson.core.JacksonException if the body is not valid JSON or a value is not a number
+     */
+    public static VariableSlots readVariables(JsonParser parser, String[] schema) {
+        VariableSlots slots = new VariableSlots(schema);
+        boolean found = false;
+        
+        if (parser.nextToken() == JsonToken.START_OBJECT) {
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (!field.equals("variables") || token == JsonToken.VALUE_NULL) {
+                    parser.skipChildren();
+                    continue;
+                }
+                if (token != JsonToken.START_OBJECT) {
+                    throw new InvalidEquationException("Variables must be a JSON object");
+                }
+                readValues(parser, slots);
+                found = true;
+            }
+        }
+        
+        if (!found) {
+            throw new InvalidEquationException("Request body and variables map cannot be null");
+        }
+        return slots;
+    }
+    
+    /**
+     * Reads the entries of the variables object into their slots
+     */
+    private static void readValues(JsonParser parser, VariableSlots slots) {
+        while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+            int slot = slots.indexOf(parser.currentName());
+            JsonToken token = parser.nextToken();
+            if (slot < 0) {
+                parser.skipChildren();
+                continue;
+            }
+            
+            switch (token) {
+                case VALUE_NUMBER_INT:
+                case VALUE_NUMBER_FLOAT:
+                    slots.set(slot, parser.getDoubleValue());
+                    break;
+                case VALUE_NULL:
+                    // A variable given as null counts as zero, as on the map-based path
+                    slots.set(slot, 0.0);
+                    break;
+                default:
+                    // Anything else is coerced exactly as when binding a Map<String, Number>
+                    Number value = parser.readValueAs(Number.class);
+                    slots.set(slot, value != null ? value.doubleValue() : 0.0);
+                    break;
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pushkar.postfix_evaluator.engine.ExecutionStrategy;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO explaining which evaluation engine the planner chose for an equation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionPlanDTO {
+    @JsonProperty("equationId")
+    private String equationId;
+    
+    private ExecutionStrategy strategy;
+    
+    private String reason;
+    
+    private int bindingCount;
+    
+    private long estimatedCost;
+    
+    private TreeStatistics statistics;
+}
@@ -0,0 +1,30 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for Monte Carlo simulation requests.
+ * Every variable of the equation needs either a distribution or a fixed value.
+ * Without a seed a random one is chosen and returned with the results.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonteCarloRequestDTO {
+    private Map<String, DistributionDTO> distributions;
+    
+    private Map<String, Number> variables;
+    
+    private Long samples;
+    
+    private Long seed;
+    
+    private List<Double> quantiles;
+    
+    private Integer bins;
+}
@@ -0,0 +1,43 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pushkar.postfix_evaluator.engine.HistogramBin;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for the aggregate results of a Monte Carlo simulation
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonteCarloResponseDTO {
+    @JsonProperty("equationId")
+    private String equationId;
+    
+    private String equation;
+    
+    private long seed;
+    
+    private long sampleCount;
+    
+    private long errorCount;
+    
+    private Double mean;
+    
+    private Double variance;
+    
+    private Double standardDeviation;
+    
+    private Double min;
+    
+    private Double max;
+    
+    private Map<String, Double> quantiles;
+    
+    private List<HistogramBin> histogram;
+}
@@ -0,0 +1,25 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for evaluating many equations against one set of variable values.
+ * The equations are selected either by ID or by a variable they reference.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MultiEvaluationRequestDTO {
+    @JsonProperty("equationIds")
+    private List<String> equationIds;
+    
+    private String variable;
+    
+    private Map<String, Number> variables;
+}
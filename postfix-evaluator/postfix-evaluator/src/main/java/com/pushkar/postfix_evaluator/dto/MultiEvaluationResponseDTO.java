@@ -0,0 +1,22 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for multi-equation evaluation responses.
+ * Every selected equation appears in exactly one of the maps, keyed by equation ID.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class MultiEvaluationResponseDTO {
+    private Map<String, Double> results;
+    
+    private Map<String, String> errors;
+}
@@ -0,0 +1,20 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO for profiling requests carrying either one variable map or a batch of them
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileRequestDTO {
+    private Map<String, Number> variables;
+    
+    private List<Map<String, Number>> bindings;
+}
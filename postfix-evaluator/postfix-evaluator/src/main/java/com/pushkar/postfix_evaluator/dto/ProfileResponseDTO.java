@@ -0,0 +1,40 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.pushkar.postfix_evaluator.engine.SubtreeProfile;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the cost breakdown of evaluating an equation on the instrumented evaluator
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProfileResponseDTO {
+    @JsonProperty("equationId")
+    private String equationId;
+    
+    private String equation;
+    
+    private int bindingCount;
+    
+    private int errorCount;
+    
+    private String firstError;
+    
+    private double totalMicros;
+    
+    private double powerTimeShare;
+    
+    private double divisionTimeShare;
+    
+    private String annotated;
+    
+    private List<SubtreeProfile> subtrees;
+    
+    private List<String> suggestions;
+}
@@ -0,0 +1,24 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one variable's axis in a sweep: either start, stop and step
+ * (stop included when reached) or an explicit list of values
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepRangeDTO {
+    private Double start;
+    
+    private Double stop;
+    
+    private Double step;
+    
+    private List<Double> values;
+}
@@ -0,0 +1,20 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for grid sweep requests.
+ * Every variable of the equation needs either a range or a fixed value.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SweepRequestDTO {
+    private Map<String, SweepRangeDTO> ranges;
+    
+    private Map<String, Number> variables;
+}
@@ -0,0 +1,19 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for the most expensive equations under one ranking
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopEquationsResponseDTO {
+    private String by;
+    
+    private List<EquationRuntimeStatsDTO> equations;
+}
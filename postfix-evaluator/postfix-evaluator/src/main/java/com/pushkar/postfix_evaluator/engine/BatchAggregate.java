@@ -0,0 +1,240 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Reduction of a batch's results, computed without keeping the results.
+ * Holds the count of successful and failed rows, a compensated (Neumaier) sum, the minimum
+ * and maximum with the first row reaching each, and optionally the k largest results.
+ * Partials of consecutive row ranges merged in row order give the same aggregate as one
+ * pass over all rows. Not thread-safe; merge per-chunk partials instead.
+ */
+public final class BatchAggregate {
+    
+    private final int topK;
+    private final int[] heapRows;
+    private final double[] heapValues;
+    private int heapSize;
+    
+    private long count;
+    private long errorCount;
+    private double sum;
+    private double compensation;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+    private int argmin = -1;
+    private int argmax = -1;
+    
+    /**
+     * Creates an empty aggregate
+     * 
+     * @param topK number of largest results to keep, or 0 for none
+     */
+    public BatchAggregate(int topK) {
+        this.topK = topK;
+        this.heapRows = new int[topK];
+        this.heapValues = new double[topK];
+    }
+    
+    /**
+     * Adds the result of one row
+     * 
+     * @param row the row index
+     * @param value the row's result
+     */
+    public void add(int row, double value) {
+        count++;
+        addToSum(value);
+        if (value < min || argmin < 0 && !Double.isNaN(value)) {
+            min = value;
+            argmin = row;
+        }
+        if (value > max || argmax < 0 && !Double.isNaN(value)) {
+            max = value;
+            argmax = row;
+        }
+        if (topK > 0 && !Double.isNaN(value)) {
+            offer(row, value);
+        }
+    }
+    
+    /**
+     * Counts one failed row
+     */
+    public void addError() {
+        errorCount++;
+    }
+    
+    /**
+     * Adds the rows of another aggregate, whose rows all come after this one's
+     * 
+     * @param other aggregate of the following rows, with the same top-k size
+     */
+    public void merge(BatchAggregate other) {
+        count += other.count;
+        errorCount += other.errorCount;
+        addToSum(other.sum);
+        addToSum(other.compensation);
+        if (other.argmin >= 0 && (argmin < 0 || other.min < min)) {
+            min = other.min;
+            argmin = other.argmin;
+        }
+        if (other.argmax >= 0 && (argmax < 0 || other.max > max)) {
+            max = other.max;
+            argmax = other.argmax;
+        }
+        for (int i = 0; i < other.heapSize; i++) {
+            offer(other.heapRows[i], other.heapValues[i]);
+        }
+    }
+    
+    /**
+     * Adds to the running sum, carrying the rounding error in the compensation term
+     */
+    private void addToSum(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+    
+    /**
+     * Keeps a row if it is among the k largest, preferring earlier rows on ties.
+     * The heap's root is the row that would be dropped next.
+     */
+    private void offer(int row, double value) {
+        if (heapSize < topK) {
+            int child = heapSize++;
+            while (child > 0) {
+                int parent = (child - 1) / 2;
+                if (!ranksBelow(row, value, heapRows[parent], heapValues[parent])) {
+                    break;
+                }
+                heapRows[child] = heapRows[parent];
+                heapValues[child] = heapValues[parent];
+                child = parent;
+            }
+            heapRows[child] = row;
+            heapValues[child] = value;
+            return;
+        }
+        if (!ranksBelow(heapRows[0], heapValues[0], row, value)) {
+            return;
+        }
+        int parent = 0;
+        while (true) {
+            int child = 2 * parent + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize
+                    && ranksBelow(heapRows[child + 1], heapValues[child + 1], heapRows[child], heapValues[child])) {
+                child++;
+            }
+            if (!ranksBelow(heapRows[child], heapValues[child], row, value)) {
+                break;
+            }
+            heapRows[parent] = heapRows[child];
+            heapValues[parent] = heapValues[child];
+            parent = child;
+        }
+        heapRows[parent] = row;
+        heapValues[parent] = value;
+    }
+    
+    private static boolean ranksBelow(int row, double value, int otherRow, double otherValue) {
+        return value < otherValue || value == otherValue && row > otherRow;
+    }
+    
+    /**
+     * Gets the number of successful rows
+     * 
+     * @return row count
+     */
+    public long count() {
+        return count;
+    }
+    
+    /**
+     * Gets the number of failed rows
+     * 
+     * @return error count
+     */
+    public long errorCount() {
+        return errorCount;
+    }
+    
+    /**
+     * Gets the compensated sum of the results
+     * 
+     * @return the sum, 0 if there are no results
+     */
+    public double sum() {
+        return Double.isFinite(sum) ? sum + compensation : sum;
+    }
+    
+    /**
+     * Gets the mean of the results
+     * 
+     * @return the mean, or NaN if there are no results
+     */
+    public double mean() {
+        return count > 0 ? sum() / count : Double.NaN;
+    }
+    
+    /**
+     * Gets the smallest result
+     * 
+     * @return the minimum, or NaN if there are no comparable results
+     */
+    public double min() {
+        return min;
+    }
+    
+    /**
+     * Gets the first row with the smallest result
+     * 
+     * @return the row index, or -1 if there are no comparable results
+     */
+    public int argmin() {
+        return argmin;
+    }
+    
+    /**
+     * Gets the largest result
+     * 
+     * @return the maximum, or NaN if there are no comparable results
+     */
+    public double max() {
+        return max;
+    }
+    
+    /**
+     * Gets the first row with the largest result
+     * 
+     * @return the row index, or -1 if there are no comparable results
+     */
+    public int argmax() {
+        return argmax;
+    }
+    
+    /**
+     * Gets the rows with the largest results
+     * 
+     * @return up to k rows, largest result first and earlier rows first on ties
+     */
+    public List<RankedRow> topK() {
+        List<RankedRow> rows = new ArrayList<>(heapSize);
+        for (int i = 0; i < heapSize; i++) {
+            rows.add(new RankedRow(heapRows[i], heapValues[i]));
+        }
+        rows.sort(Comparator.comparingDouble(RankedRow::getValue).reversed()
+                .thenComparingInt(RankedRow::getRow));
+        return rows;
+    }
+}
@@ -0,0 +1,63 @@
+package com.pushkar.postfix_evaluator.engine;
+
+/**
+ * Results of evaluating one equation against many bindings.
+ * A row either has a value or an error message; rows with an error have a NaN value.
+ */
+public final class BatchResult {
+    
+    private final double[] values;
+    private final String[] errors;
+    
+    public BatchResult(int size) {
+        this.values = new double[size];
+        this.errors = new String[size];
+    }
+    
+    /**
+     * Gets the number of rows
+     * 
+     * @return row count
+     */
+    public int size() {
+        return values.length;
+    }
+    
+    /**
+     * Gets the value of a row
+     * 
+     * @param row the row index
+     * @return the result, or NaN if the row failed
+     */
+    public double getValue(int row) {
+        return values[row];
+    }
+    
+    /**
+     * Gets the error of a row
+     * 
+     * @param row the row index
+     * @return the error message, or null if the row succeeded
+     */
+    public String getError(int row) {
+        return errors[row];
+    }
+    
+    /**
+     * Checks whether a row failed
+     * 
+     * @param row the row index
+     * @return true if the row has an error
+     */
+    public boolean isError(int row) {
+        return errors[row] != null;
+    }
+    
+    double[] values() {
+        return values;
+    }
+    
+    String[] errors() {
+        return errors;
+    }
+}
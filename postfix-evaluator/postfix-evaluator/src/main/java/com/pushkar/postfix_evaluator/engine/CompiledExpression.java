@@ -0,0 +1,361 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.model.TreeNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Expression tree flattened into a postfix instruction array.
+ * Constants are parsed once and variables are resolved to numbered slots,
+ * so evaluation is a tight loop over primitive doubles instead of a tree walk.
+ * Produces the same results and errors, in the same order, as the tree interpreter.
+ * Instances are immutable and may be evaluated from many threads at once.
+ */
+public final class CompiledExpression {
+    
+    static final byte PUSH_CONST = 0;
+    static final byte LOAD_VAR = 1;
+    static final byte ADD = 2;
+    static final byte SUB = 3;
+    static final byte MUL = 4;
+    static final byte DIV = 5;
+    static final byte POW = 6;
+    
+    private final byte[] opcodes;
+    private final int[] operands;
+    private final double[] constants;
+    private final String[] variableNames;
+    private final int maxStackDepth;
+    
+    private CompiledExpression(byte[] opcodes, int[] operands, double[] constants,
+                               String[] variableNames, int maxStackDepth) {
+        this.opcodes = opcodes;
+        this.operands = operands;
+        this.constants = constants;
+        this.variableNames = variableNames;
+        this.maxStackDepth = maxStackDepth;
+    }
+    
+    /**
+     * Compiles an expression tree into postfix instructions
+     * 
+     * @param rootNode the root of the expression tree
+     * @return the compiled expression
+     * @throws EvaluationException if the tree is not a well-formed binary expression tree
+     */
+    public static CompiledExpression compile(TreeNode rootNode) {
+        if (rootNode == null) {
+            throw new EvaluationException("Expression tree is null");
+        }
+        
+        List<TreeNode> postOrder = postOrder(rootNode);
+        String[] variableNames = collectVariableNames(postOrder);
+        
+        byte[] opcodes = new byte[postOrder.size()];
+        int[] operands = new int[postOrder.size()];
+        List<Double> constants = new ArrayList<>();
+        int depth = 0;
+        int maxDepth = 0;
+        
+        for (int i = 0; i < postOrder.size(); i++) {
+            TreeNode node = postOrder.get(i);
+            String value = node.getValue();
+            if (node.isLeaf()) {
+                if (node.isConstant()) {
+                    opcodes[i] = PUSH_CONST;
+                    operands[i] = constants.size();
+                    constants.add(node.getConstantValue());
+                } else {
+                    opcodes[i] = LOAD_VAR;
+                    operands[i] = Arrays.binarySearch(variableNames, value);
+                }
+                depth++;
+                maxDepth = Math.max(maxDepth, depth);
+            } else {
+                opcodes[i] = opcodeFor(value);
+                depth--;
+            }
+        }
+        
+        double[] constantValues = new double[constants.size()];
+        for (int i = 0; i < constantValues.length; i++) {
+            constantValues[i] = constants.get(i);
+        }
+        return new CompiledExpression(opcodes, operands, constantValues, variableNames, maxDepth);
+    }
+    
+    /**
+     * Gets the variable names in slot order (sorted alphabetically)
+     * 
+     * @return copy of the variable schema
+     */
+    public String[] getVariableNames() {
+        return variableNames.clone();
+    }
+    
+    /**
+     * Gets the number of instructions, which equals the tree's node count
+     * 
+     * @return instruction count
+     */
+    public int size() {
+        return opcodes.length;
+    }
+    
+    byte[] opcodes() {
+        return opcodes;
+    }
+    
+    int[] operands() {
+        return operands;
+    }
+    
+    double[] constants() {
+        return constants;
+    }
+    
+    String[] variableNames() {
+        return variableNames;
+    }
+    
+    int maxStackDepth() {
+        return maxStackDepth;
+    }
+    
+    /**
+     * Evaluates the expression with values looked up by variable name.
+     * Working arrays come from a shared pool, so a warmed-up evaluation allocates nothing.
+     * 
+     * @param variables map of variable names to their numeric values
+     * @return the result of evaluation
+     * @throws EvaluationException if a variable is missing or evaluation fails
+     */
+    public double evaluate(Map<String, Number> variables) {
+        return evaluate(variables, null);
+    }
+    
+    /**
+     * Evaluates the expression with values looked up by variable name, giving up once the deadline passes
+     * 
+     * @param variables map of variable names to their numeric values
+     * @param deadline the deadline counted down once per instruction, or null for none
+     * @return the result of evaluation
+     * @throws EvaluationException if a variable is missing, evaluation fails or the deadline passes
+     */
+    public double evaluate(Map<String, Number> variables, EvaluationDeadline deadline) {
+        if (variables == null) {
+            throw new InvalidEquationException("Variables map cannot be null");
+        }
+        
+        EvaluationScratch scratch = EvaluationScratch.acquire(maxStackDepth, variableNames.length);
+        try {
+            double[] slots = scratch.slots;
+            boolean[] missing = scratch.missing;
+            for (int i = 0; i < variableNames.length; i++) {
+                Number num = variables.get(variableNames[i]);
+                if (num != null) {
+                    slots[i] = num.doubleValue();
+                    missing[i] = false;
+                } else {
+                    slots[i] = 0.0;
+                    missing[i] = !variables.containsKey(variableNames[i]);
+                }
+            }
+            return run(slots, missing, scratch.stack, deadline);
+        } finally {
+            scratch.release();
+        }
+    }
+    
+    /**
+     * Evaluates the expression with values read into slots without boxing.
+     * Slots filled for a different schema are read by variable name instead.
+     * 
+     * @param variables variable values in slot order
+     * @return the result of evaluation
+     * @throws EvaluationException if a variable is missing or evaluation fails
+     */
+    public double evaluate(VariableSlots variables) {
+        return evaluate(variables, null);
+    }
+    
+    /**
+     * Evaluates the expression with values read into slots, giving up once the deadline passes
+     * 
+     * @param variables variable values in slot order
+     * @param deadline the deadline counted down once per instruction, or null for none
+     * @return the result of evaluation
+     * @throws EvaluationException if a variable is missing, evaluation fails or the deadline passes
+     */
+    public double evaluate(VariableSlots variables, EvaluationDeadline deadline) {
+        if (!Arrays.equals(variables.slotNames(), variableNames)) {
+            return evaluate((Map<String, Number>) variables, deadline);
+        }
+        
+        EvaluationScratch scratch = EvaluationScratch.acquire(maxStackDepth, 0);
+        try {
+            return run(variables.slotValues(), variables.missingSlots(), scratch.stack, deadline);
+        } finally {
+            scratch.release();
+        }
+    }
+    
+    /**
+     * Evaluates the expression with values already arranged in slot order
+     * 
+     * @param slots variable values indexed like {@link #getVariableNames()}
+     * @return the result of evaluation
+     * @throws EvaluationException if evaluation fails
+     */
+    public double evaluate(double[] slots) {
+        return evaluate(slots, null);
+    }
+    
+    /**
+     * Evaluates the expression with values already arranged in slot order, giving up once the deadline passes
+     * 
+     * @param slots variable values indexed like {@link #getVariableNames()}
+     * @param deadline the deadline counted down once per instruction, or null for none
+     * @return the result of evaluation
+     * @throws EvaluationException if evaluation fails or the deadline passes
+     */
+    public double evaluate(double[] slots, EvaluationDeadline deadline) {
+        if (slots == null || slots.length != variableNames.length) {
+            throw new InvalidEquationException(
+                "Expected " + variableNames.length + " variable values in schema order"
+            );
+        }
+        
+        EvaluationScratch scratch = EvaluationScratch.acquire(maxStackDepth, 0);
+        try {
+            return run(slots, null, scratch.stack, deadline);
+        } finally {
+            scratch.release();
+        }
+    }
+    
+    /**
+     * Executes the instructions against resolved variable slots
+     */
+    private double run(double[] slots, boolean[] missing, double[] stack, EvaluationDeadline deadline) {
+        int top = -1;
+        
+        for (int pc = 0; pc < opcodes.length; pc++) {
+            if (deadline != null) {
+                deadline.tick();
+            }
+            byte opcode = opcodes[pc];
+            if (opcode == PUSH_CONST) {
+                stack[++top] = constants[operands[pc]];
+            } else if (opcode == LOAD_VAR) {
+                int slot = operands[pc];
+                if (missing != null && missing[slot]) {
+                    throw EvaluationException.missingVariable(variableNames[slot]);
+                }
+                stack[++top] = slots[slot];
+            } else {
+                double right = stack[top--];
+                stack[top] = apply(opcode, stack[top], right);
+            }
+        }
+        return stack[0];
+    }
+    
+    /**
+     * Applies a binary operator instruction to two operands
+     */
+    static double apply(byte opcode, double left, double right) {
+        switch (opcode) {
+            case ADD:
+                return left + right;
+            case SUB:
+                return left - right;
+            case MUL:
+                return left * right;
+            case DIV:
+                if (right == 0) {
+                    throw EvaluationException.divisionByZero();
+                }
+                return left / right;
+            case POW:
+                return Math.pow(left, right);
+            default:
+                throw new EvaluationException("Unknown opcode: " + opcode);
+        }
+    }
+    
+    /**
+     * Applies an operator symbol to two operands
+     */
+    static double applyOperator(String operator, double left, double right) {
+        return apply(opcodeFor(operator), left, right);
+    }
+    
+    /**
+     * Maps an operator symbol to its instruction
+     */
+    static byte opcodeFor(String operator) {
+        switch (operator) {
+            case "+":
+                return ADD;
+            case "-":
+                return SUB;
+            case "*":
+                return MUL;
+            case "/":
+                return DIV;
+            case "^":
+                return POW;
+            default:
+                throw new EvaluationException("Unknown operator: " + operator);
+        }
+    }
+    
+    /**
+     * Lists the tree's nodes in post-order without recursion, so deep trees cannot overflow the stack
+     */
+    private static List<TreeNode> postOrder(TreeNode rootNode) {
+        List<TreeNode> result = new ArrayList<>();
+        Deque<TreeNode> pending = new ArrayDeque<>();
+        pending.push(rootNode);
+        
+        // Visit root-right-left, then reverse to obtain left-right-root
+        while (!pending.isEmpty()) {
+            TreeNode node = pending.pop();
+            result.add(node);
+            if (node.isLeaf()) {
+                continue;
+            }
+            if (node.getLeft() == null || node.getRight() == null) {
+                throw new EvaluationException("Unexpected null node during evaluation");
+            }
+            pending.push(node.getLeft());
+            pending.push(node.getRight());
+        }
+        
+        Collections.reverse(result);
+        return result;
+    }
+    
+    /**
+     * Collects the distinct variable names of the tree in sorted order
+     */
+    private static String[] collectVariableNames(List<TreeNode> nodes) {
+        TreeSet<String> names = new TreeSet<>();
+        for (TreeNode node : nodes) {
+            if (node.isLeaf() && !node.isConstant()) {
+                names.add(node.getValue());
+            }
+        }
+        return names.toArray(new String[0]);
+    }
+}
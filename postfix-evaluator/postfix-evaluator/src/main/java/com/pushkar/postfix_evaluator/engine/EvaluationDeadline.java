@@ -0,0 +1,70 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationTimeoutException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which one evaluation must finish.
+ * Evaluators call {@link #tick()} once per node or instruction; the clock is only read
+ * every {@value #CHECK_INTERVAL} ticks, so checking costs a counter decrement per step.
+ * The counter is not shared: a thread joining an evaluation uses its own {@link #share()}.
+ */
+public final class EvaluationDeadline {
+    
+    public static final int CHECK_INTERVAL = 1024;
+    
+    private final long expiresAt;
+    private final long timeoutMillis;
+    private int countdown = CHECK_INTERVAL;
+    
+    private EvaluationDeadline(long expiresAt, long timeoutMillis) {
+        this.expiresAt = expiresAt;
+        this.timeoutMillis = timeoutMillis;
+    }
+    
+    /**
+     * Creates a deadline the given time from now
+     * 
+     * @param timeoutMillis time allowed for the evaluation in milliseconds
+     * @return the deadline
+     */
+    public static EvaluationDeadline after(long timeoutMillis) {
+        return new EvaluationDeadline(
+            System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis), timeoutMillis);
+    }
+    
+    /**
+     * Creates a deadline with the same expiry and its own tick counter, for use by another thread
+     * 
+     * @return the shared deadline
+     */
+    public EvaluationDeadline share() {
+        return new EvaluationDeadline(expiresAt, timeoutMillis);
+    }
+    
+    /**
+     * Counts one evaluation step, checking the clock every {@value #CHECK_INTERVAL} steps
+     * 
+     * @throws EvaluationTimeoutException if the deadline has passed
+     */
+    public void tick() {
+        if (--countdown == 0) {
+            countdown = CHECK_INTERVAL;
+            check();
+        }
+    }
+    
+    /**
+     * Checks the clock
+     * 
+     * @throws EvaluationTimeoutException if the deadline has passed
+     */
+    public void check() {
+        if (System.nanoTime() - expiresAt > 0) {
+            throw new EvaluationTimeoutException(
+                "Evaluation exceeded its deadline of " + timeoutMillis + " ms"
+            );
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Per-subtree cost breakdown of evaluating one equation, with rewrite suggestions
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EvaluationProfile {
+    private int bindingCount;
+    
+    private int errorCount;
+    
+    private String firstError;
+    
+    private double totalMicros;
+    
+    private double powerTimeShare;
+    
+    private double divisionTimeShare;
+    
+    private String annotated;
+    
+    private List<SubtreeProfile> subtrees;
+    
+    private List<String> suggestions;
+}
@@ -0,0 +1,429 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.exception.EvaluationTimeoutException;
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.InfixNotationReconstructor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Instrumented tree evaluator that measures where an equation spends its time.
+ * Every node is timed on entry and exit, so the figures include the profiler's own
+ * clock reads and are meant for comparing subtrees, not as absolute latencies.
+ * Values and errors match the tree interpreter, but the walk is iterative, so deep
+ * trees can be profiled as well.
+ */
+public final class EvaluationProfiler {
+    
+    /**
+     * Longest subtree expression reported before it is abbreviated
+     */
+    static final int MAX_EXPRESSION_LENGTH = 120;
+    
+    private EvaluationProfiler() {
+    }
+    
+    /**
+     * Evaluates an expression tree against each binding and reports its cost breakdown
+     * 
+     * @param rootNode the root of the expression tree
+     * @param bindings one variable map per evaluation
+     * @param limit maximum number of subtrees to report, most expensive first
+     * @return the profile
+     * @throws EvaluationException if the tree is not a well-formed binary expression tree
+     */
+    public static EvaluationProfile profile(TreeNode rootNode, List<Map<String, Number>> bindings, int limit) {
+        return profile(rootNode, bindings, limit, null);
+    }
+    
+    /**
+     * Evaluates an expression tree against each binding and reports its cost breakdown,
+     * giving up once the deadline passes
+     * 
+     * @param rootNode the root of the expression tree
+     * @param bindings one variable map per evaluation
+     * @param limit maximum number of subtrees to report, most expensive first
+     * @param deadline the deadline checked before each binding and each reported subtree, or null for none
+     * @return the profile
+     * @throws EvaluationException if the tree is not a well-formed binary expression tree
+     * @throws EvaluationTimeoutException if the deadline passes
+     */
+    public static EvaluationProfile profile(TreeNode rootNode, List<Map<String, Number>> bindings, int limit,
+                                            EvaluationDeadline deadline) {
+        if (rootNode == null) {
+            throw new EvaluationException("Expression tree is null");
+        }
+        
+        ProfiledTree tree = new ProfiledTree(rootNode);
+        int errorCount = 0;
+        String firstError = null;
+        for (Map<String, Number> binding : bindings) {
+            if (deadline != null) {
+                // Outside the try, so a timeout is not counted as a failed binding
+                deadline.check();
+            }
+            try {
+                if (binding == null) {
+                    throw new EvaluationException("Variables map cannot be null");
+                }
+                tree.evaluate(binding);
+            } catch (EvaluationException e) {
+                errorCount++;
+                if (firstError == null) {
+                    firstError = e.getMessage();
+                }
+            }
+        }
+        
+        long[] selfNanos = tree.selfNanos();
+        long totalNanos = tree.totalNanos[0];
+        long powerNanos = 0;
+        long divisionNanos = 0;
+        for (int i = 0; i < tree.size(); i++) {
+            if (tree.opcodes[i] == CompiledExpression.POW) {
+                powerNanos += selfNanos[i];
+            } else if (tree.opcodes[i] == CompiledExpression.DIV) {
+                divisionNanos += selfNanos[i];
+            }
+        }
+        
+        List<Integer> operators = new ArrayList<>();
+        for (int i = 0; i < tree.size(); i++) {
+            if (!tree.nodes[i].isLeaf()) {
+                operators.add(i);
+            }
+        }
+        operators.sort((a, b) -> Long.compare(tree.totalNanos[b], tree.totalNanos[a]));
+        
+        List<SubtreeProfile> subtrees = new ArrayList<>();
+        for (int i : operators.subList(0, Math.min(limit, operators.size()))) {
+            if (deadline != null) {
+                deadline.check();
+            }
+            subtrees.add(new SubtreeProfile(
+                describe(tree.nodes[i]),
+                tree.evaluations[i],
+                tree.totalNanos[i] / 1000.0,
+                selfNanos[i] / 1000.0,
+                share(selfNanos[i], totalNanos)
+            ));
+        }
+        
+        String annotated = InfixNotationReconstructor.reconstruct(rootNode, node -> String.format(
+            Locale.ROOT, "[%.1f%%]", 100 * share(selfNanos[tree.indexOf(node)], totalNanos)));
+        
+        return new EvaluationProfile(
+            bindings.size(),
+            errorCount,
+            firstError,
+            totalNanos / 1000.0,
+            share(powerNanos, totalNanos),
+            share(divisionNanos, totalNanos),
+            annotated,
+            subtrees,
+            suggest(tree)
+        );
+    }
+    
+    /**
+     * Finds rewrites that would make the equation cheaper to evaluate
+     */
+    static List<String> suggest(ProfiledTree tree) {
+        Set<String> suggestions = new LinkedHashSet<>();
+        int size = tree.size();
+        
+        // Fold constants bottom-up; children follow their parent in pre-order
+        boolean[] constant = new boolean[size];
+        double[] constantValue = new double[size];
+        String[] constantError = new String[size];
+        for (int i = size - 1; i >= 0; i--) {
+            if (tree.nodes[i].isLeaf()) {
+                constant[i] = tree.isConstant[i];
+                constantValue[i] = tree.constants[i];
+                continue;
+            }
+            int left = tree.left[i];
+            int right = tree.right[i];
+            constant[i] = constant[left] && constant[right];
+            if (!constant[i]) {
+                continue;
+            }
+            if (constantError[left] != null || constantError[right] != null) {
+                constantError[i] = constantError[left] != null ? constantError[left] : constantError[right];
+                continue;
+            }
+            try {
+                constantValue[i] = CompiledExpression.apply(
+                    tree.opcodes[i], constantValue[left], constantValue[right]);
+            } catch (EvaluationException e) {
+                constantError[i] = e.getMessage();
+            }
+        }
+        
+        // Key structurally identical subtrees alike so repeats can be counted
+        int[] shapes = new int[size];
+        Map<String, Integer> shapeIds = new HashMap<>();
+        for (int i = size - 1; i >= 0; i--) {
+            String key = tree.nodes[i].isLeaf()
+                    ? "leaf:" + tree.nodes[i].getValue()
+                    : tree.nodes[i].getValue() + ":" + shapes[tree.left[i]] + ":" + shapes[tree.right[i]];
+            shapes[i] = shapeIds.computeIfAbsent(key, k -> shapeIds.size());
+        }
+        int[] shapeCounts = new int[shapeIds.size()];
+        for (int shape : shapes) {
+            shapeCounts[shape]++;
+        }
+        
+        for (int i = 0; i < size; i++) {
+            TreeNode node = tree.nodes[i];
+            if (node.isLeaf()) {
+                continue;
+            }
+            int parent = tree.parent[i];
+            if (constant[i]) {
+                if (parent < 0 || !constant[parent]) {
+                    String expression = describe(node);
+                    suggestions.add(constantError[i] != null
+                        ? "Constant subtree " + expression + " always fails: " + constantError[i]
+                        : "Constant subtree " + expression + " could be folded to "
+                            + formatNumber(constantValue[i]));
+                }
+                continue;
+            }
+            
+            int left = tree.left[i];
+            int right = tree.right[i];
+            if (tree.opcodes[i] == CompiledExpression.POW && constant[right]
+                    && tree.nodes[left].isLeaf()
+                    && (constantValue[right] == 2 || constantValue[right] == 3)) {
+                String base = tree.nodes[left].getValue();
+                String product = constantValue[right] == 2 ? base + "*" + base : base + "*" + base + "*" + base;
+                suggestions.add("Power " + describe(node)
+                    + " could be written as " + product + " to avoid Math.pow");
+            } else if (tree.opcodes[i] == CompiledExpression.DIV && constant[right]
+                    && constantError[right] == null && isPowerOfTwo(constantValue[right])) {
+                suggestions.add("Division by " + formatNumber(constantValue[right])
+                    + " in " + describe(node)
+                    + " could be a multiplication by " + formatNumber(1 / constantValue[right])
+                    + ", which gives the same result");
+            }
+            
+            if (shapeCounts[shapes[i]] > 1 && (parent < 0 || shapeCounts[shapes[parent]] < 2)) {
+                suggestions.add("Subtree " + describe(node)
+                    + " is evaluated " + shapeCounts[shapes[i]]
+                    + " times per binding; passing it in as a variable would compute it once");
+            }
+        }
+        return new ArrayList<>(suggestions);
+    }
+    
+    /**
+     * Checks whether a value and its reciprocal are exact powers of two
+     */
+    private static boolean isPowerOfTwo(double value) {
+        if (value == 0 || Double.isInfinite(value) || Double.isNaN(value)) {
+            return false;
+        }
+        double reciprocal = 1 / value;
+        return Math.getExponent(value) >= Double.MIN_EXPONENT
+                && Math.getExponent(reciprocal) >= Double.MIN_EXPONENT
+                && Math.abs(value) == Math.scalb(1.0, Math.getExponent(value));
+    }
+    
+    /**
+     * Formats a folded value without a trailing ".0" for whole numbers
+     */
+    private static String formatNumber(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return Long.toString((long) value);
+        }
+        return Double.toString(value);
+    }
+    
+    /**
+     * Writes a subtree in infix form for reporting, abbreviating long ones.
+     * Only the reported prefix is reconstructed, so large subtrees cost no more than small ones.
+     */
+    private static String describe(TreeNode node) {
+        String expression = InfixNotationReconstructor.reconstruct(node, MAX_EXPRESSION_LENGTH + 1);
+        return expression.length() <= MAX_EXPRESSION_LENGTH
+                ? expression
+                : expression.substring(0, MAX_EXPRESSION_LENGTH - 3) + "...";
+    }
+    
+    private static double share(long part, long total) {
+        return total > 0 ? (double) part / total : 0;
+    }
+    
+    /**
+     * Expression tree laid out in pre-order arrays, with per-node counters
+     */
+    static final class ProfiledTree {
+        
+        final TreeNode[] nodes;
+        final int[] left;
+        final int[] right;
+        final int[] parent;
+        final byte[] opcodes;
+        final boolean[] isConstant;
+        final double[] constants;
+        final long[] evaluations;
+        final long[] totalNanos;
+        
+        private final Map<TreeNode, Integer> indexes = new IdentityHashMap<>();
+        private final int[] frames;
+        private final long[] starts;
+        private final byte[] states;
+        private final double[] values;
+        
+        ProfiledTree(TreeNode rootNode) {
+            List<TreeNode> order = new ArrayList<>();
+            List<Integer> parents = new ArrayList<>();
+            Deque<TreeNode> pending = new ArrayDeque<>();
+            Deque<Integer> pendingParents = new ArrayDeque<>();
+            pending.push(rootNode);
+            pendingParents.push(-1);
+            while (!pending.isEmpty()) {
+                TreeNode node = pending.pop();
+                int index = order.size();
+                order.add(node);
+                parents.add(pendingParents.pop());
+                indexes.put(node, index);
+                if (node.isLeaf()) {
+                    continue;
+                }
+                if (node.getLeft() == null || node.getRight() == null) {
+                    throw new EvaluationException("Unexpected null node during evaluation");
+                }
+                pending.push(node.getRight());
+                pendingParents.push(index);
+                pending.push(node.getLeft());
+                pendingParents.push(index);
+            }
+            
+            int size = order.size();
+            nodes = order.toArray(new TreeNode[0]);
+            left = new int[size];
+            right = new int[size];
+            parent = new int[size];
+            opcodes = new byte[size];
+            isConstant = new boolean[size];
+            constants = new double[size];
+            evaluations = new long[size];
+            totalNanos = new long[size];
+            frames = new int[size];
+            starts = new long[size];
+            states = new byte[size];
+            values = new double[size];
+            
+            for (int i = 0; i < size; i++) {
+                parent[i] = parents.get(i);
+                TreeNode node = nodes[i];
+                if (node.isLeaf()) {
+                    isConstant[i] = node.isConstant();
+                    if (isConstant[i]) {
+                        constants[i] = node.getConstantValue();
+                    }
+                } else {
+                    left[i] = indexes.get(node.getLeft());
+                    right[i] = indexes.get(node.getRight());
+                    opcodes[i] = CompiledExpression.opcodeFor(node.getValue());
+                }
+            }
+        }
+        
+        int size() {
+            return nodes.length;
+        }
+        
+        int indexOf(TreeNode node) {
+            return indexes.get(node);
+        }
+        
+        /**
+         * Evaluates the tree once, timing every node from entry to exit.
+         * Nodes still open when evaluation fails are charged up to the failure.
+         */
+        double evaluate(Map<String, Number> variables) {
+            int top = 0;
+            int valueTop = -1;
+            frames[0] = 0;
+            states[0] = 0;
+            starts[0] = System.nanoTime();
+            
+            try {
+                while (top >= 0) {
+                    int i = frames[top];
+                    if (nodes[i].isLeaf()) {
+                        values[++valueTop] = leafValue(i, variables);
+                    } else if (states[top] == 0) {
+                        states[top] = 1;
+                        push(++top, left[i]);
+                        continue;
+                    } else if (states[top] == 1) {
+                        states[top] = 2;
+                        push(++top, right[i]);
+                        continue;
+                    } else {
+                        double rightValue = values[valueTop--];
+                        values[valueTop] = CompiledExpression.apply(opcodes[i], values[valueTop], rightValue);
+                    }
+                    evaluations[i]++;
+                    totalNanos[i] += System.nanoTime() - starts[top];
+                    top--;
+                }
+            } catch (RuntimeException e) {
+                long failed = System.nanoTime();
+                for (int f = top; f >= 0; f--) {
+                    totalNanos[frames[f]] += failed - starts[f];
+                }
+                throw e;
+            }
+            return values[0];
+        }
+        
+        private void push(int top, int node) {
+            frames[top] = node;
+            states[top] = 0;
+            starts[top] = System.nanoTime();
+        }
+        
+        private double leafValue(int i, Map<String, Number> variables) {
+            if (isConstant[i]) {
+                return constants[i];
+            }
+            String name = nodes[i].getValue();
+            Number num = variables.get(name);
+            if (num != null) {
+                return num.doubleValue();
+            }
+            if (variables.containsKey(name)) {
+                return 0.0;
+            }
+            throw EvaluationException.missingVariable(name);
+        }
+        
+        /**
+         * Gets each node's time excluding the time of its children
+         */
+        long[] selfNanos() {
+            long[] self = totalNanos.clone();
+            for (int i = 0; i < nodes.length; i++) {
+                if (!nodes[i].isLeaf()) {
+                    self[i] -= totalNanos[left[i]] + totalNanos[right[i]];
+                }
+            }
+            return self;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Working arrays reused across evaluations of compiled expressions.
+ * Instances are pooled in slots chosen by thread ID rather than held in thread locals,
+ * so request threads that live for a single request, such as virtual threads,
+ * reuse them as well. Acquiring an instance never blocks; when the probed slots are
+ * empty a new instance is created and later returned to the pool.
+ */
+final class EvaluationScratch {
+    
+    private static final int POOL_SIZE = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4);
+    private static final int PROBES = 4;
+    private static final AtomicReferenceArray<EvaluationScratch> POOL = new AtomicReferenceArray<>(POOL_SIZE);
+    
+    double[] stack = new double[16];
+    double[] slots = new double[16];
+    boolean[] missing = new boolean[16];
+    
+    private EvaluationScratch() {
+    }
+    
+    /**
+     * Takes scratch arrays of at least the given sizes from the pool
+     * 
+     * @param stackDepth required operand stack depth
+     * @param slotCount required number of variable slots
+     * @return scratch state owned by the caller until {@link #release()}
+     */
+    static EvaluationScratch acquire(int stackDepth, int slotCount) {
+        int home = (int) Thread.currentThread().threadId();
+        EvaluationScratch scratch = null;
+        for (int i = 0; i < PROBES && scratch == null; i++) {
+            scratch = POOL.getAndSet((home + i) & (POOL_SIZE - 1), null);
+        }
+        if (scratch == null) {
+            scratch = new EvaluationScratch();
+        }
+        if (scratch.stack.length < stackDepth) {
+            scratch.stack = new double[stackDepth];
+        }
+        if (scratch.slots.length < slotCount) {
+            scratch.slots = new double[slotCount];
+            scratch.missing = new boolean[slotCount];
+        }
+        return scratch;
+    }
+    
+    /**
+     * Returns the arrays to the pool, or drops them if the probed slots are all taken
+     */
+    void release() {
+        int home = (int) Thread.currentThread().threadId();
+        for (int i = 0; i < PROBES; i++) {
+            if (POOL.compareAndSet((home + i) & (POOL_SIZE - 1), null, this)) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Strategy chosen by the execution planner for one request, with the inputs that led to it
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExecutionPlan {
+    private ExecutionStrategy strategy;
+    
+    private String reason;
+    
+    private int bindingCount;
+    
+    private long estimatedCost;
+    
+    private TreeStatistics statistics;
+}
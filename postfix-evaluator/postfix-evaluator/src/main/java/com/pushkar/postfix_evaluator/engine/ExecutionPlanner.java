@@ -0,0 +1,221 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Chooses an evaluation engine per request from the equation's tree statistics and the
+ * number of bindings to evaluate.
+ */
+@Component
+public class ExecutionPlanner {
+    
+    /**
+     * Relative cost of a power node compared to an addition
+     */
+    static final int POWER_COST = 20;
+    
+    /**
+     * Relative cost of a division node (zero check plus divide) compared to an addition
+     */
+    static final int DIVISION_COST = 2;
+    
+    /**
+     * Relative cost of looking up one variable per binding
+     */
+    static final int VARIABLE_COST = 4;
+    
+    private final int parallelism;
+    private final int parallelNodeThreshold;
+    private final int deepTreeThreshold;
+    private final long parallelWorkThreshold;
+    
+    public ExecutionPlanner(
+            @Value("${evaluator.parallelism:0}") int parallelism,
+            @Value("${evaluator.planner.parallel-node-threshold:50000}") int parallelNodeThreshold,
+            @Value("${evaluator.planner.deep-tree-threshold:1000}") int deepTreeThreshold,
+            @Value("${evaluator.planner.parallel-work-threshold:1000000}") long parallelWorkThreshold) {
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.parallelNodeThreshold = parallelNodeThreshold;
+        this.deepTreeThreshold = deepTreeThreshold;
+        this.parallelWorkThreshold = parallelWorkThreshold;
+    }
+    
+    /**
+     * Collects shape statistics of an expression tree without recursion
+     * 
+     * @param rootNode the root of the expression tree
+     * @return the tree statistics
+     */
+    public static TreeStatistics collectStatistics(TreeNode rootNode) {
+        TreeStatistics statistics = new TreeStatistics();
+        if (rootNode == null) {
+            return statistics;
+        }
+        
+        Set<String> variables = new HashSet<>();
+        Deque<TreeNode> nodes = new ArrayDeque<>();
+        Deque<Integer> depths = new ArrayDeque<>();
+        nodes.push(rootNode);
+        depths.push(1);
+        
+        while (!nodes.isEmpty()) {
+            TreeNode node = nodes.pop();
+            int depth = depths.pop();
+            statistics.setNodeCount(statistics.getNodeCount() + 1);
+            statistics.setDepth(Math.max(statistics.getDepth(), depth));
+            
+            if (node.isLeaf()) {
+                if (!node.isConstant()) {
+                    variables.add(node.getValue());
+                }
+                continue;
+            }
+            if ("^".equals(node.getValue())) {
+                statistics.setPowerCount(statistics.getPowerCount() + 1);
+            } else if ("/".equals(node.getValue())) {
+                statistics.setDivisionCount(statistics.getDivisionCount() + 1);
+            }
+            if (node.getLeft() != null) {
+                nodes.push(node.getLeft());
+                depths.push(depth + 1);
+            }
+            if (node.getRight() != null) {
+                nodes.push(node.getRight());
+                depths.push(depth + 1);
+            }
+        }
+        
+        statistics.setVariableCount(variables.size());
+        return statistics;
+    }
+    
+    /**
+     * Chooses the evaluation engine for a request
+     * 
+     * @param equation the equation to evaluate
+     * @param bindingCount number of variable bindings in the request
+     * @return the chosen strategy
+     */
+    public ExecutionStrategy choose(Equation equation, int bindingCount) {
+        TreeStatistics statistics = statisticsOf(equation);
+        
+        if (bindingCount > 1) {
+            return isParallelBatch(statistics, bindingCount)
+                    ? ExecutionStrategy.PARALLEL
+                    : ExecutionStrategy.VECTORIZED;
+        }
+        if (equation.getCompiled() != null) {
+            return ExecutionStrategy.COMPILED;
+        }
+        if (isParallelTree(statistics)) {
+            return ExecutionStrategy.PARALLEL;
+        }
+        if (statistics.getDepth() >= deepTreeThreshold) {
+            return ExecutionStrategy.COMPILED;
+        }
+        return ExecutionStrategy.INTERPRETED;
+    }
+    
+    /**
+     * Chooses the evaluation engine for a request and explains the choice
+     * 
+     * @param equation the equation to evaluate
+     * @param bindingCount number of variable bindings in the request
+     * @return the plan with the chosen strategy and its inputs
+     */
+    public ExecutionPlan plan(Equation equation, int bindingCount) {
+        TreeStatistics statistics = statisticsOf(equation);
+        ExecutionStrategy strategy = choose(equation, bindingCount);
+        long cost = bindingCount > 1 ? batchWork(statistics, bindingCount) : nodeCost(statistics);
+        
+        String reason;
+        switch (strategy) {
+            case PARALLEL:
+                reason = bindingCount > 1
+                        ? "Batch work " + cost + " reaches the parallel threshold; chunks run on "
+                            + parallelism + " workers"
+                        : "Large balanced tree of " + statistics.getNodeCount()
+                            + " nodes; upper subtrees are evaluated with fork-join";
+                break;
+            case VECTORIZED:
+                reason = "Batch of " + bindingCount + " bindings evaluated column-wise on one thread";
+                break;
+            case COMPILED:
+                reason = equation.getCompiled() != null
+                        ? "Compiled form is resident"
+                        : "Tree depth " + statistics.getDepth()
+                            + " is too deep for recursive interpretation";
+                break;
+            default:
+                reason = "Single binding on a small tree";
+                break;
+        }
+        return new ExecutionPlan(strategy, reason, bindingCount, cost, statistics);
+    }
+    
+    /**
+     * Gets the number of fork levels that keeps all workers busy
+     * 
+     * @return fork depth for parallel tree evaluation
+     */
+    public int forkDepth() {
+        return 32 - Integer.numberOfLeadingZeros(parallelism) + 1;
+    }
+    
+    /**
+     * Checks whether a single-binding tree is big and bushy enough to split across workers
+     */
+    private boolean isParallelTree(TreeStatistics statistics) {
+        int nodes = statistics.getNodeCount();
+        int balancedDepth = 4 * (32 - Integer.numberOfLeadingZeros(nodes));
+        return parallelism > 1 && nodes >= parallelNodeThreshold && statistics.getDepth() <= balancedDepth;
+    }
+    
+    /**
+     * Checks whether a batch carries enough work to pay for splitting it across workers
+     */
+    private boolean isParallelBatch(TreeStatistics statistics, int bindingCount) {
+        return parallelism > 1 && batchWork(statistics, bindingCount) >= parallelWorkThreshold;
+    }
+    
+    /**
+     * Estimates the cost of one evaluation of the tree
+     */
+    private static long nodeCost(TreeStatistics statistics) {
+        return statistics.getNodeCount()
+                + (long) POWER_COST * statistics.getPowerCount()
+                + (long) DIVISION_COST * statistics.getDivisionCount();
+    }
+    
+    /**
+     * Estimates the cost of evaluating a batch, including per-binding variable lookups
+     */
+    private static long batchWork(TreeStatistics statistics, int bindingCount) {
+        return (long) bindingCount
+                * (nodeCost(statistics) + (long) VARIABLE_COST * statistics.getVariableCount());
+    }
+    
+    /**
+     * Gets the stored statistics of an equation, collecting them if they are missing
+     * 
+     * @param equation the equation, with its expression tree built
+     * @return the equation's tree statistics
+     */
+    public static TreeStatistics statisticsOf(Equation equation) {
+        TreeStatistics statistics = equation.getStatistics();
+        if (statistics == null) {
+            statistics = collectStatistics(equation.getRootNode());
+            equation.setStatistics(statistics);
+        }
+        return statistics;
+    }
+}
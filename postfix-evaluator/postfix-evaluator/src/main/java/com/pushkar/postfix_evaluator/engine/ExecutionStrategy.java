@@ -0,0 +1,26 @@
+package com.pushkar.postfix_evaluator.engine;
+
+/**
+ * Evaluation engines the execution planner can choose between
+ */
+public enum ExecutionStrategy {
+    /**
+     * Recursive walk of the expression tree, one binding at a time
+     */
+    INTERPRETED,
+    
+    /**
+     * Flat postfix instruction loop, one binding at a time
+     */
+    COMPILED,
+    
+    /**
+     * Instruction-at-a-time evaluation over columns of bindings
+     */
+    VECTORIZED,
+    
+    /**
+     * Fork-join over subtrees for one huge binding, or over chunks of bindings for big batches
+     */
+    PARALLEL
+}
@@ -0,0 +1,19 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of values in one histogram bin [lower, upper)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistogramBin {
+    private double lower;
+    
+    private double upper;
+    
+    private long count;
+}
@@ -0,0 +1,159 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Draws random variable values from per-slot distributions and evaluates a compiled
+ * expression on them in blocks.
+ * A run is split into blocks of {@link #BLOCK_SIZE} samples, each drawn from its own
+ * generator split off the run's seeded generator in block order, so a run's samples
+ * depend only on its seed, whichever threads evaluate the blocks.
+ */
+public final class MonteCarloSampler {
+    
+    /**
+     * Samples per block; changing it changes the samples drawn for a seed
+     */
+    public static final int BLOCK_SIZE = 4096;
+    
+    private static final byte CONSTANT = 0;
+    private static final byte UNIFORM = 1;
+    private static final byte NORMAL = 2;
+    private static final byte LOG_NORMAL = 3;
+    
+    private final byte[] kinds;
+    private final double[] firstParameters;
+    private final double[] secondParameters;
+    
+    /**
+     * Creates a sampler with every slot set to zero
+     * 
+     * @param dimensions number of variable slots
+     */
+    public MonteCarloSampler(int dimensions) {
+        this.kinds = new byte[dimensions];
+        this.firstParameters = new double[dimensions];
+        this.secondParameters = new double[dimensions];
+    }
+    
+    /**
+     * Fixes a slot to one value
+     * 
+     * @param slot the variable slot
+     * @param value the value
+     */
+    public void setConstant(int slot, double value) {
+        set(slot, CONSTANT, value, 0);
+    }
+    
+    /**
+     * Draws a slot uniformly from [min, max)
+     * 
+     * @param slot the variable slot
+     * @param min lower bound, inclusive
+     * @param max upper bound, exclusive
+     */
+    public void setUniform(int slot, double min, double max) {
+        set(slot, UNIFORM, min, max);
+    }
+    
+    /**
+     * Draws a slot from a normal distribution
+     * 
+     * @param slot the variable slot
+     * @param mean the mean
+     * @param stdDev the standard deviation
+     */
+    public void setNormal(int slot, double mean, double stdDev) {
+        set(slot, NORMAL, mean, stdDev);
+    }
+    
+    /**
+     * Draws a slot from a log-normal distribution, whose natural logarithm is normal
+     * 
+     * @param slot the variable slot
+     * @param mean mean of the logarithm
+     * @param stdDev standard deviation of the logarithm
+     */
+    public void setLogNormal(int slot, double mean, double stdDev) {
+        set(slot, LOG_NORMAL, mean, stdDev);
+    }
+    
+    private void set(int slot, byte kind, double first, double second) {
+        kinds[slot] = kind;
+        firstParameters[slot] = first;
+        secondParameters[slot] = second;
+    }
+    
+    /**
+     * Gets the number of slots
+     * 
+     * @return dimension count
+     */
+    public int dimensions() {
+        return kinds.length;
+    }
+    
+    /**
+     * Draws and evaluates one block of samples.
+     * Values are drawn slot by slot, a whole column at a time, and evaluated by the
+     * vectorized engine; failed and non-finite results are counted as errors.
+     * 
+     * @param compiled the expression, compiled with the same slot order as this sampler
+     * @param random the block's generator
+     * @param count number of samples, at most {@link #BLOCK_SIZE}
+     * @param sketch sketch receiving every finite result, not shared with blocks sampled at the same time
+     * @return statistics of the block's results
+     */
+    public SampleStatistics sampleBlock(CompiledExpression compiled, SplittableRandom random, int count,
+                                        ValueSketch sketch) {
+        double[][] columns = new double[kinds.length][count];
+        for (int slot = 0; slot < kinds.length; slot++) {
+            fill(slot, columns[slot], random);
+        }
+        
+        BatchResult result = new BatchResult(count);
+        VectorizedEvaluator.evaluate(compiled, columns, result);
+        
+        SampleStatistics statistics = new SampleStatistics();
+        for (int i = 0; i < count; i++) {
+            double value = result.getValue(i);
+            if (result.isError(i) || !Double.isFinite(value)) {
+                statistics.addError();
+            } else {
+                statistics.add(value);
+                sketch.record(value);
+            }
+        }
+        return statistics;
+    }
+    
+    /**
+     * Fills a slot's column with draws from its distribution
+     */
+    private void fill(int slot, double[] column, SplittableRandom random) {
+        double first = firstParameters[slot];
+        double second = secondParameters[slot];
+        switch (kinds[slot]) {
+            case UNIFORM:
+                for (int i = 0; i < column.length; i++) {
+                    column[i] = first + (second - first) * random.nextDouble();
+                }
+                break;
+            case NORMAL:
+                for (int i = 0; i < column.length; i++) {
+                    column[i] = first + second * random.nextGaussian();
+                }
+                break;
+            case LOG_NORMAL:
+                for (int i = 0; i < column.length; i++) {
+                    column[i] = Math.exp(first + second * random.nextGaussian());
+                }
+                break;
+            default:
+                Arrays.fill(column, first);
+                break;
+        }
+    }
+}
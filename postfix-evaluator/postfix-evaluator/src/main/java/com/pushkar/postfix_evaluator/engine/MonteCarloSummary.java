@@ -0,0 +1,37 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregate statistics of evaluating one equation on random samples.
+ * Statistics are null when every sample failed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MonteCarloSummary {
+    private long seed;
+    
+    private long sampleCount;
+    
+    private long errorCount;
+    
+    private Double mean;
+    
+    private Double variance;
+    
+    private Double standardDeviation;
+    
+    private Double min;
+    
+    private Double max;
+    
+    private Map<String, Double> quantiles;
+    
+    private List<HistogramBin> histogram;
+}
@@ -0,0 +1,90 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates one large expression tree by forking its upper subtrees onto a fork-join pool.
+ * Subtrees below the fork depth are evaluated sequentially by the tree interpreter.
+ */
+public final class ParallelTreeEvaluator {
+    
+    private ParallelTreeEvaluator() {
+    }
+    
+    /**
+     * Evaluates an expression tree in parallel
+     * 
+     * @param rootNode the root of the expression tree
+     * @param variables map of variable names to their numeric values
+     * @param forkDepth number of tree levels at which both children are evaluated concurrently
+     * @return the result of evaluation
+     * @throws com.pushkar.postfix_evaluator.exception.EvaluationException if evaluation fails
+     */
+    public static double evaluate(TreeNode rootNode, Map<String, Number> variables, int forkDepth) {
+        return evaluate(rootNode, variables, forkDepth, null);
+    }
+    
+    /**
+     * Evaluates an expression tree in parallel, giving up once the deadline passes
+     * 
+     * @param rootNode the root of the expression tree
+     * @param variables map of variable names to their numeric values
+     * @param forkDepth number of tree levels at which both children are evaluated concurrently
+     * @param deadline the deadline of the evaluation, or null for none
+     * @return the result of evaluation
+     * @throws com.pushkar.postfix_evaluator.exception.EvaluationException if evaluation fails
+     *         or the deadline passes
+     */
+    public static double evaluate(TreeNode rootNode, Map<String, Number> variables, int forkDepth,
+                                  EvaluationDeadline deadline) {
+        return ForkJoinPool.commonPool().invoke(new SubtreeTask(rootNode, variables, forkDepth, deadline));
+    }
+    
+    /**
+     * Evaluates one subtree, forking its left child while computing the right one
+     */
+    private static final class SubtreeTask extends RecursiveTask<Double> {
+        private final TreeNode node;
+        private final Map<String, Number> variables;
+        private final int forkDepth;
+        private final EvaluationDeadline deadline;
+        
+        SubtreeTask(TreeNode node, Map<String, Number> variables, int forkDepth, EvaluationDeadline deadline) {
+            this.node = node;
+            this.variables = variables;
+            this.forkDepth = forkDepth;
+            this.deadline = deadline;
+        }
+        
+        @Override
+        protected Double compute() {
+            if (forkDepth <= 0 || node == null || node.isLeaf()) {
+                if (deadline == null) {
+                    return EvaluatorService.evaluate(node, variables);
+                }
+                // Subtrees run on different threads, so each counts down its own copy
+                return EvaluatorService.evaluateToDouble(node, variables, deadline.share());
+            }
+            
+            SubtreeTask left = new SubtreeTask(node.getLeft(), variables, forkDepth - 1, deadline);
+            left.fork();
+            
+            double rightValue;
+            try {
+                rightValue = new SubtreeTask(node.getRight(), variables, forkDepth - 1, deadline).compute();
+            } catch (RuntimeException e) {
+                // The interpreter evaluates left before right, so a left error takes precedence
+                left.join();
+                throw e;
+            }
+            double leftValue = left.join();
+            
+            return CompiledExpression.applyOperator(node.getValue(), leftValue, rightValue);
+        }
+    }
+}
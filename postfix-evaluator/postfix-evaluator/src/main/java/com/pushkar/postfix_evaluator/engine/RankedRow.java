@@ -0,0 +1,17 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a batch and its result, as ranked in a top-k aggregate
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankedRow {
+    private int row;
+    
+    private double value;
+}
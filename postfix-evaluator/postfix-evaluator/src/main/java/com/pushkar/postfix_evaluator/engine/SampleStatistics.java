@@ -0,0 +1,114 @@
+package com.pushkar.postfix_evaluator.engine;
+
+/**
+ * Streaming count, mean, variance and range of a sequence of values.
+ * Uses Welford's update, which stays accurate where summing squares would cancel,
+ * and partial statistics of separate runs can be merged exactly (Chan et al.).
+ * Not thread-safe; merge per-thread partials instead.
+ */
+public final class SampleStatistics {
+    
+    private long count;
+    private long errorCount;
+    private double mean;
+    private double squaredDeviations;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+    
+    /**
+     * Adds one value
+     * 
+     * @param value the value, which must be finite
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        squaredDeviations += delta * (value - mean);
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+    
+    /**
+     * Counts one sample that produced no value
+     */
+    public void addError() {
+        errorCount++;
+    }
+    
+    /**
+     * Adds the values of another run, as if they had been added one by one
+     * 
+     * @param other statistics of the other run
+     */
+    public void merge(SampleStatistics other) {
+        errorCount += other.errorCount;
+        if (other.count == 0) {
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        squaredDeviations += other.squaredDeviations + delta * delta * ((double) count * other.count / total);
+        count = total;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+    
+    /**
+     * Gets the number of values added
+     * 
+     * @return value count
+     */
+    public long count() {
+        return count;
+    }
+    
+    /**
+     * Gets the number of samples that produced no value
+     * 
+     * @return error count
+     */
+    public long errorCount() {
+        return errorCount;
+    }
+    
+    /**
+     * Gets the mean of the values
+     * 
+     * @return the mean, or NaN if there are no values
+     */
+    public double mean() {
+        return count > 0 ? mean : Double.NaN;
+    }
+    
+    /**
+     * Gets the sample variance of the values
+     * 
+     * @return the unbiased variance, 0 for a single value, or NaN if there are no values
+     */
+    public double variance() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        return count > 1 ? squaredDeviations / (count - 1) : 0;
+    }
+    
+    /**
+     * Gets the smallest value
+     * 
+     * @return the minimum, or NaN if there are no values
+     */
+    public double min() {
+        return count > 0 ? min : Double.NaN;
+    }
+    
+    /**
+     * Gets the largest value
+     * 
+     * @return the maximum, or NaN if there are no values
+     */
+    public double max() {
+        return count > 0 ? max : Double.NaN;
+    }
+}
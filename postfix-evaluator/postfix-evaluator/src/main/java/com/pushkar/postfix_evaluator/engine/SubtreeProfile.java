@@ -0,0 +1,23 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Measured cost of one operator subtree during a profiling run
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubtreeProfile {
+    private String expression;
+    
+    private long evaluations;
+    
+    private double totalMicros;
+    
+    private double selfMicros;
+    
+    private double selfTimeShare;
+}
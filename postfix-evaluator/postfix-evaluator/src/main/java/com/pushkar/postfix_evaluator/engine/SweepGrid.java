@@ -0,0 +1,136 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+
+/**
+ * Cartesian grid of variable values swept over a compiled expression.
+ * Each slot has an axis, either an arithmetic range or an explicit list of values.
+ * Points are numbered in row-major order over the slots, the last slot varying fastest,
+ * and are computed from their number, so the grid itself is never materialized.
+ */
+public final class SweepGrid {
+    
+    private final double[] starts;
+    private final double[] steps;
+    private final double[][] lists;
+    private final long[] counts;
+    
+    /**
+     * Creates a grid with no axes set
+     * 
+     * @param dimensions number of variable slots
+     */
+    public SweepGrid(int dimensions) {
+        this.starts = new double[dimensions];
+        this.steps = new double[dimensions];
+        this.lists = new double[dimensions][];
+        this.counts = new long[dimensions];
+    }
+    
+    /**
+     * Sets a slot's axis to {@code count} evenly spaced values.
+     * Values are computed as {@code start + i * step}, so rounding errors do not accumulate.
+     * 
+     * @param slot the variable slot
+     * @param start first value
+     * @param step distance between values
+     * @param count number of values
+     */
+    public void setRange(int slot, double start, double step, long count) {
+        starts[slot] = start;
+        steps[slot] = step;
+        lists[slot] = null;
+        counts[slot] = count;
+    }
+    
+    /**
+     * Sets a slot's axis to an explicit list of values
+     * 
+     * @param slot the variable slot
+     * @param values the values, in sweep order
+     */
+    public void setValues(int slot, double[] values) {
+        lists[slot] = values;
+        counts[slot] = values.length;
+    }
+    
+    /**
+     * Gets the number of slots
+     * 
+     * @return dimension count
+     */
+    public int dimensions() {
+        return counts.length;
+    }
+    
+    /**
+     * Gets the number of points in the grid
+     * 
+     * @return product of all axis lengths
+     * @throws InvalidEquationException if the count does not fit in a long
+     */
+    public long size() {
+        long size = 1;
+        try {
+            for (long count : counts) {
+                size = Math.multiplyExact(size, count);
+            }
+        } catch (ArithmeticException e) {
+            throw new InvalidEquationException("Sweep grid is too large");
+        }
+        return size;
+    }
+    
+    /**
+     * Gets the value of a slot's axis at a position
+     */
+    private double valueAt(int slot, long position) {
+        double[] list = lists[slot];
+        return list != null ? list[(int) position] : starts[slot] + position * steps[slot];
+    }
+    
+    /**
+     * Evaluates a run of consecutive points.
+     * The first point's axis positions are decoded from its number; later points advance
+     * the positions like an odometer, recomputing only the slots that changed.
+     * 
+     * @param compiled the expression, compiled with the same slot order as this grid
+     * @param from number of the first point
+     * @param count number of points
+     * @return values and errors of the points, in point order
+     */
+    public BatchResult evaluate(CompiledExpression compiled, long from, int count) {
+        int dimensions = counts.length;
+        long[] positions = new long[dimensions];
+        double[] slots = new double[dimensions];
+        
+        long remainder = from;
+        for (int slot = dimensions - 1; slot >= 0; slot--) {
+            positions[slot] = remainder % counts[slot];
+            remainder /= counts[slot];
+            slots[slot] = valueAt(slot, positions[slot]);
+        }
+        
+        BatchResult result = new BatchResult(count);
+        double[] values = result.values();
+        String[] errors = result.errors();
+        for (int i = 0; i < count; i++) {
+            try {
+                values[i] = compiled.evaluate(slots);
+            } catch (RuntimeException e) {
+                values[i] = Double.NaN;
+                errors[i] = e.getMessage();
+            }
+            
+            for (int slot = dimensions - 1; slot >= 0; slot--) {
+                if (++positions[slot] < counts[slot]) {
+                    slots[slot] = valueAt(slot, positions[slot]);
+                    break;
+                }
+                positions[slot] = 0;
+                slots[slot] = valueAt(slot, 0);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+package com.pushkar.postfix_evaluator.engine;
+
+/**
+ * Fixed-size log-linear histogram of doubles for quantile estimates.
+ * Each power of two between 2^-64 and 2^64 is split into 128 buckets per sign, so a quantile
+ * is within 0.4% of a recorded value; smaller magnitudes count as zero and larger ones share
+ * the outermost buckets. Counts are exact integers, so the sketch does not depend on the
+ * order values are recorded in or partial sketches are merged in. Recording is a single array
+ * increment. Not thread-safe; merge per-thread partials instead.
+ */
+public final class ValueSketch {
+    
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int MANTISSA_SHIFT = 52 - SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = -64;
+    private static final int MAX_EXPONENT = 63;
+    private static final long MIN_KEY = (long) (MIN_EXPONENT + 1023) << SUB_BUCKET_BITS;
+    private static final int MAGNITUDES = (MAX_EXPONENT - MIN_EXPONENT + 1) << SUB_BUCKET_BITS;
+    private static final int ZERO = MAGNITUDES;
+    
+    private final long[] counts = new long[2 * MAGNITUDES + 1];
+    
+    /**
+     * Records one value
+     * 
+     * @param value the value, which must be finite
+     */
+    public void record(double value) {
+        counts[indexOf(value)]++;
+    }
+    
+    /**
+     * Adds the values recorded by another sketch, as if they had been recorded one by one
+     * 
+     * @param other the other sketch
+     */
+    public void merge(ValueSketch other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+    }
+    
+    /**
+     * Gets the number of recorded values
+     * 
+     * @return the value count
+     */
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            total += counts[i];
+        }
+        return total;
+    }
+    
+    /**
+     * Estimates a quantile
+     * 
+     * @param quantile the quantile between 0 and 1, e.g. 0.99
+     * @return the midpoint of the bucket holding the quantile, or NaN if empty
+     */
+    public double quantile(double quantile) {
+        long total = count();
+        if (total == 0) {
+            return Double.NaN;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(counts.length - 1);
+    }
+    
+    /**
+     * Counts recorded values in equal-width bins.
+     * Each bucket is counted in the bin holding its midpoint, clamped into [lower, upper].
+     * 
+     * @param lower lower bound of the first bin
+     * @param upper upper bound of the last bin
+     * @param bins number of bins
+     * @return count per bin
+     */
+    public long[] histogram(double lower, double upper, int bins) {
+        long[] histogram = new long[bins];
+        double width = (upper - lower) / bins;
+        for (int i = 0; i < counts.length; i++) {
+            long count = counts[i];
+            if (count == 0) {
+                continue;
+            }
+            int bin = width > 0 ? (int) ((valueOf(i) - lower) / width) : 0;
+            histogram[Math.max(0, Math.min(bins - 1, bin))] += count;
+        }
+        return histogram;
+    }
+    
+    /**
+     * Maps a value to its bucket: negative values below zero's bucket in decreasing magnitude,
+     * positive values above it in increasing magnitude
+     */
+    static int indexOf(double value) {
+        long key = (Double.doubleToRawLongBits(Math.abs(value)) >>> MANTISSA_SHIFT) - MIN_KEY;
+        if (key < 0) {
+            return ZERO;
+        }
+        int magnitude = (int) Math.min(key, MAGNITUDES - 1);
+        return value > 0 ? ZERO + 1 + magnitude : ZERO - 1 - magnitude;
+    }
+    
+    /**
+     * Gets the midpoint of a bucket
+     */
+    static double valueOf(int index) {
+        if (index == ZERO) {
+            return 0;
+        }
+        long key = Math.abs(index - ZERO) - 1 + MIN_KEY;
+        double lower = Double.longBitsToDouble(key << MANTISSA_SHIFT);
+        double upper = Double.longBitsToDouble((key + 1) << MANTISSA_SHIFT);
+        double midpoint = lower + (upper - lower) / 2;
+        return index > ZERO ? midpoint : -midpoint;
+    }
+}
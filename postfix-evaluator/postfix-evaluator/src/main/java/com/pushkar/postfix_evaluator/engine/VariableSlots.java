@@ -0,0 +1,111 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Variable values of one evaluation held as primitive doubles in an equation's slot order
+ * (variable names sorted alphabetically), so they can be filled without boxing.
+ * Compiled expressions with the same schema read the slots directly and the tree interpreter
+ * reads them by name through {@link #valueOf(String)}; every other engine sees the values
+ * through this class's read-only {@link Map} view, where a variable that was never set is absent.
+ */
+public final class VariableSlots extends AbstractMap<String, Number> {
+    
+    private final String[] names;
+    private final double[] values;
+    private final boolean[] missing;
+    private int provided;
+    
+    /**
+     * Creates slots with every variable not yet provided
+     * 
+     * @param names variable names sorted alphabetically, as returned by
+     *              {@link com.pushkar.postfix_evaluator.model.Equation#getVariableSchema()}
+     */
+    public VariableSlots(String[] names) {
+        this.names = names;
+        this.values = new double[names.length];
+        this.missing = new boolean[names.length];
+        Arrays.fill(missing, true);
+    }
+    
+    /**
+     * Finds the slot of a variable
+     * 
+     * @param name variable name
+     * @return the slot index, or a negative number if the variable is not in the schema
+     */
+    public int indexOf(String name) {
+        return Arrays.binarySearch(names, name);
+    }
+    
+    /**
+     * Sets the value of a slot
+     * 
+     * @param slot slot index from {@link #indexOf(String)}
+     * @param value the variable's value
+     */
+    public void set(int slot, double value) {
+        if (missing[slot]) {
+            missing[slot] = false;
+            provided++;
+        }
+        values[slot] = value;
+    }
+    
+    /**
+     * Reads a variable's value without boxing it
+     * 
+     * @param name variable name
+     * @return the value, or NaN if the variable is not in the schema or was never set;
+     *         use {@link #containsKey(Object)} to tell that apart from a NaN value
+     */
+    public double valueOf(String name) {
+        int slot = indexOf(name);
+        return slot >= 0 && !missing[slot] ? values[slot] : Double.NaN;
+    }
+    
+    String[] slotNames() {
+        return names;
+    }
+    
+    double[] slotValues() {
+        return values;
+    }
+    
+    boolean[] missingSlots() {
+        return missing;
+    }
+    
+    @Override
+    public Number get(Object key) {
+        int slot = key instanceof String name ? indexOf(name) : -1;
+        return slot >= 0 && !missing[slot] ? values[slot] : null;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        int slot = key instanceof String name ? indexOf(name) : -1;
+        return slot >= 0 && !missing[slot];
+    }
+    
+    @Override
+    public int size() {
+        return provided;
+    }
+    
+    @Override
+    public Set<Map.Entry<String, Number>> entrySet() {
+        Map<String, Number> copy = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (!missing[i]) {
+                copy.put(names[i], values[i]);
+            }
+        }
+        return copy.entrySet();
+    }
+}
@@ -0,0 +1,193 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluates a compiled expression over many bindings at once.
+ * Each instruction is applied to a whole column of rows before moving to the next,
+ * which keeps the inner loops branch-light and friendly to the JIT's auto-vectorizer.
+ * Per-row errors match the first error the tree interpreter would raise for that row.
+ */
+public final class VectorizedEvaluator {
+    
+    private VectorizedEvaluator() {
+    }
+    
+    /**
+     * Evaluates rows [from, to) of the bindings and writes them to the same rows of the result
+     * 
+     * @param expression the compiled expression
+     * @param bindings one variable map per row
+     * @param from first row, inclusive
+     * @param to last row, exclusive
+     * @param out result receiving values and errors
+     */
+    public static void evaluate(CompiledExpression expression, List<Map<String, Number>> bindings,
+                                int from, int to, BatchResult out) {
+        evaluate(expression, bindings, from, to, out, from);
+    }
+    
+    /**
+     * Evaluates rows [from, to) of the bindings and writes them to the result starting at a given row,
+     * so a chunk can be evaluated into a result of its own size
+     * 
+     * @param expression the compiled expression
+     * @param bindings one variable map per row
+     * @param from first row, inclusive
+     * @param to last row, exclusive
+     * @param out result receiving values and errors
+     * @param outFrom row of the result receiving binding row {@code from}
+     */
+    public static void evaluate(CompiledExpression expression, List<Map<String, Number>> bindings,
+                                int from, int to, BatchResult out, int outFrom) {
+        int rows = to - from;
+        if (rows <= 0) {
+            return;
+        }
+        
+        String[] names = expression.variableNames();
+        String[] errors = out.errors();
+        double[][] columns = new double[names.length][rows];
+        boolean[][] missing = new boolean[names.length][];
+        
+        // Gather variable values into columns
+        for (int r = 0; r < rows; r++) {
+            Map<String, Number> binding = bindings.get(from + r);
+            if (binding == null) {
+                errors[outFrom + r] = "Variables map cannot be null";
+                continue;
+            }
+            for (int slot = 0; slot < names.length; slot++) {
+                Number num = binding.get(names[slot]);
+                if (num != null) {
+                    columns[slot][r] = num.doubleValue();
+                } else if (!binding.containsKey(names[slot])) {
+                    if (missing[slot] == null) {
+                        missing[slot] = new boolean[rows];
+                    }
+                    missing[slot][r] = true;
+                }
+            }
+        }
+        
+        evaluateColumns(expression, columns, missing, rows, out, outFrom);
+    }
+    
+    /**
+     * Evaluates rows whose variable values are already laid out in columns.
+     * Column {@code i} holds the values of the expression's variable slot {@code i}.
+     * 
+     * @param expression the compiled expression
+     * @param columns one column of at least {@code out.size()} values per variable slot
+     * @param out result receiving values and errors, one row per result row
+     * @throws InvalidEquationException if there is not one column per variable slot
+     */
+    public static void evaluate(CompiledExpression expression, double[][] columns, BatchResult out) {
+        if (columns.length != expression.variableNames().length) {
+            throw new InvalidEquationException(
+                "Expected " + expression.variableNames().length + " variable columns in schema order"
+            );
+        }
+        int rows = out.size();
+        if (rows <= 0) {
+            return;
+        }
+        evaluateColumns(expression, columns, new boolean[columns.length][], rows, out, 0);
+    }
+    
+    /**
+     * Runs the instructions over gathered columns and writes rows [from, from + rows) of the result
+     */
+    private static void evaluateColumns(CompiledExpression expression, double[][] columns, boolean[][] missing,
+                                        int rows, BatchResult out, int from) {
+        String[] names = expression.variableNames();
+        String[] errors = out.errors();
+        byte[] opcodes = expression.opcodes();
+        int[] operands = expression.operands();
+        double[] constants = expression.constants();
+        double[][] stack = new double[expression.maxStackDepth()][rows];
+        int top = -1;
+        
+        for (int pc = 0; pc < opcodes.length; pc++) {
+            byte opcode = opcodes[pc];
+            if (opcode == CompiledExpression.PUSH_CONST) {
+                Arrays.fill(stack[++top], constants[operands[pc]]);
+            } else if (opcode == CompiledExpression.LOAD_VAR) {
+                int slot = operands[pc];
+                System.arraycopy(columns[slot], 0, stack[++top], 0, rows);
+                if (missing[slot] != null) {
+                    markMissing(missing[slot], names[slot], errors, from);
+                }
+            } else {
+                double[] left = stack[top - 1];
+                double[] right = stack[top];
+                applyColumn(opcode, left, right, errors, from);
+                top--;
+            }
+        }
+        
+        double[] values = out.values();
+        double[] result = stack[0];
+        for (int r = 0; r < rows; r++) {
+            values[from + r] = errors[from + r] == null ? result[r] : Double.NaN;
+        }
+    }
+    
+    /**
+     * Records a missing-variable error on rows that have not failed yet
+     */
+    private static void markMissing(boolean[] missing, String name, String[] errors, int from) {
+        for (int r = 0; r < missing.length; r++) {
+            if (missing[r] && errors[from + r] == null) {
+                errors[from + r] = "Variable '" + name + "' not provided in variables map";
+            }
+        }
+    }
+    
+    /**
+     * Applies a binary operator element-wise, storing the result in the left column
+     */
+    private static void applyColumn(byte opcode, double[] left, double[] right, String[] errors, int from) {
+        int rows = left.length;
+        switch (opcode) {
+            case CompiledExpression.ADD:
+                for (int r = 0; r < rows; r++) {
+                    left[r] += right[r];
+                }
+                break;
+            case CompiledExpression.SUB:
+                for (int r = 0; r < rows; r++) {
+                    left[r] -= right[r];
+                }
+                break;
+            case CompiledExpression.MUL:
+                for (int r = 0; r < rows; r++) {
+                    left[r] *= right[r];
+                }
+                break;
+            case CompiledExpression.DIV:
+                for (int r = 0; r < rows; r++) {
+                    if (right[r] == 0) {
+                        if (errors[from + r] == null) {
+                            errors[from + r] = "Division by zero";
+                        }
+                        left[r] = Double.NaN;
+                    } else {
+                        left[r] /= right[r];
+                    }
+                }
+                break;
+            case CompiledExpression.POW:
+                for (int r = 0; r < rows; r++) {
+                    left[r] = Math.pow(left[r], right[r]);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown opcode: " + opcode);
+        }
+    }
+}
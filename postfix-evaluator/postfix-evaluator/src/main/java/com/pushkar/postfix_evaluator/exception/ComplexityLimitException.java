@@ -0,0 +1,10 @@
+package com.pushkar.postfix_evaluator.exception;
+
+/**
+ * Exception thrown when an equation exceeds a configured complexity limit while it is parsed
+ */
+public class ComplexityLimitException extends InvalidEquationException {
+    public ComplexityLimitException(String message) {
+        super(message);
+    }
+}
@@ -1,10 +1,39 @@
 package com.pushkar.postfix_evaluator.exception;
 
 /**
- * Exception thrown when a requested equation is not found
+ * Exception thrown when a requested equation is not found.
+ * Only its message is reported, so no stack trace is captured.
  */
 public class EquationNotFoundException extends RuntimeException {
+    
+    private final String equationId;
+    
     public EquationNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.equationId = null;
+    }
+    
+    private EquationNotFoundException(String message, String equationId) {
+        super(message, null, false, false);
+        this.equationId = equationId;
+    }
+    
+    /**
+     * Creates the exception for an unknown equation ID.
+     * The message is only built if it is read.
+     * 
+     * @param equationId the ID that was not found
+     * @return the not found exception
+     */
+    public static EquationNotFoundException forId(String equationId) {
+        return new EquationNotFoundException(null, equationId);
+    }
+    
+    @Override
+    public String getMessage() {
+        if (equationId != null) {
+            return "Equation with ID '" + equationId + "' not found";
+        }
+        return super.getMessage();
     }
 }
@@ -1,14 +1,66 @@
 package com.pushkar.postfix_evaluator.exception;
 
 /**
- * Exception thrown during equation evaluation
+ * Exception thrown during equation evaluation.
+ * Thrown at high volume by bad client input and only its message is reported,
+ * so no stack trace is captured.
  */
 public class EvaluationException extends RuntimeException {
+    
+    private static final EvaluationException DIVISION_BY_ZERO = new EvaluationException("Division by zero");
+    
+    private final String missingVariable;
+    
     public EvaluationException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.missingVariable = null;
     }
     
     public EvaluationException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
+        this.missingVariable = null;
+    }
+    
+    private EvaluationException(String message, String missingVariable) {
+        super(message, null, false, false);
+        this.missingVariable = missingVariable;
+    }
+    
+    /**
+     * Gets the shared exception for a division by zero.
+     * The instance is immutable, so it is safe to throw from any thread.
+     * 
+     * @return the division by zero exception
+     */
+    public static EvaluationException divisionByZero() {
+        return DIVISION_BY_ZERO;
+    }
+    
+    /**
+     * Creates the exception for a variable missing from the variables map.
+     * The message is only built if it is read.
+     * 
+     * @param name the name of the missing variable
+     * @return the missing variable exception
+     */
+    public static EvaluationException missingVariable(String name) {
+        return new EvaluationException(null, name);
+    }
+    
+    /**
+     * Checks if this exception reports a variable missing from the variables map
+     * 
+     * @return true if created by {@link #missingVariable(String)}
+     */
+    public boolean isMissingVariable() {
+        return missingVariable != null;
+    }
+    
+    @Override
+    public String getMessage() {
+        if (missingVariable != null) {
+            return "Variable '" + missingVariable + "' not provided in variables map";
+        }
+        return super.getMessage();
     }
 }
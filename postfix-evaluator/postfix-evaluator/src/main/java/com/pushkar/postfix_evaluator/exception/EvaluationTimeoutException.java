@@ -0,0 +1,10 @@
+package com.pushkar.postfix_evaluator.exception;
+
+/**
+ * Exception thrown when an evaluation runs past its deadline
+ */
+public class EvaluationTimeoutException extends EvaluationException {
+    public EvaluationTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,8 @@
 package com.pushkar.postfix_evaluator.exception;
 
+import com.pushkar.postfix_evaluator.metrics.EvaluatorMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -13,10 +16,14 @@ import com.pushkar.postfix_evaluator.dto.ErrorResponseDTO;
 @ControllerAdvice
 public class GlobalExceptionHandler {
     
+    @Autowired
+    private EvaluatorMetrics evaluatorMetrics;
+    
     @ExceptionHandler(InvalidEquationException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ErrorResponseDTO> handleInvalidEquationException(
             InvalidEquationException ex) {
+        evaluatorMetrics.recordException(ex);
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
             "Invalid Equation",
             ex.getMessage(),
@@ -25,10 +32,24 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(ComplexityLimitException.class)
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_CONTENT)
+    public ResponseEntity<ErrorResponseDTO> handleComplexityLimitException(
+            ComplexityLimitException ex) {
+        evaluatorMetrics.recordException(ex);
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            "Complexity Limit Exceeded",
+            ex.getMessage(),
+            System.currentTimeMillis()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.UNPROCESSABLE_CONTENT);
+    }
+    
     @ExceptionHandler(EquationNotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ResponseEntity<ErrorResponseDTO> handleEquationNotFoundException(
             EquationNotFoundException ex) {
+        evaluatorMetrics.recordException(ex);
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
             "Not Found",
             ex.getMessage(),
@@ -41,6 +62,7 @@ public class GlobalExceptionHandler {
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ResponseEntity<ErrorResponseDTO> handleEvaluationException(
             EvaluationException ex) {
+        evaluatorMetrics.recordException(ex);
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
             "Evaluation Error",
             ex.getMessage(),
@@ -49,9 +71,38 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
     }
     
+    @ExceptionHandler(EvaluationTimeoutException.class)
+    @ResponseStatus(HttpStatus.GATEWAY_TIMEOUT)
+    public ResponseEntity<ErrorResponseDTO> handleEvaluationTimeoutException(
+            EvaluationTimeoutException ex) {
+        evaluatorMetrics.recordException(ex);
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            "Evaluation Timeout",
+            ex.getMessage(),
+            System.currentTimeMillis()
+        );
+        return new ResponseEntity<>(errorResponse, HttpStatus.GATEWAY_TIMEOUT);
+    }
+    
+    @ExceptionHandler(OverloadedException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ResponseEntity<ErrorResponseDTO> handleOverloadedException(
+            OverloadedException ex) {
+        evaluatorMetrics.recordException(ex);
+        ErrorResponseDTO errorResponse = new ErrorResponseDTO(
+            "Service Unavailable",
+            ex.getMessage(),
+            System.currentTimeMillis()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+    
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ErrorResponseDTO> handleGeneralException(Exception ex) {
+        evaluatorMetrics.recordException(ex);
         ErrorResponseDTO errorResponse = new ErrorResponseDTO(
             "Internal Server Error",
             ex.getMessage(),
@@ -1,14 +1,15 @@
 package com.pushkar.postfix_evaluator.exception;
 
 /**
- * Exception thrown when an equation is invalid or malformed
+ * Exception thrown when an equation is invalid or malformed.
+ * Only its message is reported, so no stack trace is captured.
  */
 public class InvalidEquationException extends RuntimeException {
     public InvalidEquationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
     
     public InvalidEquationException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, false, false);
     }
 }
@@ -0,0 +1,23 @@
+package com.pushkar.postfix_evaluator.exception;
+
+/**
+ * Exception thrown when a request is shed because the server is at its admission limit.
+ * Shedding must stay cheap under overload, so no stack trace is captured.
+ */
+public class OverloadedException extends RuntimeException {
+    private final int retryAfterSeconds;
+    
+    public OverloadedException(String message, int retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+    
+    /**
+     * Gets how long the client should wait before retrying
+     * 
+     * @return delay in seconds
+     */
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,65 @@
+package com.pushkar.postfix_evaluator.jfr;
+
+import com.pushkar.postfix_evaluator.engine.ExecutionStrategy;
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.Locale;
+
+/**
+ * JFR event for evaluating one stored equation with one set of variable values
+ */
+@Name("com.pushkar.postfix_evaluator.Evaluate")
+@Label("Evaluate Equation")
+@Category("Postfix Evaluator")
+@Description("Evaluation of a stored equation on the engine chosen by the planner")
+@StackTrace(false)
+@Threshold("1 ms")
+public class EvaluateEvent extends Event {
+    
+    @Label("Equation ID")
+    private String equationId;
+    
+    @Label("Node Count")
+    private int nodeCount;
+    
+    @Label("Variable Count")
+    private int variableCount;
+    
+    @Label("Strategy")
+    private String strategy;
+    
+    @Label("Outcome")
+    private String outcome;
+    
+    /**
+     * Ends the event and, if it passes the recording's threshold, fills in and commits its fields
+     * 
+     * @param equation the evaluated equation
+     * @param executionStrategy the engine that ran the evaluation
+     * @param result how the evaluation ended
+     */
+    public void complete(Equation equation, ExecutionStrategy executionStrategy, PipelineOutcome result) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.equationId = equation.getId();
+        TreeStatistics statistics = equation.getStatistics();
+        if (statistics != null) {
+            this.nodeCount = statistics.getNodeCount();
+            this.variableCount = statistics.getVariableCount();
+        }
+        this.strategy = executionStrategy.name();
+        this.outcome = result.name().toLowerCase(Locale.ROOT);
+        commit();
+    }
+}
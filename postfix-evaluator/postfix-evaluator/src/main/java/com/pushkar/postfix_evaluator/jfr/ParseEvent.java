@@ -0,0 +1,80 @@
+package com.pushkar.postfix_evaluator.jfr;
+
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
+import com.pushkar.postfix_evaluator.parser.PipelineStage;
+import com.pushkar.postfix_evaluator.parser.Tokenizer;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * JFR event for one {@link com.pushkar.postfix_evaluator.parser.EquationParser#parse} call
+ */
+@Name("com.pushkar.postfix_evaluator.Parse")
+@Label("Parse Equation")
+@Category("Postfix Evaluator")
+@Description("Tokenizing, validating, converting and building the tree of one equation")
+@StackTrace(false)
+@Threshold("1 ms")
+public class ParseEvent extends Event {
+    
+    @Label("Equation ID")
+    private String equationId;
+    
+    @Label("Length")
+    @Description("Characters in the infix equation")
+    private int length;
+    
+    @Label("Node Count")
+    private int nodeCount;
+    
+    @Label("Variable Count")
+    private int variableCount;
+    
+    @Label("Outcome")
+    private String outcome;
+    
+    @Label("Failed Stage")
+    private String failedStage;
+    
+    /**
+     * Ends the event and, if it passes the recording's threshold, fills in and commits its fields.
+     * Node and variable counts are derived from the postfix tokens, which map one-to-one to tree nodes.
+     * 
+     * @param equationId the ID of the equation being built, or null when not yet stored
+     * @param equation the infix equation
+     * @param postfixTokens the converted tokens, or null if parsing failed earlier
+     * @param failedStage the stage that failed, or null on success
+     */
+    public void complete(String equationId, String equation, List<String> postfixTokens, PipelineStage failedStage) {
+        end();
+        if (!shouldCommit()) {
+            return;
+        }
+        this.equationId = equationId;
+        this.length = equation.length();
+        if (postfixTokens != null) {
+            Set<String> variables = new HashSet<>();
+            for (String token : postfixTokens) {
+                if (Tokenizer.isVariable(token)) {
+                    variables.add(token);
+                }
+            }
+            this.nodeCount = postfixTokens.size();
+            this.variableCount = variables.size();
+        }
+        PipelineOutcome result = failedStage == null ? PipelineOutcome.SUCCESS : PipelineOutcome.INVALID;
+        this.outcome = result.name().toLowerCase(Locale.ROOT);
+        this.failedStage = failedStage != null ? failedStage.name().toLowerCase(Locale.ROOT) : null;
+        commit();
+    }
+}
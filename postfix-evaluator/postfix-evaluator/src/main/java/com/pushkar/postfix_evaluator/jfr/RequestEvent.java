@@ -0,0 +1,83 @@
+package com.pushkar.postfix_evaluator.jfr;
+
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.Locale;
+
+/**
+ * JFR event for a store or evaluate request handled by the REST controller
+ */
+@Name("com.pushkar.postfix_evaluator.Request")
+@Label("Equation Request")
+@Category("Postfix Evaluator")
+@Description("Store or evaluate request, from handler entry to response creation")
+@StackTrace(false)
+@Threshold("10 ms")
+public class RequestEvent extends Event {
+    
+    @Label("Operation")
+    private String operation;
+    
+    @Label("Equation ID")
+    private String equationId;
+    
+    @Label("Node Count")
+    private int nodeCount;
+    
+    @Label("Variable Count")
+    private int variableCount;
+    
+    @Label("Outcome")
+    private String outcome;
+    
+    /**
+     * Creates and begins an event for a request
+     * 
+     * @param operation the handled operation, e.g. {@code store} or {@code evaluate}
+     * @return the started event
+     */
+    public static RequestEvent start(String operation) {
+        RequestEvent event = new RequestEvent();
+        event.operation = operation;
+        event.begin();
+        return event;
+    }
+    
+    /**
+     * Ends the event and reports whether it passes the recording's threshold,
+     * so callers can skip looking up the details of an event that will be dropped
+     * 
+     * @return true if the event should be completed and committed
+     */
+    public boolean finish() {
+        end();
+        return shouldCommit();
+    }
+    
+    /**
+     * Fills in the event's fields and commits it
+     * 
+     * @param id the equation ID, or null if the request failed before one was known
+     * @param equation the equation, or null if it is unknown
+     * @param result how the request ended
+     */
+    public void complete(String id, Equation equation, PipelineOutcome result) {
+        this.equationId = id;
+        if (equation != null && equation.getStatistics() != null) {
+            TreeStatistics statistics = equation.getStatistics();
+            this.nodeCount = statistics.getNodeCount();
+            this.variableCount = statistics.getVariableCount();
+        }
+        this.outcome = result.name().toLowerCase(Locale.ROOT);
+        commit();
+    }
+}
@@ -0,0 +1,131 @@
+package com.pushkar.postfix_evaluator.metrics;
+
+import com.pushkar.postfix_evaluator.exception.ComplexityLimitException;
+import com.pushkar.postfix_evaluator.exception.EquationNotFoundException;
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.exception.EvaluationTimeoutException;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.parser.PipelineObserver;
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
+import com.pushkar.postfix_evaluator.parser.PipelineStage;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer metrics for the parse and evaluate pipeline.
+ * Every stage/outcome timer is registered up front and looked up by enum ordinal,
+ * so recording on the hot path allocates no tags.
+ */
+@Component
+public class EvaluatorMetrics implements PipelineObserver {
+    
+    private final MeterRegistry registry;
+    private final Timer[][] stageTimers;
+    private final DistributionSummary storedTreeNodes;
+    private final Counter coalescedEvaluations;
+    private final Map<Class<?>, Counter> exceptionCounters = new ConcurrentHashMap<>();
+    
+    public EvaluatorMetrics(MeterRegistry registry, EquationRepository equationRepository,
+                            @Value("${evaluator.limits.max-nodes:250000}") int maxNodes) {
+        this.registry = registry;
+        
+        PipelineStage[] stages = PipelineStage.values();
+        PipelineOutcome[] outcomes = PipelineOutcome.values();
+        this.stageTimers = new Timer[stages.length][outcomes.length];
+        for (PipelineStage stage : stages) {
+            for (PipelineOutcome outcome : outcomes) {
+                stageTimers[stage.ordinal()][outcome.ordinal()] = Timer.builder("evaluator.stage.duration")
+                        .description("Duration of a parse or evaluate stage")
+                        .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                        .tag("outcome", outcome.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+        }
+        
+        this.storedTreeNodes = DistributionSummary.builder("evaluator.equation.nodes")
+                .description("Node count of stored expression trees")
+                .baseUnit("nodes")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue((double) maxNodes)
+                .register(registry);
+        
+        this.coalescedEvaluations = Counter.builder("evaluator.evaluations.coalesced")
+                .description("Evaluations that shared an identical evaluation already in flight")
+                .register(registry);
+        
+        Gauge.builder("evaluator.equations.stored", equationRepository, EquationRepository::count)
+                .description("Number of stored equations")
+                .register(registry);
+        
+        for (Class<?> type : new Class<?>[] {InvalidEquationException.class,
+                EvaluationException.class, EquationNotFoundException.class,
+                ComplexityLimitException.class, EvaluationTimeoutException.class}) {
+            exceptionCounter(type);
+        }
+    }
+    
+    @PostConstruct
+    void observeParser() {
+        EquationParser.setObserver(this);
+    }
+    
+    @PreDestroy
+    void stopObservingParser() {
+        if (EquationParser.getObserver() == this) {
+            EquationParser.setObserver(PipelineObserver.NONE);
+        }
+    }
+    
+    @Override
+    public void stageCompleted(PipelineStage stage, PipelineOutcome outcome, long nanos) {
+        stageTimers[stage.ordinal()][outcome.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Records the shape of a newly built expression tree
+     * 
+     * @param statistics statistics of the stored tree
+     */
+    public void recordStoredTree(TreeStatistics statistics) {
+        storedTreeNodes.record(statistics.getNodeCount());
+    }
+    
+    /**
+     * Counts an evaluation answered by an identical evaluation already in flight
+     */
+    public void recordCoalesced() {
+        coalescedEvaluations.increment();
+    }
+    
+    /**
+     * Counts an exception that reached the REST error handler
+     * 
+     * @param exception the handled exception
+     */
+    public void recordException(Throwable exception) {
+        exceptionCounter(exception.getClass()).increment();
+    }
+    
+    private Counter exceptionCounter(Class<?> type) {
+        return exceptionCounters.computeIfAbsent(type, key -> Counter.builder("evaluator.exceptions")
+                .description("Exceptions handled by the REST API")
+                .tag("exception", key.getSimpleName())
+                .register(registry));
+    }
+}
@@ -0,0 +1,21 @@
+package com.pushkar.postfix_evaluator.model;
+
+/**
+ * Lifecycle state of an equation's expression tree
+ */
+public enum BuildStatus {
+    /**
+     * Stored and awaiting background parsing
+     */
+    PENDING,
+    
+    /**
+     * Parsed and ready for evaluation
+     */
+    READY,
+    
+    /**
+     * Background parsing failed; the equation cannot be evaluated
+     */
+    FAILED
+}
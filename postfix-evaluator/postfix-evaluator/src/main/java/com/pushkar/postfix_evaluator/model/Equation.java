@@ -1,8 +1,19 @@
 package com.pushkar.postfix_evaluator.model;
 
+import com.pushkar.postfix_evaluator.engine.CompiledExpression;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Model class representing a stored equation with its tree structure
@@ -15,5 +26,79 @@ public class Equation {
     
     private String equationInfix;
     
-    private TreeNode rootNode;
+    private volatile TreeNode rootNode;
+    
+    private volatile Set<String> variables;
+    
+    /**
+     * Variable names sorted alphabetically, derived from the variables on first use
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile String[] variableSchema;
+    
+    private volatile TreeStatistics statistics;
+    
+    private volatile BuildStatus buildStatus = BuildStatus.READY;
+    
+    private volatile String buildError;
+    
+    /**
+     * Completes once a background build has finished, successfully or not
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private CompletableFuture<Void> build;
+    
+    /**
+     * Recent evaluation count, periodically decayed to track how hot the equation is
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AtomicLong invocationCount = new AtomicLong();
+    
+    /**
+     * Set while a background compilation of this equation is queued or running
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final AtomicBoolean promotionPending = new AtomicBoolean();
+    
+    /**
+     * Compiled form used instead of the tree interpreter once the equation is hot
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private volatile CompiledExpression compiled;
+    
+    /**
+     * Call, error and latency statistics of evaluations of this equation
+     */
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private final EquationRuntimeStats runtimeStats = new EquationRuntimeStats();
+    
+    public void setVariables(Set<String> variables) {
+        this.variables = variables;
+        this.variableSchema = null;
+    }
+    
+    /**
+     * Gets the variable names in slot order, the order used by compiled forms and
+     * {@link com.pushkar.postfix_evaluator.engine.VariableSlots}.
+     * The array is shared and must not be modified.
+     * 
+     * @return variable names sorted alphabetically, or null if the tree is not built yet
+     */
+    public String[] getVariableSchema() {
+        String[] schema = variableSchema;
+        Set<String> names = variables;
+        if (schema == null && names != null) {
+            schema = names.stream().sorted().toArray(String[]::new);
+            variableSchema = schema;
+        }
+        return schema;
+    }
 }
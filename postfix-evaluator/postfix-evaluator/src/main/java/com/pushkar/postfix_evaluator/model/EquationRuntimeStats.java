@@ -0,0 +1,83 @@
+package com.pushkar.postfix_evaluator.model;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Evaluation statistics accumulated by one stored equation.
+ * Counters are striped so concurrent evaluations do not contend; the latency
+ * sketch is allocated on the first sampled call and only fed sampled calls.
+ */
+public class EquationRuntimeStats {
+    
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicReference<LatencySketch> latency = new AtomicReference<>();
+    private final long createdAt = System.nanoTime();
+    
+    /**
+     * Records one evaluation
+     * 
+     * @param nanos the evaluation time in nanoseconds
+     * @param failed whether the evaluation threw
+     * @param sampled whether to add the time to the latency sketch
+     */
+    public void record(long nanos, boolean failed, boolean sampled) {
+        calls.increment();
+        totalNanos.add(nanos);
+        if (failed) {
+            errors.increment();
+        }
+        if (sampled) {
+            latencySketch().record(nanos);
+        }
+    }
+    
+    public long getCalls() {
+        return calls.sum();
+    }
+    
+    public long getErrors() {
+        return errors.sum();
+    }
+    
+    /**
+     * Gets the total time spent evaluating this equation
+     * 
+     * @return total evaluation time in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+    
+    /**
+     * Estimates a latency quantile from the sampled calls
+     * 
+     * @param quantile the quantile between 0 and 1
+     * @return the latency in nanoseconds, or 0 if no call was sampled
+     */
+    public long getLatencyQuantile(double quantile) {
+        LatencySketch sketch = latency.get();
+        return sketch != null ? sketch.quantile(quantile) : 0;
+    }
+    
+    /**
+     * Gets the average call rate since the equation was stored
+     * 
+     * @return calls per second
+     */
+    public double getCallsPerSecond() {
+        double seconds = (System.nanoTime() - createdAt) / 1e9;
+        return seconds > 0 ? getCalls() / seconds : 0;
+    }
+    
+    private LatencySketch latencySketch() {
+        LatencySketch sketch = latency.get();
+        if (sketch == null) {
+            latency.compareAndSet(null, new LatencySketch());
+            sketch = latency.get();
+        }
+        return sketch;
+    }
+}
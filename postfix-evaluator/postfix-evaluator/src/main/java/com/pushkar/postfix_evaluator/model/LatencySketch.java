@@ -0,0 +1,89 @@
+package com.pushkar.postfix_evaluator.model;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size log-linear latency histogram.
+ * Each power of two between 64 ns and about 18 minutes is split into four buckets,
+ * so quantiles are accurate to within 25% while the sketch stays under 1.2 KB.
+ * Recording is a single atomic increment; reads are not atomic across buckets.
+ */
+public class LatencySketch {
+    
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MIN_EXPONENT = 6;
+    private static final int MAX_EXPONENT = 40;
+    
+    private final AtomicLongArray counts =
+            new AtomicLongArray((MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS);
+    
+    /**
+     * Records one latency
+     * 
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(indexOf(nanos));
+    }
+    
+    /**
+     * Gets the number of recorded latencies
+     * 
+     * @return the sample count
+     */
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+    
+    /**
+     * Estimates a latency quantile
+     * 
+     * @param quantile the quantile between 0 and 1, e.g. 0.99
+     * @return the upper bound of the bucket holding the quantile in nanoseconds, or 0 if empty
+     */
+    public long quantile(double quantile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length() - 1);
+    }
+    
+    /**
+     * Maps a latency to its bucket; values below 64 ns share the first bucket
+     * and values beyond the range share the last
+     */
+    static int indexOf(long nanos) {
+        if (nanos < (1L << MIN_EXPONENT)) {
+            return 0;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return (MAX_EXPONENT - MIN_EXPONENT + 1) * SUB_BUCKETS - 1;
+        }
+        int subBucket = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+    }
+    
+    /**
+     * Gets the largest latency that maps to a bucket
+     */
+    static long upperBound(int index) {
+        int exponent = index / SUB_BUCKETS + MIN_EXPONENT;
+        long width = 1L << (exponent - SUB_BUCKET_BITS);
+        return (1L << exponent) + (index % SUB_BUCKETS + 1) * width - 1;
+    }
+}
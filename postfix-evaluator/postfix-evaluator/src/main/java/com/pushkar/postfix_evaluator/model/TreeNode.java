@@ -1,8 +1,13 @@
 package com.pushkar.postfix_evaluator.model;
 
-import lombok.AllArgsConstructor;
+import com.pushkar.postfix_evaluator.parser.Tokenizer;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
 
 /**
  * Represents a node in the expression tree
@@ -10,7 +15,6 @@ import lombok.NoArgsConstructor;
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class TreeNode {
     private String value;
     
@@ -18,6 +22,27 @@ public class TreeNode {
     
     private TreeNode right;
     
+    /**
+     * Parsed numeric value, Boolean.FALSE for any other value, or null until first needed.
+     * Held as an immutable object so threads racing to resolve it can never see a torn value.
+     */
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient Object constant;
+    
+    public TreeNode(String value, TreeNode left, TreeNode right) {
+        this.value = value;
+        this.left = left;
+        this.right = right;
+    }
+    
+    public void setValue(String value) {
+        this.value = value;
+        this.constant = null;
+    }
+    
     /**
      * Checks if this node is a leaf node (operand)
      */
@@ -29,7 +54,41 @@ public class TreeNode {
      * Checks if the value is an operator
      */
     public boolean isOperator() {
-        return value != null && (value.equals("+") || value.equals("-") || 
+        return value != null && (value.equals("+") || value.equals("-") ||
                 value.equals("*") || value.equals("/") || value.equals("^"));
     }
+    
+    /**
+     * Checks if the value is a number (a constant operand).
+     * The value is parsed once and cached, so repeated evaluation does not parse it again.
+     */
+    public boolean isConstant() {
+        return resolveConstant() instanceof Double;
+    }
+    
+    /**
+     * Gets the parsed value of a constant operand
+     * 
+     * @throws IllegalStateException if the value is not a number
+     */
+    public double getConstantValue() {
+        if (resolveConstant() instanceof Double number) {
+            return number;
+        }
+        throw new IllegalStateException("Node '" + value + "' is not a numeric constant");
+    }
+    
+    /**
+     * Parses the value on first use
+     */
+    private Object resolveConstant() {
+        Object resolved = constant;
+        if (resolved == null) {
+            resolved = value != null && Tokenizer.isNumber(value)
+                    ? (Object) Double.valueOf(value)
+                    : Boolean.FALSE;
+            constant = resolved;
+        }
+        return resolved;
+    }
 }
@@ -0,0 +1,23 @@
+package com.pushkar.postfix_evaluator.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Shape statistics of an expression tree, collected once at store time
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TreeStatistics {
+    private int nodeCount;
+    
+    private int depth;
+    
+    private int variableCount;
+    
+    private int powerCount;
+    
+    private int divisionCount;
+}
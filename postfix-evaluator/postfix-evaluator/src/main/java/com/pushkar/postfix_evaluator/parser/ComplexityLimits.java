@@ -0,0 +1,89 @@
+package com.pushkar.postfix_evaluator.parser;
+
+import com.pushkar.postfix_evaluator.exception.ComplexityLimitException;
+
+/**
+ * Upper bounds on the size of an equation accepted by the parser.
+ * Each bound is checked as soon as the stage producing it crosses it,
+ * so an oversized equation is rejected before the rest of it is processed.
+ */
+public final class ComplexityLimits {
+    
+    /**
+     * Limits that accept any equation
+     */
+    public static final ComplexityLimits UNLIMITED = new ComplexityLimits(
+        Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE);
+    
+    private final int maxLength;
+    private final int maxTokens;
+    private final int maxNodes;
+    private final int maxDepth;
+    
+    /**
+     * Creates complexity limits
+     * 
+     * @param maxLength maximum number of characters in the equation, including whitespace
+     * @param maxTokens maximum number of tokens, including parentheses
+     * @param maxNodes maximum number of nodes in the expression tree
+     * @param maxDepth maximum depth of the expression tree, counting the root as depth 1
+     * @throws IllegalArgumentException if a limit is not positive
+     */
+    public ComplexityLimits(int maxLength, int maxTokens, int maxNodes, int maxDepth) {
+        if (maxLength <= 0 || maxTokens <= 0 || maxNodes <= 0 || maxDepth <= 0) {
+            throw new IllegalArgumentException("Complexity limits must be positive");
+        }
+        this.maxLength = maxLength;
+        this.maxTokens = maxTokens;
+        this.maxNodes = maxNodes;
+        this.maxDepth = maxDepth;
+    }
+    
+    public int getMaxLength() {
+        return maxLength;
+    }
+    
+    public int getMaxTokens() {
+        return maxTokens;
+    }
+    
+    public int getMaxNodes() {
+        return maxNodes;
+    }
+    
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+    
+    void checkLength(int length) {
+        if (length > maxLength) {
+            throw new ComplexityLimitException(
+                "Equation length " + length + " exceeds the limit of " + maxLength + " characters"
+            );
+        }
+    }
+    
+    void checkTokens(int tokens) {
+        if (tokens > maxTokens) {
+            throw new ComplexityLimitException(
+                "Equation exceeds the limit of " + maxTokens + " tokens"
+            );
+        }
+    }
+    
+    void checkNodes(int nodes) {
+        if (nodes > maxNodes) {
+            throw new ComplexityLimitException(
+                "Expression tree exceeds the limit of " + maxNodes + " nodes"
+            );
+        }
+    }
+    
+    void checkDepth(int depth) {
+        if (depth > maxDepth) {
+            throw new ComplexityLimitException(
+                "Expression tree exceeds the depth limit of " + maxDepth
+            );
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.pushkar.postfix_evaluator.parser;
 
 import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.jfr.ParseEvent;
 import com.pushkar.postfix_evaluator.model.TreeNode;
 import java.util.List;
 
@@ -9,6 +10,10 @@ import java.util.List;
  */
 public class EquationParser {
     
+    private static volatile PipelineObserver observer = PipelineObserver.NONE;
+    
+    private static volatile ComplexityLimits limits = ComplexityLimits.UNLIMITED;
+    
     /**
      * Parses an infix equation and builds an expression tree
      * 
@@ -17,31 +22,110 @@ public class EquationParser {
      * @throws InvalidEquationException if the equation is invalid
      */
     public static TreeNode parse(String equation) {
+        return parse(equation, null);
+    }
+    
+    /**
+     * Parses the infix equation of a stored equation and builds its expression tree.
+     * The ID only attributes the parse in flight recordings.
+     * 
+     * @param equation the equation in infix notation
+     * @param equationId the ID of the stored equation, or null if it is not stored yet
+     * @return the root node of the expression tree
+     * @throws InvalidEquationException if the equation is invalid
+     * @throws com.pushkar.postfix_evaluator.exception.ComplexityLimitException if the equation
+     *         exceeds the complexity limits
+     */
+    public static TreeNode parse(String equation, String equationId) {
         if (equation == null || equation.trim().isEmpty()) {
             throw new InvalidEquationException("Equation cannot be null or empty");
         }
         
+        ParseEvent event = new ParseEvent();
+        event.begin();
+        PipelineObserver stageObserver = observer;
+        ComplexityLimits stageLimits = limits;
+        PipelineStage stage = PipelineStage.TOKENIZE;
+        List<String> postfixTokens = null;
+        long started = System.nanoTime();
         try {
             // Step 1: Tokenize the equation
-            List<String> infixTokens = Tokenizer.tokenize(equation);
+            List<String> infixTokens = Tokenizer.tokenize(equation, stageLimits);
+            started = completed(stageObserver, stage, started);
             
             // Validate tokens have proper structure
+            stage = PipelineStage.VALIDATE;
             validateInfixStructure(infixTokens);
+            started = completed(stageObserver, stage, started);
             
             // Step 2: Convert to postfix notation
-            List<String> postfixTokens = InfixToPostfixConverter.convert(infixTokens);
+            stage = PipelineStage.CONVERT;
+            postfixTokens = InfixToPostfixConverter.convert(infixTokens, stageLimits);
+            started = completed(stageObserver, stage, started);
             
             // Step 3: Build expression tree from postfix notation
-            TreeNode root = PostfixTreeBuilder.buildTree(postfixTokens);
+            stage = PipelineStage.BUILD;
+            TreeNode root = PostfixTreeBuilder.buildTree(postfixTokens, stageLimits);
+            completed(stageObserver, stage, started);
             
+            event.complete(equationId, equation, postfixTokens, null);
             return root;
         } catch (InvalidEquationException e) {
+            stageObserver.stageCompleted(stage, PipelineOutcome.of(e), System.nanoTime() - started);
+            event.complete(equationId, equation, postfixTokens, stage);
             throw e;
         } catch (Exception e) {
+            stageObserver.stageCompleted(stage, PipelineOutcome.INVALID, System.nanoTime() - started);
+            event.complete(equationId, equation, postfixTokens, stage);
             throw new InvalidEquationException("Error parsing equation: " + e.getMessage(), e);
         }
     }
     
+    /**
+     * Sets the observer notified of every parse stage
+     * 
+     * @param pipelineObserver the observer, or {@link PipelineObserver#NONE} to stop observing
+     */
+    public static void setObserver(PipelineObserver pipelineObserver) {
+        observer = pipelineObserver != null ? pipelineObserver : PipelineObserver.NONE;
+    }
+    
+    /**
+     * Gets the observer notified of every parse stage
+     * 
+     * @return the current observer
+     */
+    public static PipelineObserver getObserver() {
+        return observer;
+    }
+    
+    /**
+     * Sets the complexity limits enforced while parsing
+     * 
+     * @param complexityLimits the limits, or {@link ComplexityLimits#UNLIMITED} to accept any equation
+     */
+    public static void setLimits(ComplexityLimits complexityLimits) {
+        limits = complexityLimits != null ? complexityLimits : ComplexityLimits.UNLIMITED;
+    }
+    
+    /**
+     * Gets the complexity limits enforced while parsing
+     * 
+     * @return the current limits
+     */
+    public static ComplexityLimits getLimits() {
+        return limits;
+    }
+    
+    /**
+     * Reports a successful stage and returns the start time of the next one
+     */
+    private static long completed(PipelineObserver stageObserver, PipelineStage stage, long started) {
+        long now = System.nanoTime();
+        stageObserver.stageCompleted(stage, PipelineOutcome.SUCCESS, now - started);
+        return now;
+    }
+    
     /**
      * Validates the structure of infix tokens
      */
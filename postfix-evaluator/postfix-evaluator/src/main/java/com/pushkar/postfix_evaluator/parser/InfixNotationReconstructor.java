@@ -2,6 +2,10 @@ package com.pushkar.postfix_evaluator.parser;
 
 import com.pushkar.postfix_evaluator.model.TreeNode;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
 /**
  * Reconstructs infix notation from an expression tree
  */
@@ -14,56 +18,130 @@ public class InfixNotationReconstructor {
      * @return infix notation string
      */
     public static String reconstruct(TreeNode node) {
+        return reconstruct(node, null);
+    }
+    
+    /**
+     * Reconstructs infix notation from an expression tree, writing a note after each operator.
+     * The tree is walked with an explicit stack, so very deep trees cannot overflow the call stack.
+     * 
+     * @param node root node of the expression tree
+     * @param annotator produces the note written after an operator node's symbol,
+     *                  or null for plain infix notation
+     * @return annotated infix notation string
+     */
+    public static String reconstruct(TreeNode node, Function<TreeNode, String> annotator) {
+        return reconstruct(node, annotator, Integer.MAX_VALUE);
+    }
+    
+    /**
+     * Reconstructs the start of the infix notation of an expression tree, stopping after
+     * maxLength characters, so the cost is bounded however large the tree is
+     * 
+     * @param node root node of the expression tree
+     * @param maxLength maximum number of characters to write
+     * @return infix notation string, cut off after maxLength characters
+     */
+    public static String reconstruct(TreeNode node, int maxLength) {
+        return reconstruct(node, null, maxLength);
+    }
+    
+    private static String reconstruct(TreeNode node, Function<TreeNode, String> annotator, int maxLength) {
         if (node == null) {
             return "";
         }
         
         // Leaf node - just return the value
         if (node.isLeaf()) {
-            return node.getValue();
+            String value = node.getValue();
+            return value.length() > maxLength ? value.substring(0, maxLength) : value;
         }
         
-        // Operator node - recursively reconstruct left and right
         StringBuilder sb = new StringBuilder();
         
-        // Add left subtree
-        String left = reconstruct(node.getLeft());
-        
-        // Add right subtree
-        String right = reconstruct(node.getRight());
+        // Pending items are subtrees still to write or text to write between them,
+        // pushed in reverse so they come off the stack left to right
+        Deque<Object> pending = new ArrayDeque<>();
+        pending.push(node);
         
-        // Determine if we need parentheses
-        // Left side needs parentheses if it's a lower precedence operator
-        if (node.getLeft() != null && node.getLeft().isOperator()) {
-            int parentPrec = getPrecedence(node.getValue());
-            int leftPrec = getPrecedence(node.getLeft().getValue());
-            if (leftPrec < parentPrec) {
-                left = "(" + left + ")";
+        while (!pending.isEmpty() && sb.length() < maxLength) {
+            Object item = pending.pop();
+            if (item instanceof String text) {
+                sb.append(text);
+                continue;
             }
-        }
-        
-        // Right side needs parentheses if:
-        // 1. It's a lower precedence operator
-        // 2. It's a minus/division and parent is minus/division (left associative)
-        if (node.getRight() != null && node.getRight().isOperator()) {
-            int parentPrec = getPrecedence(node.getValue());
-            int rightPrec = getPrecedence(node.getRight().getValue());
             
-            if (rightPrec < parentPrec) {
-                right = "(" + right + ")";
-            } 
-            // For left-associative operators, right side needs parens if same/lower precedence
-            else if (rightPrec == parentPrec && 
-                     (node.getValue().equals("-") || node.getValue().equals("/"))) {
-                right = "(" + right + ")";
+            TreeNode current = (TreeNode) item;
+            if (current.isLeaf()) {
+                sb.append(current.getValue());
+                continue;
             }
+            
+            String operator = current.getValue();
+            if (annotator != null) {
+                operator += annotator.apply(current);
+            }
+            
+            // Right subtree first, so it is written last
+            pushOperand(pending, current.getRight(), needsParenthesesRight(current));
+            pending.push(operator);
+            pushOperand(pending, current.getLeft(), needsParenthesesLeft(current));
         }
         
-        sb.append(left).append(node.getValue()).append(right);
-        
+        if (sb.length() > maxLength) {
+            sb.setLength(maxLength);
+        }
         return sb.toString();
     }
     
+    /**
+     * Queues an operand subtree, wrapped in parentheses if required
+     */
+    private static void pushOperand(Deque<Object> pending, TreeNode operand, boolean parenthesize) {
+        if (operand == null) {
+            return;
+        }
+        if (parenthesize) {
+            pending.push(")");
+        }
+        pending.push(operand);
+        if (parenthesize) {
+            pending.push("(");
+        }
+    }
+    
+    /**
+     * Left side needs parentheses if it's a lower precedence operator
+     */
+    private static boolean needsParenthesesLeft(TreeNode node) {
+        if (node.getLeft() == null || !node.getLeft().isOperator()) {
+            return false;
+        }
+        int parentPrec = getPrecedence(node.getValue());
+        int leftPrec = getPrecedence(node.getLeft().getValue());
+        return leftPrec < parentPrec;
+    }
+    
+    /**
+     * Right side needs parentheses if:
+     * 1. It's a lower precedence operator
+     * 2. It's a minus/division and parent is minus/division (left associative)
+     */
+    private static boolean needsParenthesesRight(TreeNode node) {
+        if (node.getRight() == null || !node.getRight().isOperator()) {
+            return false;
+        }
+        int parentPrec = getPrecedence(node.getValue());
+        int rightPrec = getPrecedence(node.getRight().getValue());
+        
+        if (rightPrec < parentPrec) {
+            return true;
+        }
+        // For left-associative operators, right side needs parens if same/lower precedence
+        return rightPrec == parentPrec &&
+               (node.getValue().equals("-") || node.getValue().equals("/"));
+    }
+    
     /**
      * Gets the precedence of an operator
      */
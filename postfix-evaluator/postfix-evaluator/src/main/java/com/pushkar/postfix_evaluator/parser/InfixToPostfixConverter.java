@@ -1,8 +1,9 @@
 package com.pushkar.postfix_evaluator.parser;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Stack;
 
 /**
  * Converts infix notation to postfix (Reverse Polish Notation) using Shunting Yard algorithm
@@ -17,14 +18,29 @@ public class InfixToPostfixConverter {
      * @throws IllegalArgumentException if the expression is malformed
      */
     public static List<String> convert(List<String> infixTokens) {
+        return convert(infixTokens, ComplexityLimits.UNLIMITED);
+    }
+    
+    /**
+     * Converts infix tokens to postfix notation, stopping as soon as the output exceeds the node limit.
+     * Every postfix token becomes one tree node, including the zero inserted for a unary minus.
+     * 
+     * @param infixTokens list of infix tokens
+     * @param limits the complexity limits to enforce
+     * @return list of postfix tokens
+     * @throws IllegalArgumentException if the expression is malformed
+     * @throws com.pushkar.postfix_evaluator.exception.ComplexityLimitException if the node limit is exceeded
+     */
+    public static List<String> convert(List<String> infixTokens, ComplexityLimits limits) {
         if (infixTokens == null || infixTokens.isEmpty()) {
             throw new IllegalArgumentException("Token list cannot be null or empty");
         }
         
         List<String> postfix = new ArrayList<>();
-        Stack<String> operatorStack = new Stack<>();
+        Deque<String> operatorStack = new ArrayDeque<>();
         
         int parenDepth = 0;
+        int nodes = 0;
         boolean expectOperand = true;
         
         for (int i = 0; i < infixTokens.size(); i++) {
@@ -37,6 +53,7 @@ public class InfixToPostfixConverter {
                     );
                 }
                 postfix.add(token);
+                limits.checkNodes(++nodes);
                 expectOperand = false;
             } 
             else if (token.equals("(")) {
@@ -80,6 +97,7 @@ public class InfixToPostfixConverter {
                     if (token.equals("-") && (i == 0 || isOperatorOrOpenParen(infixTokens.get(i - 1)))) {
                         // Treat as unary minus - insert a 0
                         postfix.add("0");
+                        limits.checkNodes(++nodes);
                     } else {
                         throw new IllegalArgumentException(
                             "Unexpected operator at position " + i + ": " + token
@@ -93,6 +111,7 @@ public class InfixToPostfixConverter {
                     postfix.add(operatorStack.pop());
                 }
                 
+                limits.checkNodes(++nodes);
                 operatorStack.push(token);
                 expectOperand = true;
             } 
@@ -0,0 +1,22 @@
+package com.pushkar.postfix_evaluator.parser;
+
+/**
+ * Receives the duration and outcome of every pipeline stage.
+ * Called on the hot path, so implementations must not block or allocate per call.
+ */
+public interface PipelineObserver {
+    
+    /**
+     * Observer that ignores all stages
+     */
+    PipelineObserver NONE = (stage, outcome, nanos) -> { };
+    
+    /**
+     * Records one completed stage
+     * 
+     * @param stage the stage that ran
+     * @param outcome how the stage ended
+     * @param nanos duration of the stage in nanoseconds
+     */
+    void stageCompleted(PipelineStage stage, PipelineOutcome outcome, long nanos);
+}
@@ -0,0 +1,46 @@
+package com.pushkar.postfix_evaluator.parser;
+
+import com.pushkar.postfix_evaluator.exception.ComplexityLimitException;
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.exception.EvaluationTimeoutException;
+
+/**
+ * How a pipeline stage ended
+ */
+public enum PipelineOutcome {
+    SUCCESS,
+    INVALID,
+    DIVISION_BY_ZERO,
+    MISSING_VARIABLE,
+    LIMIT_EXCEEDED,
+    TIMEOUT;
+    
+    /**
+     * Classifies the failure of a stage
+     * 
+     * @param error the exception that ended the stage
+     * @return the failure outcome
+     */
+    public static PipelineOutcome of(Throwable error) {
+        if (error instanceof ComplexityLimitException) {
+            return LIMIT_EXCEEDED;
+        }
+        if (error instanceof EvaluationTimeoutException) {
+            return TIMEOUT;
+        }
+        if (error instanceof EvaluationException evaluation && evaluation.isMissingVariable()) {
+            // Checked first, so classifying does not build the message
+            return MISSING_VARIABLE;
+        }
+        if (error instanceof EvaluationException && error.getMessage() != null) {
+            String message = error.getMessage();
+            if (message.equals("Division by zero")) {
+                return DIVISION_BY_ZERO;
+            }
+            if (message.startsWith("Variable '") && message.endsWith("' not provided in variables map")) {
+                return MISSING_VARIABLE;
+            }
+        }
+        return INVALID;
+    }
+}
@@ -0,0 +1,12 @@
+package com.pushkar.postfix_evaluator.parser;
+
+/**
+ * Stages of the parse and evaluate pipeline reported to a {@link PipelineObserver}
+ */
+public enum PipelineStage {
+    TOKENIZE,
+    VALIDATE,
+    CONVERT,
+    BUILD,
+    EVALUATE
+}
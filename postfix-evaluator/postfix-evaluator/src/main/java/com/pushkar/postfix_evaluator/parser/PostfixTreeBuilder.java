@@ -2,8 +2,9 @@ package com.pushkar.postfix_evaluator.parser;
 
 import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
 import com.pushkar.postfix_evaluator.model.TreeNode;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.List;
-import java.util.Stack;
 
 /**
  * Builds an expression tree from postfix notation
@@ -19,11 +20,27 @@ public class PostfixTreeBuilder {
      * @throws InvalidEquationException if the postfix expression is invalid
      */
     public static TreeNode buildTree(List<String> postfixTokens) {
+        return buildTree(postfixTokens, ComplexityLimits.UNLIMITED);
+    }
+    
+    /**
+     * Builds an expression tree from postfix tokens, stopping as soon as a subtree exceeds the depth limit
+     * 
+     * @param postfixTokens list of tokens in postfix notation
+     * @param limits the complexity limits to enforce
+     * @return root node of the expression tree
+     * @throws InvalidEquationException if the postfix expression is invalid
+     * @throws com.pushkar.postfix_evaluator.exception.ComplexityLimitException if a limit is exceeded
+     */
+    public static TreeNode buildTree(List<String> postfixTokens, ComplexityLimits limits) {
         if (postfixTokens == null || postfixTokens.isEmpty()) {
             throw new InvalidEquationException("Postfix token list cannot be null or empty");
         }
+        limits.checkNodes(postfixTokens.size());
         
-        Stack<TreeNode> nodeStack = new Stack<>();
+        Deque<TreeNode> nodeStack = new ArrayDeque<>();
+        // Depth of each subtree on the node stack, indexed from the bottom of the stack
+        int[] depths = new int[postfixTokens.size()];
         
         for (String token : postfixTokens) {
             if (Tokenizer.isNumber(token) || Tokenizer.isVariable(token)) {
@@ -32,6 +49,7 @@ public class PostfixTreeBuilder {
                 node.setValue(token);
                 node.setLeft(null);
                 node.setRight(null);
+                depths[nodeStack.size()] = 1;
                 nodeStack.push(node);
             } 
             else if (Tokenizer.isOperator(token)) {
@@ -50,6 +68,9 @@ public class PostfixTreeBuilder {
                 operatorNode.setLeft(left);
                 operatorNode.setRight(right);
                 
+                int depth = Math.max(depths[nodeStack.size()], depths[nodeStack.size() + 1]) + 1;
+                limits.checkDepth(depth);
+                depths[nodeStack.size()] = depth;
                 nodeStack.push(operatorNode);
             } 
             else {
@@ -13,6 +13,8 @@ public class Tokenizer {
             "\\d+\\.?\\d*|[a-zA-Z_][a-zA-Z0-9_]*|[+\\-*^/()]"
     );
     
+    private static final Pattern VARIABLE_PATTERN = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+    
     /**
      * Tokenizes the given equation string
      * 
@@ -21,6 +23,23 @@ public class Tokenizer {
      * @throws IllegalArgumentException if the equation contains invalid characters
      */
     public static List<String> tokenize(String equation) {
+        return tokenize(equation, ComplexityLimits.UNLIMITED);
+    }
+    
+    /**
+     * Tokenizes the given equation string, stopping as soon as it exceeds the length or token limit
+     * 
+     * @param equation the equation string to tokenize
+     * @param limits the complexity limits to enforce
+     * @return list of tokens
+     * @throws IllegalArgumentException if the equation contains invalid characters
+     * @throws com.pushkar.postfix_evaluator.exception.ComplexityLimitException if a limit is exceeded
+     */
+    public static List<String> tokenize(String equation, ComplexityLimits limits) {
+        // Checked first, before whitespace stripping copies the input
+        if (equation != null) {
+            limits.checkLength(equation.length());
+        }
         if (equation == null || equation.trim().isEmpty()) {
             throw new IllegalArgumentException("Equation cannot be null or empty");
         }
@@ -40,6 +59,7 @@ public class Tokenizer {
                 );
             }
             tokens.add(matcher.group());
+            limits.checkTokens(tokens.size());
             lastEnd = matcher.end();
         }
         
@@ -59,22 +79,145 @@ public class Tokenizer {
     }
     
     /**
-     * Checks if a token is a number
+     * Performs a single-pass character check without building any tokens.
+     * Cheaper than {@link #tokenize(String)} but does not validate token structure.
+     * 
+     * @param equation the equation string to check
+     * @throws IllegalArgumentException if the equation is empty or contains invalid characters
+     */
+    public static void validateCharacters(String equation) {
+        validateCharacters(equation, ComplexityLimits.UNLIMITED);
+    }
+    
+    /**
+     * Performs a single-pass character check, after first rejecting an equation over the length limit
+     * 
+     * @param equation the equation string to check
+     * @param limits the complexity limits to enforce
+     * @throws IllegalArgumentException if the equation is empty or contains invalid characters
+     * @throws com.pushkar.postfix_evaluator.exception.ComplexityLimitException if the equation is too long
+     */
+    public static void validateCharacters(String equation, ComplexityLimits limits) {
+        if (equation != null) {
+            limits.checkLength(equation.length());
+        }
+        if (equation == null || equation.trim().isEmpty()) {
+            throw new IllegalArgumentException("Equation cannot be null or empty");
+        }
+        
+        for (int i = 0; i < equation.length(); i++) {
+            char c = equation.charAt(i);
+            if (!isAllowedCharacter(c)) {
+                throw new IllegalArgumentException(
+                    "Invalid character at position " + i + ": '" + c + "'"
+                );
+            }
+        }
+    }
+    
+    /**
+     * Checks if a character can appear anywhere in a valid equation
+     */
+    private static boolean isAllowedCharacter(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')
+                || c == '_' || c == '.' || c == '+' || c == '-' || c == '*' || c == '/'
+                || c == '^' || c == '(' || c == ')'
+                || c == ' ' || c == '\t' || c == '\n' || c == '\r' || c == '\f' || c == '\u000B';
+    }
+    
+    /**
+     * Checks if a token is a number, accepting exactly what {@link Double#parseDouble(String)} accepts.
+     * The token is scanned character by character against that grammar (surrounding whitespace,
+     * a sign, NaN, Infinity, decimals with an exponent and a type suffix, hexadecimal floats),
+     * so identifiers are rejected without ever throwing an exception.
      */
     public static boolean isNumber(String token) {
-        try {
-            Double.parseDouble(token);
+        int start = 0;
+        int end = token.length();
+        // parseDouble ignores surrounding whitespace the way String.trim does
+        while (start < end && token.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && token.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        if (start < end && (token.charAt(start) == '+' || token.charAt(start) == '-')) {
+            start++;
+        }
+        if (start == end) {
+            return false;
+        }
+        
+        if (isLiteral(token, start, end, "NaN") || isLiteral(token, start, end, "Infinity")) {
             return true;
-        } catch (NumberFormatException e) {
+        }
+        
+        boolean hex = end - start > 2 && token.charAt(start) == '0'
+                && (token.charAt(start + 1) == 'x' || token.charAt(start + 1) == 'X');
+        int i = hex ? start + 2 : start;
+        int mantissa = i;
+        i = skipDigits(token, i, end, hex);
+        int digits = i - mantissa;
+        if (i < end && token.charAt(i) == '.') {
+            int fraction = ++i;
+            i = skipDigits(token, i, end, hex);
+            digits += i - fraction;
+        }
+        if (digits == 0) {
+            return false;
+        }
+        
+        // Hexadecimal floats require a binary exponent; decimals may have a decimal one
+        boolean exponent = i < end && (hex
+                ? token.charAt(i) == 'p' || token.charAt(i) == 'P'
+                : token.charAt(i) == 'e' || token.charAt(i) == 'E');
+        if (hex && !exponent) {
             return false;
         }
+        if (exponent) {
+            i++;
+            if (i < end && (token.charAt(i) == '+' || token.charAt(i) == '-')) {
+                i++;
+            }
+            int exponentDigits = i;
+            i = skipDigits(token, i, end, false);
+            if (i == exponentDigits) {
+                return false;
+            }
+        }
+        
+        if (i < end && "fFdD".indexOf(token.charAt(i)) >= 0) {
+            i++;
+        }
+        return i == end;
+    }
+    
+    /**
+     * Checks if the token's characters between start and end are exactly the literal
+     */
+    private static boolean isLiteral(String token, int start, int end, String literal) {
+        return end - start == literal.length() && token.startsWith(literal, start);
+    }
+    
+    /**
+     * Skips decimal or hexadecimal digits, returning the index of the first other character
+     */
+    private static int skipDigits(String token, int i, int end, boolean hex) {
+        while (i < end) {
+            char c = token.charAt(i);
+            if (!(c >= '0' && c <= '9') && !(hex && ((c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F')))) {
+                break;
+            }
+            i++;
+        }
+        return i;
     }
     
     /**
      * Checks if a token is a variable (letter/identifier)
      */
     public static boolean isVariable(String token) {
-        return token != null && token.matches("[a-zA-Z_][a-zA-Z0-9_]*");
+        return token != null && VARIABLE_PATTERN.matcher(token).matches();
     }
     
     /**
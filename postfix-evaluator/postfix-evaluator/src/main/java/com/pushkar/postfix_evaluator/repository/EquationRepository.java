@@ -3,8 +3,13 @@ package com.pushkar.postfix_evaluator.repository;
 import com.pushkar.postfix_evaluator.model.Equation;
 import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -15,6 +20,7 @@ import java.util.concurrent.atomic.AtomicLong;
 public class EquationRepository {
     
     private final Map<String, Equation> equations = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> variableIndex = new ConcurrentHashMap<>();
     private final AtomicLong idCounter = new AtomicLong(0);
     
     /**
@@ -27,9 +33,30 @@ public class EquationRepository {
         String id = String.valueOf(idCounter.incrementAndGet());
         equation.setId(id);
         equations.put(id, equation);
+        indexVariables(id, equation.getVariables());
         return id;
     }
     
+    /**
+     * Saves a batch of equations, assigning them consecutive IDs in list order
+     * 
+     * @param batch the equations to save
+     * @return the generated equation IDs, in the same order as the batch
+     */
+    public List<String> saveAll(List<Equation> batch) {
+        long first = idCounter.getAndAdd(batch.size()) + 1;
+        List<String> ids = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            String id = String.valueOf(first + i);
+            Equation equation = batch.get(i);
+            equation.setId(id);
+            equations.put(id, equation);
+            indexVariables(id, equation.getVariables());
+            ids.add(id);
+        }
+        return ids;
+    }
+    
     /**
      * Retrieves an equation by ID
      * 
@@ -66,7 +93,54 @@ public class EquationRepository {
      * @return true if deleted, false if not found
      */
     public boolean deleteById(String id) {
-        return equations.remove(id) != null;
+        Equation removed = equations.remove(id);
+        if (removed == null) {
+            return false;
+        }
+        unindexVariables(id, removed.getVariables());
+        return true;
+    }
+    
+    /**
+     * Adds an already stored equation to the variable index once its variables are known.
+     * Does nothing if the equation has been deleted in the meantime.
+     * 
+     * @param equation the stored equation
+     */
+    public void updateVariableIndex(Equation equation) {
+        String id = equation.getId();
+        if (equations.get(id) != equation) {
+            return;
+        }
+        indexVariables(id, equation.getVariables());
+        // Undo if a concurrent delete raced with the indexing above
+        if (equations.get(id) != equation) {
+            unindexVariables(id, equation.getVariables());
+        }
+    }
+    
+    /**
+     * Gets the IDs of all equations that reference the given variable
+     * 
+     * @param variable the variable name
+     * @return read-only view of the dependent equation IDs
+     */
+    public Set<String> findIdsByVariable(String variable) {
+        Set<String> ids = variableIndex.get(variable);
+        return ids == null ? Collections.emptySet() : Collections.unmodifiableSet(ids);
+    }
+    
+    /**
+     * Gets all equations that reference the given variable
+     * 
+     * @param variable the variable name
+     * @return list of dependent equations
+     */
+    public List<Equation> findByVariable(String variable) {
+        return findIdsByVariable(variable).stream()
+                .map(equations::get)
+                .filter(Objects::nonNull)
+                .toList();
     }
     
     /**
@@ -74,6 +148,7 @@ public class EquationRepository {
      */
     public void clear() {
         equations.clear();
+        variableIndex.clear();
         idCounter.set(0);
     }
     
@@ -85,4 +160,35 @@ public class EquationRepository {
     public int count() {
         return equations.size();
     }
+    
+    /**
+     * Adds an equation ID to the index entry of each of its variables
+     */
+    private void indexVariables(String id, Set<String> variables) {
+        if (variables == null) {
+            return;
+        }
+        for (String variable : variables) {
+            variableIndex.compute(variable, (key, ids) -> {
+                Set<String> entry = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                entry.add(id);
+                return entry;
+            });
+        }
+    }
+    
+    /**
+     * Removes an equation ID from the index, dropping entries that become empty
+     */
+    private void unindexVariables(String id, Set<String> variables) {
+        if (variables == null) {
+            return;
+        }
+        for (String variable : variables) {
+            variableIndex.computeIfPresent(variable, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
 }
@@ -1,18 +1,33 @@
 package com.pushkar.postfix_evaluator.service;
 
+import com.pushkar.postfix_evaluator.dto.BulkStoreResultDTO;
 import com.pushkar.postfix_evaluator.dto.EquationDTO;
+import com.pushkar.postfix_evaluator.engine.ExecutionPlanner;
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
 import com.pushkar.postfix_evaluator.exception.EquationNotFoundException;
 import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.metrics.EvaluatorMetrics;
+import com.pushkar.postfix_evaluator.model.BuildStatus;
 import com.pushkar.postfix_evaluator.model.Equation;
 import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
 import com.pushkar.postfix_evaluator.parser.EquationParser;
 import com.pushkar.postfix_evaluator.parser.InfixNotationReconstructor;
+import com.pushkar.postfix_evaluator.parser.Tokenizer;
 import com.pushkar.postfix_evaluator.repository.EquationRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +39,21 @@ public class EquationService {
     @Autowired
     private EquationRepository equationRepository;
     
+    @Autowired
+    @Qualifier("parseExecutor")
+    private ExecutorService parseExecutor;
+    
+    @Autowired
+    private EvaluatorMetrics evaluatorMetrics;
+    
+    @Value("${evaluator.bulk.batch-size:1000}")
+    private int bulkBatchSize;
+    
+    /**
+     * Number of equations parsed by a single task during bulk import
+     */
+    private static final int PARSE_SLICE_SIZE = 64;
+    
     /**
      * Stores an equation by parsing it and building its tree structure
      * 
@@ -32,6 +62,161 @@ public class EquationService {
      * @throws InvalidEquationException if the equation is invalid
      */
     public String storeEquation(String equationString) {
+        return equationRepository.save(buildEquation(equationString));
+    }
+    
+    /**
+     * Stores an equation after a cheap character check and returns its ID immediately.
+     * Parsing and tree building run on the parse executor; evaluation waits for them.
+     * 
+     * @param equationString the equation in infix notation
+     * @return the generated equation ID
+     * @throws InvalidEquationException if the equation is empty, contains invalid characters
+     *         or is longer than the complexity limits allow
+     */
+    public String storeEquationAsync(String equationString) {
+        try {
+            Tokenizer.validateCharacters(equationString, EquationParser.getLimits());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEquationException("Error parsing equation: " + e.getMessage(), e);
+        }
+        
+        CompletableFuture<Void> build = new CompletableFuture<>();
+        Equation equation = new Equation();
+        equation.setEquationInfix(equationString.trim());
+        equation.setBuildStatus(BuildStatus.PENDING);
+        equation.setBuild(build);
+        
+        String id = equationRepository.save(equation);
+        parseExecutor.execute(() -> {
+            try {
+                completeBuild(equation);
+            } finally {
+                // Waiting callers are released whatever ended the build
+                build.complete(null);
+            }
+        });
+        return id;
+    }
+    
+    /**
+     * Parses a pending equation and publishes its tree, or records the failure
+     */
+    private void completeBuild(Equation equation) {
+        try {
+            TreeNode rootNode = EquationParser.parse(equation.getEquationInfix(), equation.getId());
+            equation.setRootNode(rootNode);
+            equation.setVariables(EvaluatorService.extractVariables(rootNode));
+            equation.setStatistics(collectStatistics(rootNode));
+            equation.setBuildStatus(BuildStatus.READY);
+            equationRepository.updateVariableIndex(equation);
+        } catch (RuntimeException | StackOverflowError e) {
+            equation.setBuildError(buildErrorOf(e));
+            equation.setBuildStatus(BuildStatus.FAILED);
+        } catch (Throwable e) {
+            // Unexpected errors still fail the build before they reach the executor
+            equation.setBuildError(buildErrorOf(e));
+            equation.setBuildStatus(BuildStatus.FAILED);
+            throw e;
+        }
+    }
+    
+    /**
+     * Describes why an equation could not be built
+     */
+    private static String buildErrorOf(Throwable error) {
+        if (error instanceof StackOverflowError) {
+            return "Equation is nested too deeply to build";
+        }
+        return error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+    }
+    
+    /**
+     * Stores many equations, parsing them in parallel and saving them in batches.
+     * Equations that fail to build are reported individually and do not stop the import.
+     * 
+     * @param equationStrings the equations in infix notation, consumed lazily
+     * @return one result per input equation, in input order
+     */
+    public List<BulkStoreResultDTO> storeEquations(Iterator<String> equationStrings) {
+        List<BulkStoreResultDTO> results = new ArrayList<>();
+        List<String> batch = new ArrayList<>(bulkBatchSize);
+        
+        while (equationStrings.hasNext()) {
+            batch.add(equationStrings.next());
+            if (batch.size() >= bulkBatchSize) {
+                storeBatch(batch, results);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            storeBatch(batch, results);
+        }
+        
+        return results;
+    }
+    
+    /**
+     * Parses one batch on the parse executor and saves the valid equations together
+     */
+    private void storeBatch(List<String> batch, List<BulkStoreResultDTO> results) {
+        int size = batch.size();
+        Equation[] equations = new Equation[size];
+        String[] errors = new String[size];
+        
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int start = 0; start < size; start += PARSE_SLICE_SIZE) {
+            int from = start;
+            int to = Math.min(start + PARSE_SLICE_SIZE, size);
+            tasks.add(parseExecutor.submit(() -> {
+                for (int i = from; i < to; i++) {
+                    try {
+                        equations[i] = buildEquation(batch.get(i));
+                    } catch (RuntimeException | StackOverflowError e) {
+                        // Any failure is reported on its own line and does not abort the import
+                        errors[i] = buildErrorOf(e);
+                    }
+                }
+            }));
+        }
+        awaitAll(tasks);
+        
+        List<Equation> valid = new ArrayList<>(size);
+        for (Equation equation : equations) {
+            if (equation != null) {
+                valid.add(equation);
+            }
+        }
+        Iterator<String> ids = equationRepository.saveAll(valid).iterator();
+        
+        int offset = results.size();
+        for (int i = 0; i < size; i++) {
+            results.add(equations[i] != null
+                    ? new BulkStoreResultDTO(offset + i, ids.next(), null)
+                    : new BulkStoreResultDTO(offset + i, null, errors[i]));
+        }
+    }
+    
+    /**
+     * Waits for all parse tasks of a batch to finish
+     */
+    private void awaitAll(List<Future<?>> tasks) {
+        try {
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EvaluationException("Interrupted while parsing equations", e);
+        } catch (ExecutionException e) {
+            throw new InvalidEquationException("Error parsing equation: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    /**
+     * Parses an equation and builds the model object to be stored
+     */
+    private Equation buildEquation(String equationString) {
         if (equationString == null || equationString.trim().isEmpty()) {
             throw new InvalidEquationException("Equation cannot be null or empty");
         }
@@ -39,12 +224,22 @@ public class EquationService {
         // Parse equation and build tree
         TreeNode rootNode = EquationParser.parse(equationString.trim());
         
-        // Create and save equation
+        // Create equation
         Equation equation = new Equation();
         equation.setEquationInfix(equationString.trim());
         equation.setRootNode(rootNode);
-        
-        return equationRepository.save(equation);
+        equation.setVariables(EvaluatorService.extractVariables(rootNode));
+        equation.setStatistics(collectStatistics(rootNode));
+        return equation;
+    }
+    
+    /**
+     * Collects the statistics of a newly built tree and records its size
+     */
+    private TreeStatistics collectStatistics(TreeNode rootNode) {
+        TreeStatistics statistics = ExecutionPlanner.collectStatistics(rootNode);
+        evaluatorMetrics.recordStoredTree(statistics);
+        return statistics;
     }
     
     /**
@@ -69,8 +264,36 @@ public class EquationService {
     public Equation getEquationById(String equationId) {
         Equation equation = equationRepository.findById(equationId);
         if (equation == null) {
-            throw new EquationNotFoundException(
-                "Equation with ID '" + equationId + "' not found"
+            throw EquationNotFoundException.forId(equationId);
+        }
+        return equation;
+    }
+    
+    /**
+     * Retrieves an equation that is ready for evaluation, waiting for a pending build
+     * 
+     * @param equationId the equation ID
+     * @return the equation with its expression tree built
+     * @throws EquationNotFoundException if not found
+     * @throws InvalidEquationException if the background build failed
+     */
+    public Equation getEvaluableEquation(String equationId) {
+        Equation equation = getEquationById(equationId);
+        
+        if (equation.getBuildStatus() == BuildStatus.PENDING) {
+            try {
+                equation.getBuild().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new EvaluationException("Interrupted while waiting for equation '" + equationId + "' to build", e);
+            } catch (ExecutionException e) {
+                // Build failures are recorded on the equation itself
+            }
+        }
+        
+        if (equation.getBuildStatus() == BuildStatus.FAILED) {
+            throw new InvalidEquationException(
+                "Equation with ID '" + equationId + "' failed to build: " + equation.getBuildError()
             );
         }
         return equation;
@@ -88,6 +311,16 @@ public class EquationService {
         return new EquationDTO(equation.getId(), equation.getEquationInfix());
     }
     
+    /**
+     * Retrieves all equations that reference the given variable
+     * 
+     * @param variable the variable name
+     * @return list of dependent equations
+     */
+    public List<Equation> getEquationsByVariable(String variable) {
+        return equationRepository.findByVariable(variable);
+    }
+    
     /**
      * Reconstructs an equation in infix notation from its tree
      * 
@@ -1,8 +1,12 @@
 package com.pushkar.postfix_evaluator.service;
 
+import com.pushkar.postfix_evaluator.engine.EvaluationDeadline;
+import com.pushkar.postfix_evaluator.engine.VariableSlots;
 import com.pushkar.postfix_evaluator.exception.EvaluationException;
 import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
 import com.pushkar.postfix_evaluator.model.TreeNode;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -21,6 +25,35 @@ public class EvaluatorService {
      * @throws EvaluationException if evaluation fails
      */
     public static Double evaluate(TreeNode rootNode, Map<String, Number> variables) {
+        return evaluateToDouble(rootNode, variables);
+    }
+    
+    /**
+     * Evaluates an expression tree with the given variable values without boxing the result.
+     * Works on primitive doubles throughout and reads constants parsed once per node,
+     * so a warmed-up evaluation allocates nothing.
+     * 
+     * @param rootNode the root of the expression tree
+     * @param variables map of variable names to their numeric values
+     * @return the result of evaluation
+     * @throws EvaluationException if evaluation fails
+     */
+    public static double evaluateToDouble(TreeNode rootNode, Map<String, Number> variables) {
+        return evaluateToDouble(rootNode, variables, null);
+    }
+    
+    /**
+     * Evaluates an expression tree with the given variable values, giving up once the deadline passes
+     * 
+     * @param rootNode the root of the expression tree
+     * @param variables map of variable names to their numeric values
+     * @param deadline the deadline counted down once per node, or null for none
+     * @return the result of evaluation
+     * @throws EvaluationException if evaluation fails
+     * @throws com.pushkar.postfix_evaluator.exception.EvaluationTimeoutException if the deadline passes
+     */
+    public static double evaluateToDouble(TreeNode rootNode, Map<String, Number> variables,
+                                          EvaluationDeadline deadline) {
         if (rootNode == null) {
             throw new EvaluationException("Expression tree is null");
         }
@@ -30,7 +63,7 @@ public class EvaluatorService {
         }
         
         try {
-            return evaluateNode(rootNode, variables);
+            return evaluateNode(rootNode, variables, deadline);
         } catch (EvaluationException e) {
             throw e;
         } catch (Exception e) {
@@ -41,38 +74,43 @@ public class EvaluatorService {
     /**
      * Recursively evaluates a node in the expression tree
      */
-    private static Double evaluateNode(TreeNode node, Map<String, Number> variables) {
+    private static double evaluateNode(TreeNode node, Map<String, Number> variables,
+                                       EvaluationDeadline deadline) {
         if (node == null) {
             throw new EvaluationException("Unexpected null node during evaluation");
         }
+        if (deadline != null) {
+            deadline.tick();
+        }
         
         // Leaf node - return the operand value
         if (node.isLeaf()) {
-            String value = node.getValue();
+            if (node.isConstant()) {
+                return node.getConstantValue();
+            }
             
-            // Try to parse as number
-            try {
-                return Double.parseDouble(value);
-            } catch (NumberFormatException e) {
-                // Try as variable
-                if (variables.containsKey(value)) {
-                    Number num = variables.get(value);
-                    return num != null ? num.doubleValue() : 0.0;
-                } else {
-                    throw new EvaluationException(
-                        "Variable '" + value + "' not provided in variables map"
-                    );
+            // Not a number, so look it up as a variable
+            String value = node.getValue();
+            if (variables instanceof VariableSlots slots) {
+                double slotValue = slots.valueOf(value);
+                if (!Double.isNaN(slotValue) || slots.containsKey(value)) {
+                    return slotValue;
                 }
+                throw EvaluationException.missingVariable(value);
+            }
+            Number num = variables.get(value);
+            if (num != null) {
+                return num.doubleValue();
             }
+            if (variables.containsKey(value)) {
+                return 0.0;
+            }
+            throw EvaluationException.missingVariable(value);
         }
         
         // Operator node - evaluate both sides recursively
-        Double leftValue = evaluateNode(node.getLeft(), variables);
-        Double rightValue = evaluateNode(node.getRight(), variables);
-        
-        if (leftValue == null || rightValue == null) {
-            throw new EvaluationException("Null value encountered during evaluation");
-        }
+        double leftValue = evaluateNode(node.getLeft(), variables, deadline);
+        double rightValue = evaluateNode(node.getRight(), variables, deadline);
         
         return applyOperator(node.getValue(), leftValue, rightValue);
     }
@@ -80,7 +118,7 @@ public class EvaluatorService {
     /**
      * Applies an operator to two operands
      */
-    private static Double applyOperator(String operator, Double left, Double right) {
+    private static double applyOperator(String operator, double left, double right) {
         switch (operator) {
             case "+":
                 return left + right;
@@ -90,7 +128,7 @@ public class EvaluatorService {
                 return left * right;
             case "/":
                 if (right == 0) {
-                    throw new EvaluationException("Division by zero");
+                    throw EvaluationException.divisionByZero();
                 }
                 return left / right;
             case "^":
@@ -108,32 +146,29 @@ public class EvaluatorService {
      */
     public static Set<String> extractVariables(TreeNode rootNode) {
         Set<String> variables = new HashSet<>();
-        extractVariablesRecursive(rootNode, variables);
-        return variables;
-    }
-    
-    /**
-     * Recursively extracts variables from tree
-     */
-    private static void extractVariablesRecursive(TreeNode node, Set<String> variables) {
-        if (node == null) {
-            return;
+        if (rootNode == null) {
+            return variables;
         }
         
-        if (node.isLeaf()) {
-            String value = node.getValue();
-            // Check if it's not a number
-            try {
-                Double.parseDouble(value);
-                // It's a number, skip
-            } catch (NumberFormatException e) {
-                // It's a variable
-                variables.add(value);
+        // Walked with an explicit stack, so very deep trees cannot overflow the call stack
+        Deque<TreeNode> pending = new ArrayDeque<>();
+        pending.push(rootNode);
+        while (!pending.isEmpty()) {
+            TreeNode node = pending.pop();
+            if (node.isLeaf()) {
+                // Numbers are skipped; anything else is a variable
+                if (!node.isConstant()) {
+                    variables.add(node.getValue());
+                }
+                continue;
+            }
+            if (node.getRight() != null) {
+                pending.push(node.getRight());
+            }
+            if (node.getLeft() != null) {
+                pending.push(node.getLeft());
             }
-        } else {
-            // Recursively process children
-            extractVariablesRecursive(node.getLeft(), variables);
-            extractVariablesRecursive(node.getRight(), variables);
         }
+        return variables;
     }
 }
@@ -0,0 +1,804 @@
+package com.pushkar.postfix_evaluator.service;
+
+import com.pushkar.postfix_evaluator.dto.DistributionDTO;
+import com.pushkar.postfix_evaluator.dto.SweepRangeDTO;
+import com.pushkar.postfix_evaluator.engine.BatchAggregate;
+import com.pushkar.postfix_evaluator.engine.BatchResult;
+import com.pushkar.postfix_evaluator.engine.CompiledExpression;
+import com.pushkar.postfix_evaluator.engine.EvaluationDeadline;
+import com.pushkar.postfix_evaluator.engine.EvaluationProfile;
+import com.pushkar.postfix_evaluator.engine.EvaluationProfiler;
+import com.pushkar.postfix_evaluator.engine.ExecutionPlan;
+import com.pushkar.postfix_evaluator.engine.ExecutionPlanner;
+import com.pushkar.postfix_evaluator.engine.ExecutionStrategy;
+import com.pushkar.postfix_evaluator.engine.HistogramBin;
+import com.pushkar.postfix_evaluator.engine.MonteCarloSampler;
+import com.pushkar.postfix_evaluator.engine.MonteCarloSummary;
+import com.pushkar.postfix_evaluator.engine.ParallelTreeEvaluator;
+import com.pushkar.postfix_evaluator.engine.SampleStatistics;
+import com.pushkar.postfix_evaluator.engine.SweepGrid;
+import com.pushkar.postfix_evaluator.engine.ValueSketch;
+import com.pushkar.postfix_evaluator.engine.VariableSlots;
+import com.pushkar.postfix_evaluator.engine.VectorizedEvaluator;
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.exception.EvaluationTimeoutException;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.jfr.EvaluateEvent;
+import com.pushkar.postfix_evaluator.metrics.EvaluatorMetrics;
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
+import com.pushkar.postfix_evaluator.parser.PipelineStage;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Tiered execution of stored equations.
+ * Equations start on the tree interpreter; once an equation's recent invocation count
+ * reaches the promotion threshold it is compiled in the background and evaluated in
+ * compiled form; trees deep enough to be planned onto the compiled engine are promoted
+ * on first use. Compiled forms are capped by a resident budget and dropped again
+ * when their equation goes cold. Each request runs on the engine chosen by the
+ * {@link ExecutionPlanner}.
+ */
+@Service
+public class ExecutionService {
+    
+    @Autowired
+    private EquationRepository equationRepository;
+    
+    @Autowired
+    @Qualifier("parseExecutor")
+    private ExecutorService compileExecutor;
+    
+    @Autowired
+    @Qualifier("evaluationExecutor")
+    private ExecutorService evaluationExecutor;
+    
+    @Autowired
+    private ExecutionPlanner executionPlanner;
+    
+    @Autowired
+    private EvaluatorMetrics evaluatorMetrics;
+    
+    @Autowired
+    private RuntimeStatsService runtimeStatsService;
+    
+    @Value("${evaluator.batch.chunk-size:1024}")
+    private int batchChunkSize;
+    
+    @Value("${evaluator.sweep.max-points:100000000}")
+    private long sweepMaxPoints;
+    
+    @Value("${evaluator.montecarlo.max-samples:1000000000}")
+    private long monteCarloMaxSamples;
+    
+    @Value("${evaluator.limits.evaluation-timeout-ms:5000}")
+    private long evaluationTimeoutMillis;
+    
+    @Value("${evaluator.limits.run-timeout-ms:60000}")
+    private long runTimeoutMillis;
+    
+    @Value("${evaluator.coalescing.enabled:false}")
+    private boolean coalescingEnabled;
+    
+    @Value("${evaluator.coalescing.min-nodes:100}")
+    private int coalescingMinNodes;
+    
+    @Value("${evaluator.tiered.enabled:true}")
+    private boolean tieredEnabled;
+    
+    @Value("${evaluator.tiered.promotion-threshold:1000}")
+    private long promotionThreshold;
+    
+    @Value("${evaluator.tiered.demotion-threshold:10}")
+    private long demotionThreshold;
+    
+    @Value("${evaluator.tiered.max-compiled:10000}")
+    private int maxCompiled;
+    
+    /**
+     * Sweep and simulation chunks evaluated ahead of the one being consumed
+     */
+    private static final int CHUNK_WINDOW = 64;
+    
+    private static final List<Double> DEFAULT_QUANTILES = List.of(0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99);
+    private static final int DEFAULT_HISTOGRAM_BINS = 20;
+    private static final int MAX_HISTOGRAM_BINS = 1000;
+    private static final int MAX_TOP_K = 10000;
+    private static final int MAX_PROFILE_LIMIT = 1000;
+    
+    private final Map<String, Equation> resident = new ConcurrentHashMap<>();
+    private final InFlightEvaluations inFlight = new InFlightEvaluations();
+    private final ReentrantLock residencyLock = new ReentrantLock();
+    
+    /**
+     * Evaluates a stored equation, using its compiled form when one is resident.
+     * With coalescing enabled, concurrent calls for the same equation and variable values
+     * share one evaluation and its result or exception.
+     * 
+     * @param equation the equation to evaluate, with its expression tree built
+     * @param variables map of variable names to their numeric values; {@link VariableSlots}
+     *                  are read without boxing, and make the equation resident while the
+     *                  budget has room
+     * @return the result of evaluation
+     * @throws com.pushkar.postfix_evaluator.exception.EvaluationException if evaluation fails
+     */
+    public Double evaluate(Equation equation, Map<String, Number> variables) {
+        if (coalescingEnabled
+                && ExecutionPlanner.statisticsOf(equation).getNodeCount() >= coalescingMinNodes) {
+            InFlightEvaluations.Key key = InFlightEvaluations.keyOf(equation, variables);
+            if (key != null) {
+                return inFlight.evaluate(key, () -> evaluateNow(equation, variables), () -> {
+                    // Shared calls still count as demand for tiering
+                    equation.getInvocationCount().incrementAndGet();
+                    evaluatorMetrics.recordCoalesced();
+                });
+            }
+        }
+        return evaluateNow(equation, variables);
+    }
+    
+    /**
+     * Evaluates a stored equation on the engine chosen for it, recording metrics and statistics
+     */
+    private Double evaluateNow(Equation equation, Map<String, Number> variables) {
+        EvaluateEvent event = new EvaluateEvent();
+        event.begin();
+        long started = System.nanoTime();
+        long calls = equation.getInvocationCount().incrementAndGet();
+        ExecutionStrategy strategy = executionPlanner.choose(equation, 1);
+        try {
+            double result = evaluateWith(strategy, equation, variables, calls, deadlineFor(equation));
+            long elapsed = System.nanoTime() - started;
+            evaluatorMetrics.stageCompleted(PipelineStage.EVALUATE, PipelineOutcome.SUCCESS, elapsed);
+            runtimeStatsService.record(equation, elapsed, false);
+            event.complete(equation, strategy, PipelineOutcome.SUCCESS);
+            return result;
+        } catch (RuntimeException e) {
+            long elapsed = System.nanoTime() - started;
+            PipelineOutcome outcome = PipelineOutcome.of(e);
+            evaluatorMetrics.stageCompleted(PipelineStage.EVALUATE, outcome, elapsed);
+            runtimeStatsService.record(equation, elapsed, true);
+            event.complete(equation, strategy, outcome);
+            throw e;
+        }
+    }
+    
+    /**
+     * Starts the deadline of one evaluation, or returns null when there is none
+     * or the tree is too small to ever reach a clock check
+     */
+    private EvaluationDeadline deadlineFor(Equation equation) {
+        if (evaluationTimeoutMillis <= 0
+                || ExecutionPlanner.statisticsOf(equation).getNodeCount() < EvaluationDeadline.CHECK_INTERVAL) {
+            return null;
+        }
+        return EvaluationDeadline.after(evaluationTimeoutMillis);
+    }
+    
+    /**
+     * Starts the deadline of a run over many bindings, points or samples, or returns null when there is none.
+     * Runs check it between chunks, so a run can overrun it by the chunks already in progress.
+     */
+    private EvaluationDeadline runDeadline() {
+        return runTimeoutMillis > 0 ? EvaluationDeadline.after(runTimeoutMillis) : null;
+    }
+    
+    /**
+     * Checks a run deadline that may be absent
+     */
+    private static void check(EvaluationDeadline deadline) {
+        if (deadline != null) {
+            deadline.check();
+        }
+    }
+    
+    /**
+     * Evaluates a single binding on the given engine
+     */
+    private double evaluateWith(ExecutionStrategy strategy, Equation equation,
+                                Map<String, Number> variables, long calls, EvaluationDeadline deadline) {
+        switch (strategy) {
+            case COMPILED:
+                if (equation.getCompiled() == null
+                        && (calls >= promotionThreshold || resident.size() < maxCompiled)) {
+                    // Deep trees are planned onto the compiled engine before they are hot;
+                    // make the form resident rather than compiling it again on every call
+                    requestPromotion(equation);
+                }
+                if (variables instanceof VariableSlots slots) {
+                    return compiledFormOf(equation).evaluate(slots, deadline);
+                }
+                return compiledFormOf(equation).evaluate(variables, deadline);
+            case PARALLEL:
+                if (variables == null) {
+                    throw new InvalidEquationException("Variables map cannot be null");
+                }
+                return ParallelTreeEvaluator.evaluate(
+                    equation.getRootNode(), variables, executionPlanner.forkDepth(), deadline);
+            default:
+                if (calls >= promotionThreshold
+                        || variables instanceof VariableSlots && resident.size() < maxCompiled) {
+                    // Slot-filled requests are only read without any lookup once compiled
+                    requestPromotion(equation);
+                }
+                return EvaluatorService.evaluateToDouble(equation.getRootNode(), variables, deadline);
+        }
+    }
+    
+    /**
+     * Evaluates a stored equation against many bindings.
+     * Failing rows are reported individually and do not fail the batch.
+     * 
+     * @param equation the equation to evaluate, with its expression tree built
+     * @param bindings one variable map per row
+     * @return per-row values and errors
+     * @throws InvalidEquationException if the bindings list is null
+     * @throws EvaluationTimeoutException if the batch runs past its deadline
+     */
+    public BatchResult evaluateBatch(Equation equation, List<Map<String, Number>> bindings) {
+        if (bindings == null) {
+            throw new InvalidEquationException("Bindings list cannot be null");
+        }
+        
+        int rows = bindings.size();
+        equation.getInvocationCount().addAndGet(rows);
+        CompiledExpression compiled = compiledFormOf(equation);
+        BatchResult result = new BatchResult(rows);
+        EvaluationDeadline deadline = runDeadline();
+        
+        if (executionPlanner.choose(equation, rows) == ExecutionStrategy.PARALLEL) {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int from = 0; from < rows; from += batchChunkSize) {
+                int start = from;
+                int end = Math.min(from + batchChunkSize, rows);
+                chunks.add(evaluationExecutor.submit(() -> {
+                    check(deadline);
+                    VectorizedEvaluator.evaluate(compiled, bindings, start, end, result);
+                }));
+            }
+            awaitAll(chunks);
+        } else {
+            for (int from = 0; from < rows; from += batchChunkSize) {
+                check(deadline);
+                VectorizedEvaluator.evaluate(compiled, bindings, from,
+                    Math.min(from + batchChunkSize, rows), result);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Evaluates one equation against many bindings and reduces the results as they are produced.
+     * Each chunk of rows is evaluated by the vectorized engine and reduced to a partial aggregate;
+     * partials are merged in row order, so only one chunk of results exists at a time per thread
+     * and the aggregate does not depend on how chunks were scheduled.
+     * 
+     * @param equation the equation to evaluate, with its expression tree built
+     * @param bindings one variable map per row
+     * @param topK number of largest results to keep, or 0 for none
+     * @return counts, compensated sum, extremes and top-k rows of the results
+     * @throws InvalidEquationException if the bindings list is null or top-k is out of range
+     * @throws EvaluationTimeoutException if the batch runs past its deadline
+     */
+    public BatchAggregate aggregateBatch(Equation equation, List<Map<String, Number>> bindings, int topK) {
+        if (bindings == null) {
+            throw new InvalidEquationException("Bindings list cannot be null");
+        }
+        if (topK < 0 || topK > MAX_TOP_K) {
+            throw new InvalidEquationException("Top-k must be between 0 and " + MAX_TOP_K);
+        }
+        
+        int rows = bindings.size();
+        equation.getInvocationCount().addAndGet(rows);
+        CompiledExpression compiled = compiledFormOf(equation);
+        BatchAggregate aggregate = new BatchAggregate(topK);
+        EvaluationDeadline deadline = runDeadline();
+        
+        if (executionPlanner.choose(equation, rows) == ExecutionStrategy.PARALLEL) {
+            evaluateInOrder(rows, batchChunkSize,
+                (from, count) -> () -> aggregateChunk(compiled, bindings, (int) from, count, topK),
+                aggregate::merge, "batch", deadline);
+        } else {
+            for (int from = 0; from < rows; from += batchChunkSize) {
+                check(deadline);
+                aggregate.merge(aggregateChunk(compiled, bindings, from, Math.min(batchChunkSize, rows - from), topK));
+            }
+        }
+        return aggregate;
+    }
+    
+    /**
+     * Evaluates one chunk of a batch and reduces it to a partial aggregate
+     */
+    private static BatchAggregate aggregateChunk(CompiledExpression compiled, List<Map<String, Number>> bindings,
+                                                 int from, int count, int topK) {
+        BatchResult chunk = new BatchResult(count);
+        VectorizedEvaluator.evaluate(compiled, bindings, from, from + count, chunk, 0);
+        BatchAggregate partial = new BatchAggregate(topK);
+        for (int i = 0; i < count; i++) {
+            if (chunk.isError(i)) {
+                partial.addError();
+            } else {
+                partial.add(from + i, chunk.getValue(i));
+            }
+        }
+        return partial;
+    }
+    
+    /**
+     * Builds the grid of a sweep over an equation's variables
+     * 
+     * @param equation the equation to sweep, with its expression tree built
+     * @param ranges axis of each swept variable
+     * @param variables fixed values of the variables that are not swept
+     * @return the grid, with axes in the equation's slot order
+     * @throws InvalidEquationException if a variable has no axis or value, a range is invalid,
+     *         or the grid has more points than allowed
+     */
+    public SweepGrid createSweepGrid(Equation equation, Map<String, SweepRangeDTO> ranges,
+                                     Map<String, Number> variables) {
+        if (ranges == null || ranges.isEmpty()) {
+            throw new InvalidEquationException("At least one range is required for a sweep");
+        }
+        String[] schema = equation.getVariableSchema();
+        for (String name : ranges.keySet()) {
+            if (Arrays.binarySearch(schema, name) < 0) {
+                throw new InvalidEquationException("Variable '" + name + "' is not used by the equation");
+            }
+        }
+        
+        SweepGrid grid = new SweepGrid(schema.length);
+        for (int slot = 0; slot < schema.length; slot++) {
+            SweepRangeDTO range = ranges.get(schema[slot]);
+            Number value = variables != null ? variables.get(schema[slot]) : null;
+            if (range != null) {
+                setAxis(grid, slot, schema[slot], range);
+            } else if (value != null) {
+                grid.setValues(slot, new double[] {value.doubleValue()});
+            } else {
+                throw new InvalidEquationException("Variable '" + schema[slot] + "' needs a range or a value");
+            }
+        }
+        
+        if (grid.size() > sweepMaxPoints) {
+            throw new InvalidEquationException(
+                "Sweep has " + grid.size() + " points, more than the limit of " + sweepMaxPoints
+            );
+        }
+        return grid;
+    }
+    
+    /**
+     * Validates one variable's range and sets it as the grid axis of its slot
+     */
+    private void setAxis(SweepGrid grid, int slot, String name, SweepRangeDTO range) {
+        if (range.getValues() != null) {
+            if (range.getValues().isEmpty() || range.getValues().stream().anyMatch(Objects::isNull)) {
+                throw new InvalidEquationException("Values of '" + name + "' must be a non-empty list of numbers");
+            }
+            grid.setValues(slot, range.getValues().stream().mapToDouble(Double::doubleValue).toArray());
+            return;
+        }
+        
+        Double start = range.getStart();
+        Double stop = range.getStop();
+        Double step = range.getStep();
+        if (start == null || stop == null || step == null) {
+            throw new InvalidEquationException("Range of '" + name + "' needs start, stop and step, or values");
+        }
+        double span = (stop - start) / step;
+        if (!(span >= 0) || Double.isInfinite(span) || span >= sweepMaxPoints) {
+            throw new InvalidEquationException(
+                "Range of '" + name + "' must step from start towards stop in at most " + sweepMaxPoints + " steps"
+            );
+        }
+        // Tolerate rounding so that e.g. 0 to 1 by 0.1 includes 1
+        grid.setRange(slot, start, step, (long) Math.floor(span + 1e-9) + 1);
+    }
+    
+    /**
+     * Evaluates a stored equation at every point of a grid.
+     * Points are evaluated in parallel chunks on the evaluation pool, with a bounded number of
+     * chunks in flight, and handed to the sink on the calling thread in point order.
+     * 
+     * @param equation the equation to sweep, with its expression tree built
+     * @param grid the grid from {@link #createSweepGrid}
+     * @param sink consumer receiving consecutive chunks of point results
+     * @throws EvaluationException if the sweep is interrupted
+     * @throws EvaluationTimeoutException if the sweep runs past its deadline
+     */
+    public void sweep(Equation equation, SweepGrid grid, Consumer<BatchResult> sink) {
+        long size = grid.size();
+        equation.getInvocationCount().addAndGet(size);
+        CompiledExpression compiled = compiledFormOf(equation);
+        
+        evaluateInOrder(size, batchChunkSize, (from, count) -> () -> grid.evaluate(compiled, from, count),
+            sink, "sweep", runDeadline());
+    }
+    
+    /**
+     * Builds the sampler of a Monte Carlo simulation over an equation's variables
+     * 
+     * @param equation the equation to simulate, with its expression tree built
+     * @param distributions distribution of each random variable
+     * @param variables fixed values of the variables that are not random
+     * @return the sampler, with distributions in the equation's slot order
+     * @throws InvalidEquationException if a variable has no distribution or value,
+     *         or a distribution is invalid
+     */
+    public MonteCarloSampler createMonteCarloSampler(Equation equation, Map<String, DistributionDTO> distributions,
+                                                     Map<String, Number> variables) {
+        if (distributions == null || distributions.isEmpty()) {
+            throw new InvalidEquationException("At least one distribution is required for a simulation");
+        }
+        String[] schema = equation.getVariableSchema();
+        for (String name : distributions.keySet()) {
+            if (Arrays.binarySearch(schema, name) < 0) {
+                throw new InvalidEquationException("Variable '" + name + "' is not used by the equation");
+            }
+        }
+        
+        MonteCarloSampler sampler = new MonteCarloSampler(schema.length);
+        for (int slot = 0; slot < schema.length; slot++) {
+            DistributionDTO distribution = distributions.get(schema[slot]);
+            Number value = variables != null ? variables.get(schema[slot]) : null;
+            if (distribution != null) {
+                setDistribution(sampler, slot, schema[slot], distribution);
+            } else if (value != null) {
+                sampler.setConstant(slot, value.doubleValue());
+            } else {
+                throw new InvalidEquationException("Variable '" + schema[slot] + "' needs a distribution or a value");
+            }
+        }
+        return sampler;
+    }
+    
+    /**
+     * Validates one variable's distribution and sets it on its sampler slot
+     */
+    private void setDistribution(MonteCarloSampler sampler, int slot, String name, DistributionDTO distribution) {
+        String type = distribution.getType() != null ? distribution.getType() : "";
+        switch (type) {
+            case "uniform":
+                Double min = distribution.getMin();
+                Double max = distribution.getMax();
+                if (min == null || max == null || !(min <= max) || Double.isInfinite(max - min)) {
+                    throw new InvalidEquationException(
+                        "Uniform distribution of '" + name + "' needs finite min and max with min <= max"
+                    );
+                }
+                sampler.setUniform(slot, min, max);
+                break;
+            case "normal":
+            case "lognormal":
+                Double mean = distribution.getMean();
+                Double stdDev = distribution.getStdDev();
+                if (mean == null || stdDev == null || !Double.isFinite(mean) || !(stdDev >= 0)
+                        || Double.isInfinite(stdDev)) {
+                    throw new InvalidEquationException(
+                        "Distribution of '" + name + "' needs a finite mean and a non-negative stdDev"
+                    );
+                }
+                if (type.equals("normal")) {
+                    sampler.setNormal(slot, mean, stdDev);
+                } else {
+                    sampler.setLogNormal(slot, mean, stdDev);
+                }
+                break;
+            default:
+                throw new InvalidEquationException(
+                    "Distribution type of '" + name + "' must be uniform, normal or lognormal"
+                );
+        }
+    }
+    
+    /**
+     * Evaluates a stored equation on random samples and aggregates the results.
+     * Blocks of samples are drawn and evaluated in parallel on the evaluation pool and their
+     * statistics merged in block order, so the summary depends only on the seed and not on
+     * the number of threads. Failed and non-finite results are counted as errors.
+     * 
+     * @param equation the equation to simulate, with its expression tree built
+     * @param sampler the sampler from {@link #createMonteCarloSampler}
+     * @param samples number of samples
+     * @param seed seed of the random generator
+     * @param quantiles quantiles to estimate, or null for the defaults
+     * @param bins number of histogram bins between the smallest and largest result,
+     *             or null for the default
+     * @return mean, variance, range, quantile estimates and histogram of the results
+     * @throws InvalidEquationException if the sample count, a quantile or the bin count is out of range
+     * @throws EvaluationException if the simulation is interrupted
+     * @throws EvaluationTimeoutException if the simulation runs past its deadline
+     */
+    public MonteCarloSummary simulate(Equation equation, MonteCarloSampler sampler, long samples, long seed,
+                                      List<Double> quantiles, Integer bins) {
+        if (samples < 1 || samples > monteCarloMaxSamples) {
+            throw new InvalidEquationException("Sample count must be between 1 and " + monteCarloMaxSamples);
+        }
+        List<Double> requestedQuantiles = quantiles != null ? quantiles : DEFAULT_QUANTILES;
+        for (Double quantile : requestedQuantiles) {
+            if (quantile == null || !(quantile >= 0 && quantile <= 1)) {
+                throw new InvalidEquationException("Quantiles must be between 0 and 1");
+            }
+        }
+        int binCount = bins != null ? bins : DEFAULT_HISTOGRAM_BINS;
+        if (binCount < 1 || binCount > MAX_HISTOGRAM_BINS) {
+            throw new InvalidEquationException("Bins must be between 1 and " + MAX_HISTOGRAM_BINS);
+        }
+        
+        equation.getInvocationCount().addAndGet(samples);
+        CompiledExpression compiled = compiledFormOf(equation);
+        SampleStatistics statistics = new SampleStatistics();
+        // Each running block records into a sketch no other block is using, so there is one per worker
+        Queue<ValueSketch> sketches = new ConcurrentLinkedQueue<>();
+        
+        // Blocks take their generators in block order, on this thread
+        SplittableRandom random = new SplittableRandom(seed);
+        evaluateInOrder(samples, MonteCarloSampler.BLOCK_SIZE, (from, count) -> {
+            SplittableRandom blockRandom = random.split();
+            return () -> {
+                ValueSketch blockSketch = sketches.poll();
+                if (blockSketch == null) {
+                    blockSketch = new ValueSketch();
+                }
+                try {
+                    return sampler.sampleBlock(compiled, blockRandom, count, blockSketch);
+                } finally {
+                    sketches.add(blockSketch);
+                }
+            };
+        }, statistics::merge, "simulation", runDeadline());
+        
+        // Counts are exact, so which worker recorded a value does not change the merged sketch
+        ValueSketch sketch = new ValueSketch();
+        for (ValueSketch workerSketch : sketches) {
+            sketch.merge(workerSketch);
+        }
+        
+        if (statistics.count() == 0) {
+            return new MonteCarloSummary(seed, samples, statistics.errorCount(),
+                null, null, null, null, null, Map.of(), List.of());
+        }
+        
+        double min = statistics.min();
+        double max = statistics.max();
+        Map<String, Double> quantileEstimates = new LinkedHashMap<>();
+        for (double quantile : requestedQuantiles) {
+            // Bucket midpoints can lie just outside the observed range
+            quantileEstimates.put(String.valueOf(quantile), Math.max(min, Math.min(max, sketch.quantile(quantile))));
+        }
+        
+        long[] counts = sketch.histogram(min, max, binCount);
+        double width = (max - min) / binCount;
+        List<HistogramBin> histogram = new ArrayList<>(binCount);
+        for (int bin = 0; bin < binCount; bin++) {
+            double upper = bin == binCount - 1 ? max : min + (bin + 1) * width;
+            histogram.add(new HistogramBin(min + bin * width, upper, counts[bin]));
+        }
+        
+        return new MonteCarloSummary(seed, samples, statistics.errorCount(), statistics.mean(),
+            statistics.variance(), Math.sqrt(statistics.variance()), min, max, quantileEstimates, histogram);
+    }
+    
+    /**
+     * Evaluates consecutive chunks of a run in parallel on the evaluation pool, with a bounded
+     * number of chunks in flight, and hands their results to the sink on the calling thread in order.
+     * The deadline is checked before each chunk is submitted and before each result is consumed.
+     */
+    private <T> void evaluateInOrder(long size, int chunkSize, ChunkTask<T> tasks, Consumer<T> sink, String run,
+                                     EvaluationDeadline deadline) {
+        Deque<Future<T>> pending = new ArrayDeque<>();
+        long next = 0;
+        try {
+            while (next < size || !pending.isEmpty()) {
+                check(deadline);
+                while (next < size && pending.size() < CHUNK_WINDOW) {
+                    int count = (int) Math.min(chunkSize, size - next);
+                    pending.add(evaluationExecutor.submit(tasks.create(next, count)));
+                    next += count;
+                }
+                sink.accept(pending.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EvaluationException("Interrupted while evaluating " + run, e);
+        } catch (ExecutionException e) {
+            throw new EvaluationException("Error during evaluation: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Stop evaluating ahead if the sink failed, e.g. because the client went away
+            for (Future<T> chunk : pending) {
+                chunk.cancel(false);
+            }
+        }
+    }
+    
+    /**
+     * Creates the task evaluating one chunk of a run; called on the submitting thread in chunk order
+     */
+    @FunctionalInterface
+    private interface ChunkTask<T> {
+        Callable<T> create(long from, int count);
+    }
+    
+    /**
+     * Explains which engine would evaluate the given number of bindings
+     * 
+     * @param equation the equation to evaluate
+     * @param bindingCount number of variable bindings
+     * @return the execution plan
+     */
+    public ExecutionPlan explain(Equation equation, int bindingCount) {
+        return executionPlanner.plan(equation, Math.max(bindingCount, 1));
+    }
+    
+    /**
+     * Evaluates a stored equation against bindings on the instrumented evaluator.
+     * Profiling runs do not count towards tiering or runtime statistics.
+     * 
+     * @param equation the equation to profile, with its expression tree built
+     * @param bindings one variable map per evaluation
+     * @param limit maximum number of subtrees to report
+     * @return per-subtree costs and rewrite suggestions
+     * @throws InvalidEquationException if the bindings list is empty or the limit is out of range
+     * @throws EvaluationTimeoutException if profiling runs past its deadline
+     */
+    public EvaluationProfile profile(Equation equation, List<Map<String, Number>> bindings, int limit) {
+        if (bindings == null || bindings.isEmpty()) {
+            throw new InvalidEquationException("At least one binding is required for profiling");
+        }
+        if (limit < 1 || limit > MAX_PROFILE_LIMIT) {
+            throw new InvalidEquationException("Limit must be between 1 and " + MAX_PROFILE_LIMIT);
+        }
+        return EvaluationProfiler.profile(equation.getRootNode(), bindings, limit, runDeadline());
+    }
+    
+    /**
+     * Gets the resident compiled form of an equation, or compiles a transient one
+     */
+    private CompiledExpression compiledFormOf(Equation equation) {
+        CompiledExpression compiled = equation.getCompiled();
+        return compiled != null ? compiled : CompiledExpression.compile(equation.getRootNode());
+    }
+    
+    /**
+     * Waits for all chunks of a parallel batch to finish
+     */
+    private static void awaitAll(List<Future<?>> chunks) {
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EvaluationException("Interrupted while evaluating batch", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof EvaluationTimeoutException timeout) {
+                // Later chunks fail the same check as soon as they start
+                throw timeout;
+            }
+            throw new EvaluationException("Error during evaluation: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+    
+    /**
+     * Gets the number of compiled forms currently resident
+     * 
+     * @return resident compiled equation count
+     */
+    public int getResidentCount() {
+        return resident.size();
+    }
+    
+    /**
+     * Halves every equation's recent invocation count and demotes compiled
+     * equations whose count has fallen below the demotion threshold
+     */
+    @Scheduled(fixedDelayString = "${evaluator.tiered.decay-interval-ms:60000}")
+    public void decay() {
+        for (Equation equation : equationRepository.findAll()) {
+            equation.getInvocationCount().updateAndGet(count -> count >> 1);
+        }
+        residencyLock.lock();
+        try {
+            for (Equation equation : resident.values()) {
+                if (equation.getInvocationCount().get() < demotionThreshold
+                        || equationRepository.findById(equation.getId()) != equation) {
+                    demote(equation);
+                }
+            }
+        } finally {
+            residencyLock.unlock();
+        }
+    }
+    
+    /**
+     * Queues a background promotion unless tiering is off or one is already pending
+     */
+    private void requestPromotion(Equation equation) {
+        if (tieredEnabled && equation.getPromotionPending().compareAndSet(false, true)) {
+            compileExecutor.execute(() -> promote(equation));
+        }
+    }
+    
+    /**
+     * Compiles a hot equation and makes it resident, evicting the coldest
+     * resident equation when the budget is full
+     */
+    private void promote(Equation equation) {
+        CompiledExpression compiled;
+        try {
+            compiled = CompiledExpression.compile(equation.getRootNode());
+        } catch (RuntimeException e) {
+            // Equations that cannot be compiled stay on the interpreter for good;
+            // promotionPending is left set so no further attempts are queued
+            return;
+        }
+        
+        residencyLock.lock();
+        try {
+            if (resident.size() >= maxCompiled) {
+                Equation coldest = findColdest();
+                if (coldest == null || coldest.getInvocationCount().get()
+                        >= equation.getInvocationCount().get()) {
+                    // Not hotter than anything resident; make it earn another attempt
+                    equation.getInvocationCount().updateAndGet(count -> count >> 1);
+                    return;
+                }
+                demote(coldest);
+            }
+            equation.setCompiled(compiled);
+            resident.put(equation.getId(), equation);
+        } finally {
+            residencyLock.unlock();
+            equation.getPromotionPending().set(false);
+        }
+    }
+    
+    /**
+     * Returns an equation to the interpreter tier
+     */
+    private void demote(Equation equation) {
+        equation.setCompiled(null);
+        resident.remove(equation.getId(), equation);
+    }
+    
+    /**
+     * Finds the resident equation with the lowest recent invocation count
+     */
+    private Equation findColdest() {
+        Equation coldest = null;
+        long coldestCount = Long.MAX_VALUE;
+        for (Equation candidate : resident.values()) {
+            long count = candidate.getInvocationCount().get();
+            if (count < coldestCount) {
+                coldest = candidate;
+                coldestCount = count;
+            }
+        }
+        return coldest;
+    }
+}
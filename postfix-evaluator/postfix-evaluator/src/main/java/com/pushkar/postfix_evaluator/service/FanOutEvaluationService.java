@@ -0,0 +1,167 @@
+package com.pushkar.postfix_evaluator.service;
+
+import com.pushkar.postfix_evaluator.dto.EquationEvaluationResultDTO;
+import com.pushkar.postfix_evaluator.exception.EquationNotFoundException;
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.model.Equation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Service for evaluating many equations against one shared set of variable values
+ */
+@Service
+public class FanOutEvaluationService {
+    
+    /**
+     * Equations evaluated per task when evaluating a list of equations
+     */
+    private static final int CHUNK_SIZE = 32;
+    
+    @Autowired
+    private EquationService equationService;
+    
+    @Autowired
+    private ExecutionService executionService;
+    
+    @Autowired
+    @Qualifier("evaluationExecutor")
+    private ExecutorService evaluationExecutor;
+    
+    /**
+     * Evaluates every equation that references the given variable.
+     * Results are handed to the sink on the calling thread in completion order.
+     * 
+     * @param variable the variable whose dependent equations are evaluated
+     * @param variables map of variable names to their numeric values
+     * @param sink consumer receiving one result per equation
+     * @throws InvalidEquationException if the variables map is null
+     */
+    public void evaluateDependents(String variable, Map<String, Number> variables,
+                                   Consumer<EquationEvaluationResultDTO> sink) {
+        if (variables == null) {
+            throw new InvalidEquationException("Variables map cannot be null");
+        }
+        evaluateAll(equationService.getEquationsByVariable(variable), variables, sink);
+    }
+    
+    /**
+     * Evaluates the given equations against one shared set of variable values.
+     * Equations are evaluated in parallel in chunks, so many small equations share the
+     * cost of each task. Unknown, unbuildable and failing equations are reported as
+     * error results and do not fail the request.
+     * 
+     * @param equationIds IDs of the equations to evaluate; a repeated ID is evaluated once
+     * @param variables map of variable names to their numeric values
+     * @return one result per distinct ID, in request order
+     * @throws InvalidEquationException if the IDs or the variables map is null, or an ID is null
+     */
+    public List<EquationEvaluationResultDTO> evaluateEquations(Collection<String> equationIds,
+                                                               Map<String, Number> variables) {
+        if (equationIds == null || variables == null) {
+            throw new InvalidEquationException("Equation IDs and variables map cannot be null");
+        }
+        
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(equationIds));
+        if (ids.contains(null)) {
+            throw new InvalidEquationException("Equation IDs cannot contain null");
+        }
+        
+        EquationEvaluationResultDTO[] results = new EquationEvaluationResultDTO[ids.size()];
+        List<Future<?>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(from + CHUNK_SIZE, ids.size());
+            chunks.add(evaluationExecutor.submit(() -> {
+                for (int i = start; i < end; i++) {
+                    results[i] = evaluateById(ids.get(i), variables);
+                }
+            }));
+        }
+        
+        try {
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EvaluationException("Interrupted while evaluating equations", e);
+        } catch (ExecutionException e) {
+            throw new EvaluationException("Error during evaluation: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            for (Future<?> chunk : chunks) {
+                chunk.cancel(false);
+            }
+        }
+        return Arrays.asList(results);
+    }
+    
+    /**
+     * Evaluates the given equations in parallel on the evaluation executor
+     */
+    private void evaluateAll(Collection<Equation> equations, Map<String, Number> variables,
+                             Consumer<EquationEvaluationResultDTO> sink) {
+        CompletionService<EquationEvaluationResultDTO> completionService =
+                new ExecutorCompletionService<>(evaluationExecutor);
+        
+        List<Future<EquationEvaluationResultDTO>> submitted = new ArrayList<>();
+        try {
+            for (Equation equation : equations) {
+                submitted.add(completionService.submit(() -> evaluateOne(equation, variables)));
+            }
+            for (int i = 0; i < submitted.size(); i++) {
+                sink.accept(completionService.take().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EvaluationException("Interrupted while evaluating dependent equations", e);
+        } catch (ExecutionException e) {
+            throw new EvaluationException("Error during evaluation: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            // Stop evaluating equations nobody will read if the sink failed, e.g. because the client went away
+            for (Future<EquationEvaluationResultDTO> evaluation : submitted) {
+                evaluation.cancel(false);
+            }
+        }
+    }
+    
+    /**
+     * Looks up and evaluates a single equation, capturing failures as an error result
+     */
+    private EquationEvaluationResultDTO evaluateById(String equationId, Map<String, Number> variables) {
+        Equation equation;
+        try {
+            equation = equationService.getEvaluableEquation(equationId);
+        } catch (EquationNotFoundException | InvalidEquationException | EvaluationException e) {
+            return new EquationEvaluationResultDTO(equationId, null, e.getMessage());
+        }
+        return evaluateOne(equation, variables);
+    }
+    
+    /**
+     * Evaluates a single equation, capturing evaluation failures as an error result
+     */
+    private EquationEvaluationResultDTO evaluateOne(Equation equation, Map<String, Number> variables) {
+        try {
+            Double result = executionService.evaluate(equation, variables);
+            return new EquationEvaluationResultDTO(equation.getId(), result, null);
+        } catch (EvaluationException | InvalidEquationException e) {
+            return new EquationEvaluationResultDTO(equation.getId(), null, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.pushkar.postfix_evaluator.service;
+
+import com.pushkar.postfix_evaluator.model.Equation;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight registry of evaluations in progress.
+ * Concurrent evaluations of one equation with the same values of its variables share one
+ * computation: the first caller computes, and callers arriving while it runs wait for it and
+ * get its result or exception. A flight is removed before it completes, so nothing is kept
+ * once the computation is done and later callers compute again.
+ */
+final class InFlightEvaluations {
+    
+    private final ConcurrentHashMap<Key, CompletableFuture<Double>> flights = new ConcurrentHashMap<>();
+    
+    /**
+     * Builds the key identifying an evaluation: the equation instance and the values of the
+     * variables it uses, in schema order. Variables the equation does not use are ignored.
+     * 
+     * @param equation the equation to evaluate
+     * @param variables the request's variable values
+     * @return the key, or null if a variable is missing or null, so the request is not shared
+     */
+    static Key keyOf(Equation equation, Map<String, Number> variables) {
+        String[] schema = equation.getVariableSchema();
+        if (variables == null || schema == null) {
+            return null;
+        }
+        double[] values = new double[schema.length];
+        for (int i = 0; i < schema.length; i++) {
+            Number value = variables.get(schema[i]);
+            if (value == null) {
+                return null;
+            }
+            values[i] = value.doubleValue();
+        }
+        return new Key(equation, values);
+    }
+    
+    /**
+     * Runs a computation unless one with the same key is in flight, in which case its
+     * outcome is shared instead
+     * 
+     * @param key the evaluation key
+     * @param computation the evaluation to run if this caller leads the flight
+     * @param onShared called when this caller joins another caller's flight
+     * @return the result of this or the joined computation
+     */
+    Double evaluate(Key key, Supplier<Double> computation, Runnable onShared) {
+        CompletableFuture<Double> flight = new CompletableFuture<>();
+        CompletableFuture<Double> leader = flights.putIfAbsent(key, flight);
+        if (leader != null) {
+            onShared.run();
+            return await(leader);
+        }
+        
+        Double result;
+        try {
+            result = computation.get();
+        } catch (Throwable e) {
+            flights.remove(key, flight);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        flights.remove(key, flight);
+        flight.complete(result);
+        return result;
+    }
+    
+    /**
+     * Gets the number of flights in progress
+     * 
+     * @return flight count
+     */
+    int size() {
+        return flights.size();
+    }
+    
+    /**
+     * Waits for a flight and rethrows the leader's exception as is
+     */
+    private static Double await(CompletableFuture<Double> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    /**
+     * Equation instance and variable values of an evaluation
+     */
+    static final class Key {
+        private final Equation equation;
+        private final double[] values;
+        private final int hash;
+        
+        private Key(Equation equation, double[] values) {
+            this.equation = equation;
+            this.values = values;
+            this.hash = 31 * System.identityHashCode(equation) + Arrays.hashCode(values);
+        }
+        
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && key.equation == equation && Arrays.equals(key.values, values);
+        }
+        
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
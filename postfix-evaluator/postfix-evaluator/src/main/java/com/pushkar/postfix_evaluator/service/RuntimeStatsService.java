@@ -0,0 +1,116 @@
+package com.pushkar.postfix_evaluator.service;
+
+import com.pushkar.postfix_evaluator.dto.EquationRuntimeStatsDTO;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.model.EquationRuntimeStats;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Service for per-equation evaluation statistics and rankings of the most expensive equations
+ */
+@Service
+public class RuntimeStatsService {
+    
+    @Autowired
+    private EquationRepository equationRepository;
+    
+    /**
+     * Fraction of evaluations whose latency is added to the equation's latency sketch
+     */
+    @Value("${evaluator.stats.sample-rate:0.1}")
+    private double sampleRate;
+    
+    /**
+     * Records one evaluation of a stored equation.
+     * Call counts, errors and total time are exact; latency percentiles are sampled.
+     * 
+     * @param equation the evaluated equation
+     * @param nanos the evaluation time in nanoseconds
+     * @param failed whether the evaluation threw
+     */
+    public void record(Equation equation, long nanos, boolean failed) {
+        boolean sampled = sampleRate >= 1.0
+                || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+        equation.getRuntimeStats().record(nanos, failed, sampled);
+    }
+    
+    /**
+     * Ranks the evaluated equations
+     * 
+     * @param by {@code cpu} for total evaluation time, {@code p99} for tail latency
+     *           or {@code rate} for calls per second
+     * @param limit maximum number of equations to return
+     * @return the top equations, most expensive first
+     * @throws InvalidEquationException if the ranking is unknown or the limit is not positive
+     */
+    public List<EquationRuntimeStatsDTO> getTopEquations(String by, int limit) {
+        Comparator<EquationRuntimeStatsDTO> ranking = rankingFor(by);
+        if (limit < 1) {
+            throw new InvalidEquationException("Limit must be at least 1");
+        }
+        
+        // Min-heap of the best candidates so far, so ranking N of M equations costs M log N
+        PriorityQueue<EquationRuntimeStatsDTO> top = new PriorityQueue<>(ranking);
+        for (Equation equation : equationRepository.findAll()) {
+            if (equation.getRuntimeStats().getCalls() == 0) {
+                continue;
+            }
+            top.offer(snapshot(equation));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        
+        List<EquationRuntimeStatsDTO> result = new ArrayList<>(top);
+        result.sort(ranking.reversed());
+        return result;
+    }
+    
+    /**
+     * Gets the statistics of one equation
+     * 
+     * @param equation the equation
+     * @return the statistics at this moment
+     */
+    public EquationRuntimeStatsDTO snapshot(Equation equation) {
+        EquationRuntimeStats stats = equation.getRuntimeStats();
+        long calls = stats.getCalls();
+        long totalNanos = stats.getTotalNanos();
+        return new EquationRuntimeStatsDTO(
+            equation.getId(),
+            equation.getEquationInfix(),
+            calls,
+            stats.getErrors(),
+            totalNanos / 1e6,
+            calls > 0 ? totalNanos / 1e3 / calls : 0,
+            stats.getLatencyQuantile(0.5) / 1e3,
+            stats.getLatencyQuantile(0.99) / 1e3,
+            stats.getCallsPerSecond()
+        );
+    }
+    
+    private static Comparator<EquationRuntimeStatsDTO> rankingFor(String by) {
+        switch (by) {
+            case "cpu":
+                return Comparator.comparingDouble(EquationRuntimeStatsDTO::getTotalTimeMs);
+            case "p99":
+                return Comparator.comparingDouble(EquationRuntimeStatsDTO::getP99Micros);
+            case "rate":
+                return Comparator.comparingDouble(EquationRuntimeStatsDTO::getCallsPerSecond);
+            default:
+                throw new InvalidEquationException(
+                    "Unknown ranking '" + by + "'; expected cpu, p99 or rate"
+                );
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.pushkar.postfix_evaluator.admission;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimit
+ */
+@DisplayName("Adaptive Concurrency Limit Tests")
+class AdaptiveConcurrencyLimitTest {
+    
+    @Test
+    @DisplayName("should refuse at once when the limit and queue are full")
+    void testRefusesWhenFull() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1000, 0);
+        
+        assertTrue(limit.tryAcquire(0));
+        assertTrue(limit.tryAcquire(0));
+        assertFalse(limit.tryAcquire(TimeUnit.SECONDS.toNanos(5)));
+        assertEquals(2, limit.getInFlight());
+    }
+    
+    @Test
+    @DisplayName("should admit a queued caller when a permit is released")
+    void testQueuedCallerAdmitted() throws Exception {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(1, 1000, 1);
+        assertTrue(limit.tryAcquire(0));
+        
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limit.tryAcquire(TimeUnit.SECONDS.toNanos(5));
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        Thread.sleep(50);
+        limit.release(0);
+        
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+        assertEquals(1, limit.getInFlight());
+    }
+    
+    @Test
+    @DisplayName("should cut the limit on slow completions and grow it back on fast ones")
+    void testAdaptsToLatency() throws InterruptedException {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 10, 0);
+        long slow = TimeUnit.MILLISECONDS.toNanos(50);
+        
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limit.tryAcquire(0));
+            limit.release(slow);
+        }
+        int cut = limit.getLimit();
+        assertTrue(cut < 5, "limit after slow completions: " + cut);
+        
+        for (int round = 0; round < 200; round++) {
+            int held = 0;
+            while (limit.tryAcquire(0)) {
+                held++;
+            }
+            for (int i = 0; i < held; i++) {
+                limit.release(0);
+            }
+        }
+        assertEquals(10, limit.getLimit());
+    }
+}
@@ -0,0 +1,118 @@
+package com.pushkar.postfix_evaluator.admission;
+
+import com.pushkar.postfix_evaluator.exception.OverloadedException;
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for AdmissionInterceptor
+ */
+@DisplayName("Admission Interceptor Tests")
+class AdmissionInterceptorTest {
+    
+    private final EquationRepository equationRepository = new EquationRepository();
+    private final AdaptiveConcurrencyLimit cheapLane = new AdaptiveConcurrencyLimit(2, 1000, 0);
+    private final AdaptiveConcurrencyLimit expensiveLane = new AdaptiveConcurrencyLimit(1, 1000, 0);
+    private AdmissionInterceptor interceptor;
+    private String bigEquationId;
+    private String smallEquationId;
+    
+    @BeforeEach
+    void setUp() {
+        interceptor = new AdmissionInterceptor(equationRepository, new SimpleMeterRegistry(),
+            cheapLane, expensiveLane, 1000, 1 << 20, 0, 3);
+        bigEquationId = equationRepository.save(equationOfSize(5000));
+        smallEquationId = equationRepository.save(equationOfSize(3));
+    }
+    
+    @Test
+    @DisplayName("should shed expensive requests without blocking cheap ones")
+    void testLanesAreSeparate() {
+        MockHttpServletRequest big = evaluateRequest(bigEquationId);
+        assertTrue(interceptor.preHandle(big, new MockHttpServletResponse(), null));
+        
+        OverloadedException shed = assertThrows(OverloadedException.class,
+            () -> interceptor.preHandle(evaluateRequest(bigEquationId), new MockHttpServletResponse(), null));
+        assertEquals(3, shed.getRetryAfterSeconds());
+        
+        assertTrue(interceptor.preHandle(evaluateRequest(smallEquationId), new MockHttpServletResponse(), null));
+        assertEquals(1, expensiveLane.getInFlight());
+        assertEquals(1, cheapLane.getInFlight());
+        
+        interceptor.afterCompletion(big, new MockHttpServletResponse(), null, null);
+        assertEquals(0, expensiveLane.getInFlight());
+    }
+    
+    @Test
+    @DisplayName("should keep the permit across an async dispatch and release it once")
+    void testAsyncDispatch() {
+        MockHttpServletRequest request = evaluateRequest(smallEquationId);
+        request.setContentType("application/json");
+        request.setContent(new byte[16]);
+        
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        assertTrue(interceptor.preHandle(request, new MockHttpServletResponse(), null));
+        assertEquals(1, cheapLane.getInFlight());
+        
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+        interceptor.afterCompletion(request, new MockHttpServletResponse(), null, null);
+        assertEquals(0, cheapLane.getInFlight());
+    }
+    
+    @Test
+    @DisplayName("should admit requests to work-scaled handlers through the expensive lane")
+    void testExpensiveHandler() throws NoSuchMethodException {
+        MockHttpServletRequest sweep = evaluateRequest(smallEquationId);
+        HandlerMethod sweepHandler = new HandlerMethod(new Handlers(), Handlers.class.getMethod("sweep"));
+        assertTrue(interceptor.preHandle(sweep, new MockHttpServletResponse(), sweepHandler));
+        assertEquals(1, expensiveLane.getInFlight());
+        assertEquals(0, cheapLane.getInFlight());
+        
+        HandlerMethod evaluateHandler = new HandlerMethod(new Handlers(), Handlers.class.getMethod("evaluate"));
+        assertTrue(interceptor.preHandle(evaluateRequest(smallEquationId), new MockHttpServletResponse(), evaluateHandler));
+        assertEquals(1, cheapLane.getInFlight());
+        
+        interceptor.afterCompletion(sweep, new MockHttpServletResponse(), sweepHandler, null);
+        assertEquals(0, expensiveLane.getInFlight());
+    }
+    
+    private static MockHttpServletRequest evaluateRequest(String equationId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/equations/" + equationId + "/evaluate");
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, Map.of("equationId", equationId));
+        return request;
+    }
+    
+    private static Equation equationOfSize(int nodes) {
+        TreeStatistics statistics = new TreeStatistics();
+        statistics.setNodeCount(nodes);
+        Equation equation = new Equation();
+        equation.setStatistics(statistics);
+        return equation;
+    }
+    
+    /**
+     * Stand-in controller with one work-scaled and one plain handler
+     */
+    public static class Handlers {
+        
+        @ExpensiveRequest
+        public void sweep() {
+        }
+        
+        public void evaluate() {
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.pushkar.postfix_evaluator.binary;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import com.pushkar.postfix_evaluator.service.EquationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary evaluation protocol over a running server
+ */
+@SpringBootTest(properties = {
+    "evaluator.binary.enabled=true",
+    "evaluator.binary.port=0",
+    "evaluator.limits.evaluation-timeout-ms=1"
+})
+@DisplayName("Binary Evaluation Server Tests")
+class BinaryEvaluationServerTest {
+    
+    @Autowired
+    private BinaryEvaluationServer server;
+    
+    @Autowired
+    private EquationService equationService;
+    
+    @Autowired
+    private EquationRepository equationRepository;
+    
+    private BinaryEvaluationClient client;
+    
+    @BeforeEach
+    void setUp() throws IOException {
+        equationRepository.clear();
+        client = new BinaryEvaluationClient("localhost", server.getPort());
+    }
+    
+    @AfterEach
+    void tearDown() throws IOException {
+        client.close();
+    }
+    
+    @Test
+    @DisplayName("should evaluate with values in alphabetical variable order")
+    void testEvaluate() throws IOException {
+        long id = Long.parseLong(equationService.storeEquation("y - x * 2"));
+        
+        assertEquals(8.0, client.evaluate(id, 1, 10));
+        assertEquals(-2.0, client.evaluate(id, 3, 4));
+    }
+    
+    @Test
+    @DisplayName("should answer pipelined requests in order with their statuses")
+    void testPipelinedStatuses() throws IOException {
+        long id = Long.parseLong(equationService.storeEquation("a / b"));
+        
+        client.send(id, 6, 3);
+        client.send(id + 100, 1, 2);
+        client.send(id, 1);
+        client.send(id, 1, 0);
+        client.send(id, 5, 2);
+        client.flush();
+        
+        assertEquals(BinaryProtocol.OK, client.receive());
+        assertEquals(2.0, client.getResult());
+        assertEquals(BinaryProtocol.NOT_FOUND, client.receive());
+        assertTrue(Double.isNaN(client.getResult()));
+        assertEquals(BinaryProtocol.INVALID_REQUEST, client.receive());
+        assertEquals(BinaryProtocol.EVALUATION_ERROR, client.receive());
+        assertEquals(BinaryProtocol.OK, client.receive());
+        assertEquals(2.5, client.getResult());
+    }
+    
+    @Test
+    @DisplayName("should sustain many pipelined windows on one connection")
+    void testManyPipelinedRequests() throws IOException {
+        long id = Long.parseLong(equationService.storeEquation("a * b + 1"));
+        
+        for (int window = 0; window < 100; window++) {
+            for (int i = 0; i < 1000; i++) {
+                client.send(id, i, window);
+            }
+            client.flush();
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(BinaryProtocol.OK, client.receive());
+                assertEquals(i * window + 1.0, client.getResult());
+            }
+        }
+    }
+    
+    @Test
+    @DisplayName("should report a deleted equation as not found")
+    void testDeletedEquation() throws IOException {
+        String id = equationService.storeEquation("x + 1");
+        assertEquals(2.0, client.evaluate(Long.parseLong(id), 1));
+        
+        equationRepository.deleteById(id);
+        
+        EvaluationException exception = assertThrows(EvaluationException.class,
+            () -> client.evaluate(Long.parseLong(id), 1));
+        assertEquals(BinaryProtocol.describe(BinaryProtocol.NOT_FOUND), exception.getMessage());
+    }
+    
+    @Test
+    @DisplayName("should give up on an evaluation past its deadline and keep serving the connection")
+    void testEvaluationDeadline() throws IOException {
+        // Powers are the slowest instruction; 108k of them take several times the 1 ms deadline
+        String term = "x" + " ^ 1.5".repeat(9);
+        StringBuilder equation = new StringBuilder(term);
+        for (int i = 1; i < 12_000; i++) {
+            equation.append(" + ").append(term);
+        }
+        long slow = Long.parseLong(equationService.storeEquation(equation.toString()));
+        long fast = Long.parseLong(equationService.storeEquation("x + 1"));
+        
+        for (int i = 0; i < 3; i++) {
+            EvaluationException exception = assertThrows(EvaluationException.class,
+                () -> client.evaluate(slow, 1.5));
+            assertEquals(BinaryProtocol.describe(BinaryProtocol.TIMEOUT), exception.getMessage());
+        }
+        assertEquals(3.0, client.evaluate(fast, 2));
+    }
+    
+    @Test
+    @DisplayName("should close the connection on a malformed frame")
+    void testMalformedFrame() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", server.getPort()))) {
+            channel.write(ByteBuffer.allocate(BinaryProtocol.REQUEST_HEADER_BYTES).putLong(1).putInt(-1).flip());
+            
+            assertEquals(-1, channel.read(ByteBuffer.allocate(BinaryProtocol.RESPONSE_BYTES)));
+        }
+        
+        // Other connections are unaffected
+        long id = Long.parseLong(equationService.storeEquation("x + 1"));
+        assertEquals(3.0, client.evaluate(id, 2));
+    }
+}
@@ -0,0 +1,183 @@
+package com.pushkar.postfix_evaluator.controller;
+
+import com.pushkar.postfix_evaluator.dto.EquationEvaluationRequestDTO;
+import com.pushkar.postfix_evaluator.dto.EquationEvaluationResultDTO;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import com.pushkar.postfix_evaluator.service.EquationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.DisposableServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the reactive streaming API over a running Reactor Netty server
+ */
+@SpringBootTest(properties = {
+    "evaluator.reactive.enabled=true",
+    "evaluator.reactive.port=0",
+    "evaluator.reactive.max-line-bytes=4096"
+})
+@DisplayName("Reactive Equation Handler Tests")
+class ReactiveEquationHandlerTest {
+    
+    @Autowired
+    private DisposableServer reactiveServer;
+    
+    @Autowired
+    private EquationService equationService;
+    
+    @Autowired
+    private EquationRepository equationRepository;
+    
+    private WebTestClient client;
+    
+    @BeforeEach
+    void setUp() {
+        equationRepository.clear();
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveServer.port())
+                .responseTimeout(Duration.ofSeconds(30))
+                .build();
+    }
+    
+    @Test
+    @DisplayName("should stream one result per request in request order")
+    void testEvaluateStream() {
+        String id = equationService.storeEquation("x / y");
+        
+        List<EquationEvaluationResultDTO> results = post(Flux.just(
+            new EquationEvaluationRequestDTO(id, Map.of("x", 6, "y", 3)),
+            new EquationEvaluationRequestDTO("missing", Map.of("x", 1)),
+            new EquationEvaluationRequestDTO(id, Map.of("x", 1, "y", 0)),
+            new EquationEvaluationRequestDTO(id, null),
+            new EquationEvaluationRequestDTO(id, Map.of("x", 5, "y", 2))
+        ));
+        
+        assertEquals(5, results.size());
+        assertEquals(2.0, results.get(0).getResult());
+        assertEquals("Equation with ID 'missing' not found", results.get(1).getError());
+        assertEquals("Division by zero", results.get(2).getError());
+        assertNotNull(results.get(3).getError());
+        assertEquals(2.5, results.get(4).getResult());
+    }
+    
+    @Test
+    @DisplayName("should sustain a long stream on one connection")
+    void testLongStream() {
+        String id = equationService.storeEquation("a * b + 1");
+        int count = 50_000;
+        
+        List<EquationEvaluationResultDTO> results = post(Flux.range(0, count)
+            .map(i -> new EquationEvaluationRequestDTO(id, Map.of("a", i, "b", 2))));
+        
+        assertEquals(count, results.size());
+        for (int i = 0; i < count; i += 997) {
+            assertEquals(i * 2 + 1.0, results.get(i).getResult());
+        }
+    }
+    
+    @Test
+    @DisplayName("should end the stream with an error result for a malformed line")
+    void testMalformedLine() {
+        String id = equationService.storeEquation("x + 1");
+        String body = "{\"equationId\":\"" + id + "\",\"variables\":{\"x\":1}}\n{not json\n";
+        
+        List<EquationEvaluationResultDTO> results = client.post()
+                .uri("/api/reactive/equations/evaluate")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(body)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EquationEvaluationResultDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        
+        assertEquals(2, results.size());
+        assertEquals(2.0, results.get(0).getResult());
+        assertTrue(results.get(1).getError().startsWith("Malformed request"));
+    }
+    
+    @Test
+    @DisplayName("should end the stream with an error result for a line that never ends")
+    void testOverlongLine() throws Exception {
+        String id = equationService.storeEquation("x + 1");
+        byte[] padding = new byte[1024];
+        Arrays.fill(padding, (byte) ' ');
+        
+        // A raw socket, because the test clients only read the response once the request is complete
+        try (Socket socket = new Socket("localhost", reactiveServer.port())) {
+            socket.setSoTimeout(30_000);
+            OutputStream out = socket.getOutputStream();
+            out.write(("POST /api/reactive/equations/evaluate HTTP/1.1\r\nHost: localhost\r\n"
+                + "Content-Type: application/x-ndjson\r\nTransfer-Encoding: chunked\r\n\r\n")
+                .getBytes(StandardCharsets.US_ASCII));
+            writeChunk(out, ("{\"equationId\":\"" + id + "\",\"variables\":{\"x\":1}}\n").getBytes(StandardCharsets.UTF_8));
+            
+            // The line never ends; the writer stops when the socket is closed
+            Thread writer = new Thread(() -> {
+                try {
+                    while (true) {
+                        writeChunk(out, padding);
+                    }
+                } catch (IOException e) {
+                    // Closed by the server or the test
+                }
+            });
+            writer.setDaemon(true);
+            writer.start();
+            
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            List<String> results = new ArrayList<>();
+            for (String line = in.readLine(); line != null && !line.equals("0"); line = in.readLine()) {
+                if (line.startsWith("{")) {
+                    results.add(line);
+                }
+            }
+            
+            assertEquals(2, results.size());
+            assertEquals("{\"equationId\":\"" + id + "\",\"result\":2.0}", results.get(0));
+            assertEquals("{\"error\":\"Malformed request: line exceeds the limit of 4096 bytes\"}", results.get(1));
+        }
+    }
+    
+    private static void writeChunk(OutputStream out, byte[] bytes) throws IOException {
+        out.write((Integer.toHexString(bytes.length) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.write(bytes);
+        out.write("\r\n".getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+    
+    private List<EquationEvaluationResultDTO> post(Flux<EquationEvaluationRequestDTO> requests) {
+        return client.post()
+                .uri("/api/reactive/equations/evaluate")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .body(requests, EquationEvaluationRequestDTO.class)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EquationEvaluationResultDTO.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+    }
+}
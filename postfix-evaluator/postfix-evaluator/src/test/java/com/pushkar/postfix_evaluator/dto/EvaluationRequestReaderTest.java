@@ -0,0 +1,78 @@
+package com.pushkar.postfix_evaluator.dto;
+
+import com.pushkar.postfix_evaluator.engine.VariableSlots;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EvaluationRequestReader
+ */
+@DisplayName("Evaluation Request Reader Tests")
+class EvaluationRequestReaderTest {
+    
+    private static final JsonMapper MAPPER = JsonMapper.builder().build();
+    private static final String[] SCHEMA = {"x", "y", "z"};
+    
+    private static VariableSlots read(String body) {
+        try (JsonParser parser = MAPPER.createParser(body)) {
+            return EvaluationRequestReader.readVariables(parser, SCHEMA);
+        }
+    }
+    
+    @Test
+    @DisplayName("should read numbers into their slots")
+    void testReadNumbers() {
+        VariableSlots slots = read("{\"variables\": {\"z\": 1.5, \"x\": 2, \"y\": -3e2}}");
+        
+        assertEquals(Map.of("x", 2.0, "y", -300.0, "z", 1.5), slots);
+    }
+    
+    @Test
+    @DisplayName("should skip unused variables and other fields")
+    void testSkipUnknown() {
+        VariableSlots slots = read("{\"note\": {\"a\": [1, 2]}, \"variables\": {\"x\": 1, \"w\": \"abc\", \"v\": {\"p\": 1}}}");
+        
+        assertEquals(Map.of("x", 1.0), slots);
+        assertFalse(slots.containsKey("y"));
+        assertFalse(slots.containsKey("w"));
+    }
+    
+    @Test
+    @DisplayName("should treat null values as zero and coerce numeric strings")
+    void testNullAndStrings() {
+        VariableSlots slots = read("{\"variables\": {\"x\": null, \"y\": \"4.5\"}}");
+        
+        assertEquals(Map.of("x", 0.0, "y", 4.5), slots);
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"{}", "{\"variables\": null}", "null", ""})
+    @DisplayName("should reject a missing variables map")
+    void testMissingVariables(String body) {
+        InvalidEquationException e = assertThrows(InvalidEquationException.class, () -> read(body));
+        assertEquals("Request body and variables map cannot be null", e.getMessage());
+    }
+    
+    @Test
+    @DisplayName("should reject variables that are not an object")
+    void testVariablesNotObject() {
+        assertThrows(InvalidEquationException.class, () -> read("{\"variables\": [1, 2]}"));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"{\"variables\": {\"x\": true}}", "{\"variables\": {\"x\": \"abc\"}}", "{\"variables\": {\"x\": 1"})
+    @DisplayName("should fail on values that are not numbers and on malformed JSON")
+    void testMalformed(String body) {
+        assertThrows(JacksonException.class, () -> read(body));
+    }
+}
@@ -0,0 +1,88 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that warmed-up evaluation allocates nothing, using the JVM's per-thread allocation counter
+ */
+@DisplayName("Allocation-Free Evaluation Tests")
+class AllocationFreeEvaluationTest {
+    
+    private static final int EVALUATIONS = 1000;
+    
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    
+    private TreeNode root;
+    private Map<String, Number> variables;
+    
+    @BeforeEach
+    void setUp() {
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+        threads.setThreadAllocatedMemoryEnabled(true);
+        
+        // 1k-node tree mixing every operator, constants and variables
+        StringBuilder equation = new StringBuilder("x");
+        String[] terms = {" + 2 * y", " - z / 4", " + x ^ 2", " * 1.5 - y"};
+        for (int i = 0; i < 125; i++) {
+            equation.append(terms[i % terms.length]);
+        }
+        root = EquationParser.parse(equation.toString());
+        
+        variables = new HashMap<>();
+        variables.put("x", 1.25);
+        variables.put("y", 3);
+        variables.put("z", 2.0);
+    }
+    
+    @Test
+    @DisplayName("should evaluate the tree without allocating")
+    void testInterpreterAllocatesNothing() {
+        double expected = EvaluatorService.evaluate(root, variables);
+        
+        long allocated = allocatedBytes(() -> {
+            for (int i = 0; i < EVALUATIONS; i++) {
+                assertEquals(expected, EvaluatorService.evaluateToDouble(root, variables));
+            }
+        });
+        
+        assertTrue(allocated < EVALUATIONS, "Allocated " + allocated + " bytes");
+    }
+    
+    @Test
+    @DisplayName("should evaluate the compiled form without allocating")
+    void testCompiledAllocatesNothing() {
+        CompiledExpression compiled = CompiledExpression.compile(root);
+        double expected = EvaluatorService.evaluate(root, variables);
+        
+        long allocated = allocatedBytes(() -> {
+            for (int i = 0; i < EVALUATIONS; i++) {
+                assertEquals(expected, compiled.evaluate(variables));
+            }
+        });
+        
+        assertTrue(allocated < EVALUATIONS, "Allocated " + allocated + " bytes");
+    }
+    
+    /**
+     * Measures the bytes allocated by the current thread while running an action, after a warm-up run
+     */
+    private long allocatedBytes(Runnable action) {
+        action.run();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        action.run();
+        return threads.getCurrentThreadAllocatedBytes() - before;
+    }
+}
@@ -0,0 +1,67 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BatchAggregate
+ */
+@DisplayName("Batch Aggregate Tests")
+class BatchAggregateTest {
+    
+    @Test
+    @DisplayName("should sum without losing small values to rounding")
+    void testCompensatedSum() {
+        BatchAggregate aggregate = new BatchAggregate(0);
+        aggregate.add(0, 1e16);
+        for (int i = 1; i <= 1000; i++) {
+            aggregate.add(i, 1.0);
+        }
+        aggregate.add(1001, -1e16);
+        
+        assertEquals(1000.0, aggregate.sum());
+        assertEquals(1002, aggregate.count());
+    }
+    
+    @Test
+    @DisplayName("should merge chunks like one pass, keeping the first row on ties")
+    void testMergeMatchesSinglePass() {
+        double[] values = {3, -1, 7, 7, 2, -1, 5, 0};
+        BatchAggregate single = new BatchAggregate(3);
+        BatchAggregate first = new BatchAggregate(3);
+        BatchAggregate second = new BatchAggregate(3);
+        for (int row = 0; row < values.length; row++) {
+            single.add(row, values[row]);
+            (row < 3 ? first : second).add(row, values[row]);
+        }
+        first.addError();
+        first.merge(second);
+        
+        for (BatchAggregate aggregate : List.of(single, first)) {
+            assertEquals(-1.0, aggregate.min());
+            assertEquals(1, aggregate.argmin());
+            assertEquals(7.0, aggregate.max());
+            assertEquals(2, aggregate.argmax());
+            assertEquals(22.0, aggregate.sum());
+            assertEquals(2.75, aggregate.mean());
+            assertEquals(List.of(new RankedRow(2, 7), new RankedRow(3, 7), new RankedRow(6, 5)), aggregate.topK());
+        }
+        assertEquals(1, first.errorCount());
+    }
+    
+    @Test
+    @DisplayName("should report no extremes without results")
+    void testEmpty() {
+        BatchAggregate aggregate = new BatchAggregate(5);
+        aggregate.addError();
+        
+        assertEquals(0.0, aggregate.sum());
+        assertTrue(Double.isNaN(aggregate.mean()));
+        assertEquals(-1, aggregate.argmax());
+        assertTrue(aggregate.topK().isEmpty());
+    }
+}
@@ -0,0 +1,127 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CompiledExpression
+ */
+@DisplayName("Compiled Expression Tests")
+class CompiledExpressionTest {
+    
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "3*x + 2*y - z",
+        "2^3^2",
+        "10 - 5 - 2",
+        "(a + b) * (c - d) / 2",
+        "-x + 4",
+        "x^0.5 * (y - (-1))"
+    })
+    @DisplayName("should match the tree interpreter")
+    void testMatchesInterpreter(String equation) {
+        TreeNode root = EquationParser.parse(equation);
+        Map<String, Number> vars = Map.of("x", 2, "y", 3, "z", 1, "a", 1.5, "b", 2, "c", 7, "d", 4);
+        
+        CompiledExpression compiled = CompiledExpression.compile(root);
+        assertEquals(EvaluatorService.evaluate(root, vars), compiled.evaluate(vars));
+    }
+    
+    @Test
+    @DisplayName("should expose variables in sorted slot order")
+    void testVariableSchema() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("z + x * y + x"));
+        assertArrayEquals(new String[] {"x", "y", "z"}, compiled.getVariableNames());
+        assertEquals(7, compiled.size());
+    }
+    
+    @Test
+    @DisplayName("should evaluate pre-resolved slots")
+    void testEvaluateSlots() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("b - a / 2"));
+        assertEquals(9.0, compiled.evaluate(new double[] {2, 10}));
+    }
+    
+    @Test
+    @DisplayName("should evaluate variable slots and report unset ones as missing")
+    void testEvaluateVariableSlots() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("b - a / 2"));
+        VariableSlots slots = new VariableSlots(new String[] {"a", "b"});
+        slots.set(slots.indexOf("b"), 10);
+        
+        EvaluationException e = assertThrows(EvaluationException.class, () -> compiled.evaluate(slots));
+        assertEquals("Variable 'a' not provided in variables map", e.getMessage());
+        
+        slots.set(slots.indexOf("a"), 2);
+        assertEquals(9.0, compiled.evaluate(slots));
+        assertEquals(Map.of("a", 2.0, "b", 10.0), slots);
+    }
+    
+    @Test
+    @DisplayName("should read slots of a different schema by name")
+    void testEvaluateForeignSlots() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("b - a / 2"));
+        VariableSlots slots = new VariableSlots(new String[] {"a", "b", "c"});
+        slots.set(0, 2);
+        slots.set(1, 10);
+        
+        assertEquals(9.0, compiled.evaluate(slots));
+    }
+    
+    @Test
+    @DisplayName("should report missing variable")
+    void testMissingVariable() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("x + y"));
+        EvaluationException e = assertThrows(EvaluationException.class,
+            () -> compiled.evaluate(Map.of("x", 1)));
+        assertEquals("Variable 'y' not provided in variables map", e.getMessage());
+    }
+    
+    @Test
+    @DisplayName("should report the first error in evaluation order")
+    void testErrorOrder() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("1/0 + x"));
+        EvaluationException e = assertThrows(EvaluationException.class,
+            () -> compiled.evaluate(new HashMap<>()));
+        assertEquals("Division by zero", e.getMessage());
+    }
+    
+    @Test
+    @DisplayName("should treat null variable values as zero")
+    void testNullVariableValue() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("x + 1"));
+        Map<String, Number> vars = new HashMap<>();
+        vars.put("x", null);
+        assertEquals(1.0, compiled.evaluate(vars));
+    }
+    
+    @Test
+    @DisplayName("should compile very deep trees without recursion")
+    void testDeepTree() {
+        StringBuilder equation = new StringBuilder("x");
+        for (int i = 0; i < 20000; i++) {
+            equation.append(" + 1");
+        }
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse(equation.toString()));
+        assertEquals(20001.0, compiled.evaluate(Map.of("x", 1)));
+    }
+    
+    @Test
+    @DisplayName("should reject malformed trees")
+    void testMalformedTree() {
+        TreeNode root = new TreeNode("+", new TreeNode("1", null, null), null);
+        assertThrows(EvaluationException.class, () -> CompiledExpression.compile(root));
+        assertThrows(EvaluationException.class, () -> CompiledExpression.compile(null));
+    }
+}
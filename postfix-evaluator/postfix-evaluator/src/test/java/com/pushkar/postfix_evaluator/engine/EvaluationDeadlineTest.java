@@ -0,0 +1,75 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationTimeoutException;
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EvaluationDeadline checks in the evaluation engines
+ */
+@DisplayName("Evaluation Deadline Tests")
+class EvaluationDeadlineTest {
+    
+    private static String sum(int terms) {
+        StringBuilder equation = new StringBuilder("x");
+        for (int i = 1; i < terms; i++) {
+            equation.append(" + x");
+        }
+        return equation.toString();
+    }
+    
+    private static TreeNode chain(int terms) {
+        return EquationParser.parse(sum(terms));
+    }
+    
+    @Test
+    @DisplayName("should stop every engine once a passed deadline is checked")
+    void testExpiredDeadline() {
+        TreeNode root = chain(2000);
+        Map<String, Number> vars = Map.of("x", 1);
+        CompiledExpression compiled = CompiledExpression.compile(root);
+        
+        EvaluationTimeoutException e = assertThrows(EvaluationTimeoutException.class,
+            () -> EvaluatorService.evaluateToDouble(root, vars, EvaluationDeadline.after(-1)));
+        assertEquals("Evaluation exceeded its deadline of -1 ms", e.getMessage());
+        assertEquals(PipelineOutcome.TIMEOUT, PipelineOutcome.of(e));
+        assertThrows(EvaluationTimeoutException.class,
+            () -> compiled.evaluate(vars, EvaluationDeadline.after(-1)));
+        assertThrows(EvaluationTimeoutException.class,
+            () -> ParallelTreeEvaluator.evaluate(EquationParser.parse("(" + sum(700) + ") * (" + sum(700) + ")"),
+                vars, 1, EvaluationDeadline.after(-1)));
+    }
+    
+    @Test
+    @DisplayName("should stop profiling once a passed deadline is checked, without counting an error")
+    void testProfileDeadline() {
+        TreeNode root = chain(10);
+        List<Map<String, Number>> bindings = List.of(Map.of("x", 1), Map.of("x", 2));
+        
+        assertThrows(EvaluationTimeoutException.class,
+            () -> EvaluationProfiler.profile(root, bindings, 10, EvaluationDeadline.after(-1)));
+        assertEquals(0, EvaluationProfiler.profile(root, bindings, 10, EvaluationDeadline.after(60_000)).getErrorCount());
+    }
+    
+    @Test
+    @DisplayName("should not read the clock before the check interval")
+    void testCheckInterval() {
+        TreeNode root = chain(EvaluationDeadline.CHECK_INTERVAL / 2);
+        Map<String, Number> vars = Map.of("x", 1);
+        
+        // Fewer steps than the interval never reach a check, so even a passed deadline is not noticed
+        assertEquals(EvaluationDeadline.CHECK_INTERVAL / 2,
+            EvaluatorService.evaluateToDouble(root, vars, EvaluationDeadline.after(-1)));
+        assertEquals(2000.0, CompiledExpression.compile(chain(2000))
+            .evaluate(vars, EvaluationDeadline.after(60_000)));
+    }
+}
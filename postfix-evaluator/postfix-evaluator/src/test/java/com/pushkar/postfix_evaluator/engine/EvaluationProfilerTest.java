@@ -0,0 +1,147 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationTimeoutException;
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EvaluationProfiler
+ */
+@DisplayName("Evaluation Profiler Tests")
+class EvaluationProfilerTest {
+    
+    @Test
+    @DisplayName("should count evaluations of every subtree")
+    void testEvaluationCounts() {
+        TreeNode root = EquationParser.parse("(a + b) * c");
+        List<Map<String, Number>> bindings = List.of(
+            Map.of("a", 1, "b", 2, "c", 3),
+            Map.of("a", 4, "b", 5, "c", 6),
+            Map.of("a", 7, "b", 8, "c", 9)
+        );
+        
+        EvaluationProfile profile = EvaluationProfiler.profile(root, bindings, 10);
+        
+        assertEquals(3, profile.getBindingCount());
+        assertEquals(0, profile.getErrorCount());
+        assertEquals(2, profile.getSubtrees().size());
+        assertEquals("(a+b)*c", profile.getSubtrees().get(0).getExpression());
+        for (SubtreeProfile subtree : profile.getSubtrees()) {
+            assertEquals(3, subtree.getEvaluations());
+            assertTrue(subtree.getTotalMicros() >= subtree.getSelfMicros());
+        }
+    }
+    
+    @Test
+    @DisplayName("should annotate operators in reconstructed infix form")
+    void testAnnotatedForm() {
+        TreeNode root = EquationParser.parse("x^2 / y");
+        EvaluationProfile profile = EvaluationProfiler.profile(root, List.of(Map.of("x", 3, "y", 2)), 10);
+        
+        assertTrue(profile.getAnnotated().matches("x\\^\\[\\d+\\.\\d%]2/\\[\\d+\\.\\d%]y"),
+            profile.getAnnotated());
+        assertTrue(profile.getPowerTimeShare() > 0);
+        assertTrue(profile.getDivisionTimeShare() > 0);
+        assertTrue(profile.getPowerTimeShare() + profile.getDivisionTimeShare() <= 1.0);
+    }
+    
+    @Test
+    @DisplayName("should report failing bindings without aborting the run")
+    void testErrors() {
+        TreeNode root = EquationParser.parse("x / y");
+        Map<String, Number> missing = new HashMap<>();
+        missing.put("x", 1);
+        List<Map<String, Number>> bindings = Arrays.asList(
+            Map.of("x", 1, "y", 0),
+            missing,
+            null,
+            Map.of("x", 1, "y", 2)
+        );
+        
+        EvaluationProfile profile = EvaluationProfiler.profile(root, bindings, 10);
+        
+        assertEquals(4, profile.getBindingCount());
+        assertEquals(3, profile.getErrorCount());
+        assertEquals("Division by zero", profile.getFirstError());
+        assertEquals(1, profile.getSubtrees().get(0).getEvaluations());
+        assertTrue(profile.getSubtrees().get(0).getSelfMicros() >= 0);
+    }
+    
+    @Test
+    @DisplayName("should suggest folding constant subtrees")
+    void testConstantFolding() {
+        TreeNode root = EquationParser.parse("x * (2 ^ 10) + (1 / 0) + 3 * 4 - 2");
+        List<String> suggestions = EvaluationProfiler.profile(root, List.of(Map.of("x", 1)), 10).getSuggestions();
+        
+        assertTrue(suggestions.contains("Constant subtree 2^10 could be folded to 1024"), suggestions.toString());
+        assertTrue(suggestions.contains("Constant subtree 3*4 could be folded to 12"), suggestions.toString());
+        assertTrue(suggestions.contains("Constant subtree 1/0 always fails: Division by zero"), suggestions.toString());
+    }
+    
+    @Test
+    @DisplayName("should suggest cheaper forms of powers, divisions and repeated subtrees")
+    void testRewriteSuggestions() {
+        TreeNode root = EquationParser.parse("x^2 + y / 4 + (a + b) * (a + b) + z / 3");
+        Map<String, Number> vars = Map.of("x", 1, "y", 2, "z", 3, "a", 4, "b", 5);
+        List<String> suggestions = EvaluationProfiler.profile(root, List.of(vars), 10).getSuggestions();
+        
+        assertTrue(suggestions.contains("Power x^2 could be written as x*x to avoid Math.pow"),
+            suggestions.toString());
+        assertTrue(suggestions.contains(
+            "Division by 4 in y/4 could be a multiplication by 0.25, which gives the same result"),
+            suggestions.toString());
+        assertTrue(suggestions.contains(
+            "Subtree a+b is evaluated 2 times per binding; passing it in as a variable would compute it once"),
+            suggestions.toString());
+        assertTrue(suggestions.stream().noneMatch(s -> s.contains("z/3")), suggestions.toString());
+    }
+    
+    @Test
+    @DisplayName("should profile trees too deep for recursive evaluation")
+    void testDeepTree() {
+        StringBuilder equation = new StringBuilder("x");
+        for (int i = 0; i < 20000; i++) {
+            equation.append(" + 1");
+        }
+        TreeNode root = EquationParser.parse(equation.toString());
+        
+        EvaluationProfile profile = EvaluationProfiler.profile(root, List.of(Map.of("x", 1)), 3);
+        
+        assertEquals(0, profile.getErrorCount());
+        assertEquals(3, profile.getSubtrees().size());
+        assertTrue(profile.getSubtrees().get(0).getExpression().endsWith("..."));
+        assertEquals(EvaluationProfiler.MAX_EXPRESSION_LENGTH, profile.getSubtrees().get(0).getExpression().length());
+    }
+    
+    @Test
+    @DisplayName("should stop reporting subtrees once the deadline passes")
+    void testReportingDeadline() {
+        TreeNode root = EquationParser.parse("x" + " + 1".repeat(2000));
+        EvaluationDeadline deadline = EvaluationDeadline.after(200);
+        
+        // The only binding outlasts the deadline, so it passes while subtrees are reported
+        Map<String, Number> binding = new HashMap<>() {
+            @Override
+            public Number get(Object key) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return 1;
+            }
+        };
+        
+        assertThrows(EvaluationTimeoutException.class,
+            () -> EvaluationProfiler.profile(root, List.of(binding), 1000, deadline));
+    }
+}
@@ -0,0 +1,112 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExecutionPlanner
+ */
+@DisplayName("Execution Planner Tests")
+class ExecutionPlannerTest {
+    
+    private final ExecutionPlanner planner = new ExecutionPlanner(4, 1000, 100, 100_000);
+    
+    @Test
+    @DisplayName("should collect tree statistics")
+    void testCollectStatistics() {
+        TreeStatistics stats = ExecutionPlanner.collectStatistics(EquationParser.parse("x^2 / (y + x) - 3"));
+        
+        assertEquals(9, stats.getNodeCount());
+        assertEquals(4, stats.getDepth());
+        assertEquals(2, stats.getVariableCount());
+        assertEquals(1, stats.getPowerCount());
+        assertEquals(1, stats.getDivisionCount());
+    }
+    
+    @Test
+    @DisplayName("should interpret small trees with a single binding")
+    void testSmallTreeInterpreted() {
+        assertEquals(ExecutionStrategy.INTERPRETED, planner.choose(equation("x + 1"), 1));
+    }
+    
+    @Test
+    @DisplayName("should use resident compiled form for single bindings")
+    void testResidentCompiledForm() {
+        Equation equation = equation("x + 1");
+        equation.setCompiled(CompiledExpression.compile(equation.getRootNode()));
+        assertEquals(ExecutionStrategy.COMPILED, planner.choose(equation, 1));
+    }
+    
+    @Test
+    @DisplayName("should compile deep trees instead of interpreting recursively")
+    void testDeepTreeCompiled() {
+        assertEquals(ExecutionStrategy.COMPILED, planner.choose(equation(chain(200)), 1));
+    }
+    
+    @Test
+    @DisplayName("should fork-join large balanced trees")
+    void testLargeBalancedTreeParallel() {
+        assertEquals(ExecutionStrategy.PARALLEL, planner.choose(equation(balanced(10)), 1));
+    }
+    
+    @Test
+    @DisplayName("should vectorize small batches and parallelize large ones")
+    void testBatchStrategies() {
+        Equation equation = equation("x * y + 1");
+        assertEquals(ExecutionStrategy.VECTORIZED, planner.choose(equation, 100));
+        assertEquals(ExecutionStrategy.PARALLEL, planner.choose(equation, 100_000));
+    }
+    
+    @Test
+    @DisplayName("should weigh power operators when sizing batch work")
+    void testPowerCostRaisesBatchWork() {
+        long plain = planner.plan(equation("x * y"), 1000).getEstimatedCost();
+        long power = planner.plan(equation("x ^ y"), 1000).getEstimatedCost();
+        assertTrue(power > plain);
+    }
+    
+    @Test
+    @DisplayName("should never parallelize on a single worker")
+    void testSingleWorker() {
+        ExecutionPlanner sequential = new ExecutionPlanner(1, 1000, 100, 100_000);
+        assertEquals(ExecutionStrategy.VECTORIZED, sequential.choose(equation("x + 1"), 1_000_000));
+        assertEquals(ExecutionStrategy.INTERPRETED, sequential.choose(equation(balanced(10)), 1));
+    }
+    
+    @Test
+    @DisplayName("should explain the chosen plan")
+    void testPlanExplains() {
+        ExecutionPlan plan = planner.plan(equation("x + 1"), 1);
+        assertEquals(ExecutionStrategy.INTERPRETED, plan.getStrategy());
+        assertNotNull(plan.getReason());
+        assertEquals(3, plan.getStatistics().getNodeCount());
+    }
+    
+    private static Equation equation(String infix) {
+        Equation equation = new Equation();
+        equation.setEquationInfix(infix);
+        equation.setRootNode(EquationParser.parse(infix));
+        return equation;
+    }
+    
+    private static String chain(int terms) {
+        StringBuilder sb = new StringBuilder("x");
+        for (int i = 0; i < terms; i++) {
+            sb.append(" + 1");
+        }
+        return sb.toString();
+    }
+    
+    private static String balanced(int levels) {
+        if (levels == 0) {
+            return "x";
+        }
+        String child = balanced(levels - 1);
+        return "(" + child + ") * (" + child + ")";
+    }
+}
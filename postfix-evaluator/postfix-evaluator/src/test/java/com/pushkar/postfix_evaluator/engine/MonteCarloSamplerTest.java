@@ -0,0 +1,103 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MonteCarloSampler and its aggregates
+ */
+@DisplayName("Monte Carlo Sampler Tests")
+class MonteCarloSamplerTest {
+    
+    @Test
+    @DisplayName("should draw from the configured distributions")
+    void testDistributions() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("x + 10 * y"));
+        MonteCarloSampler sampler = new MonteCarloSampler(2);
+        sampler.setUniform(0, 0, 1);
+        sampler.setConstant(1, 2);
+        
+        SampleStatistics statistics = sampler.sampleBlock(compiled, new SplittableRandom(1),
+            MonteCarloSampler.BLOCK_SIZE, new ValueSketch());
+        
+        assertEquals(MonteCarloSampler.BLOCK_SIZE, statistics.count());
+        assertEquals(20.5, statistics.mean(), 0.02);
+        assertEquals(1.0 / 12, statistics.variance(), 0.005);
+        assertTrue(statistics.min() >= 20 && statistics.max() < 21);
+    }
+    
+    @Test
+    @DisplayName("should count failed and non-finite results as errors")
+    void testErrors() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("1 / x"));
+        MonteCarloSampler sampler = new MonteCarloSampler(1);
+        sampler.setConstant(0, 0);
+        
+        SampleStatistics statistics = sampler.sampleBlock(compiled, new SplittableRandom(1), 10, new ValueSketch());
+        
+        assertEquals(0, statistics.count());
+        assertEquals(10, statistics.errorCount());
+        assertTrue(Double.isNaN(statistics.mean()));
+    }
+    
+    @Test
+    @DisplayName("should merge partial statistics like one sequential run")
+    void testMerge() {
+        SampleStatistics all = new SampleStatistics();
+        SampleStatistics first = new SampleStatistics();
+        SampleStatistics second = new SampleStatistics();
+        for (int i = 1; i <= 100; i++) {
+            all.add(i * 1.5);
+            (i <= 30 ? first : second).add(i * 1.5);
+        }
+        first.merge(second);
+        
+        assertEquals(all.count(), first.count());
+        assertEquals(all.mean(), first.mean(), 1e-12);
+        assertEquals(all.variance(), first.variance(), 1e-9);
+        assertEquals(1.5, first.min());
+        assertEquals(150.0, first.max());
+    }
+    
+    @Test
+    @DisplayName("should estimate quantiles within the sketch's accuracy")
+    void testSketchQuantiles() {
+        ValueSketch sketch = new ValueSketch();
+        for (int i = 1; i <= 1000; i++) {
+            sketch.record(i);
+            sketch.record(-i);
+        }
+        sketch.record(0);
+        
+        assertEquals(2001, sketch.count());
+        assertEquals(0.0, sketch.quantile(0.5));
+        assertEquals(900.0, sketch.quantile(0.95), 900 * 0.004);
+        assertEquals(-500.0, sketch.quantile(0.25), 500 * 0.004);
+        assertEquals(2001, Arrays.stream(sketch.histogram(-1000, 1000, 4)).sum());
+    }
+    
+    @Test
+    @DisplayName("should merge partial sketches into exactly the sketch of all values")
+    void testSketchMerge() {
+        ValueSketch all = new ValueSketch();
+        ValueSketch odd = new ValueSketch();
+        ValueSketch even = new ValueSketch();
+        for (int i = 1; i <= 1000; i++) {
+            all.record(i * 1.5);
+            (i % 2 == 0 ? even : odd).record(i * 1.5);
+        }
+        
+        ValueSketch merged = new ValueSketch();
+        merged.merge(even);
+        merged.merge(odd);
+        assertEquals(all.count(), merged.count());
+        assertEquals(all.quantile(0.9), merged.quantile(0.9));
+        assertArrayEquals(all.histogram(0, 1500, 10), merged.histogram(0, 1500, 10));
+    }
+}
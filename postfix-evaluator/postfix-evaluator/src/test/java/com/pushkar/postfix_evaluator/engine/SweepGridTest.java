@@ -0,0 +1,61 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SweepGrid
+ */
+@DisplayName("Sweep Grid Tests")
+class SweepGridTest {
+    
+    @Test
+    @DisplayName("should evaluate points in row-major order from any offset")
+    void testRowMajorOrder() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("10 * x + y"));
+        SweepGrid grid = new SweepGrid(2);
+        grid.setRange(0, 1, 1, 3);
+        grid.setValues(1, new double[] {0, 5});
+        
+        assertEquals(6, grid.size());
+        BatchResult all = grid.evaluate(compiled, 0, 6);
+        double[] expected = {10, 15, 20, 25, 30, 35};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], all.getValue(i));
+        }
+        
+        // A run starting mid-axis decodes its position and carries into the next slot
+        BatchResult tail = grid.evaluate(compiled, 3, 3);
+        assertEquals(25.0, tail.getValue(0));
+        assertEquals(30.0, tail.getValue(1));
+        assertEquals(35.0, tail.getValue(2));
+    }
+    
+    @Test
+    @DisplayName("should report failing points without stopping the run")
+    void testPointErrors() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("1 / x"));
+        SweepGrid grid = new SweepGrid(1);
+        grid.setRange(0, -1, 1, 3);
+        
+        BatchResult result = grid.evaluate(compiled, 0, 3);
+        assertEquals(-1.0, result.getValue(0));
+        assertTrue(result.isError(1));
+        assertEquals("Division by zero", result.getError(1));
+        assertEquals(1.0, result.getValue(2));
+    }
+    
+    @Test
+    @DisplayName("should reject grids whose size overflows")
+    void testSizeOverflow() {
+        SweepGrid grid = new SweepGrid(2);
+        grid.setRange(0, 0, 1, Long.MAX_VALUE / 2);
+        grid.setRange(1, 0, 1, 3);
+        
+        assertThrows(InvalidEquationException.class, grid::size);
+    }
+}
@@ -0,0 +1,88 @@
+package com.pushkar.postfix_evaluator.engine;
+
+import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.service.EvaluatorService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for VectorizedEvaluator and ParallelTreeEvaluator
+ */
+@DisplayName("Vectorized Evaluator Tests")
+class VectorizedEvaluatorTest {
+    
+    @Test
+    @DisplayName("should match the tree interpreter row by row")
+    void testMatchesInterpreter() {
+        TreeNode root = EquationParser.parse("(x + 2) * y ^ 2 - x / y");
+        List<Map<String, Number>> bindings = new ArrayList<>();
+        for (int i = 1; i <= 50; i++) {
+            bindings.add(Map.of("x", i, "y", i * 0.5));
+        }
+        
+        BatchResult result = new BatchResult(bindings.size());
+        VectorizedEvaluator.evaluate(CompiledExpression.compile(root), bindings, 0, bindings.size(), result);
+        
+        for (int i = 0; i < bindings.size(); i++) {
+            assertFalse(result.isError(i));
+            assertEquals(EvaluatorService.evaluate(root, bindings.get(i)), result.getValue(i));
+        }
+    }
+    
+    @Test
+    @DisplayName("should report per-row errors in interpreter order")
+    void testPerRowErrors() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("x / y + z"));
+        Map<String, Number> missingZ = new HashMap<>(Map.of("x", 1, "y", 1));
+        List<Map<String, Number>> bindings = new ArrayList<>();
+        bindings.add(Map.of("x", 1, "y", 2, "z", 1));
+        bindings.add(Map.of("x", 1, "y", 0));
+        bindings.add(missingZ);
+        bindings.add(null);
+        
+        BatchResult result = new BatchResult(bindings.size());
+        VectorizedEvaluator.evaluate(compiled, bindings, 0, bindings.size(), result);
+        
+        assertEquals(1.5, result.getValue(0));
+        assertEquals("Division by zero", result.getError(1));
+        assertEquals("Variable 'z' not provided in variables map", result.getError(2));
+        assertEquals("Variables map cannot be null", result.getError(3));
+        assertTrue(Double.isNaN(result.getValue(1)));
+    }
+    
+    @Test
+    @DisplayName("should write only the requested row range")
+    void testRowRange() {
+        CompiledExpression compiled = CompiledExpression.compile(EquationParser.parse("x * 10"));
+        List<Map<String, Number>> bindings = List.of(Map.of("x", 1), Map.of("x", 2), Map.of("x", 3));
+        
+        BatchResult result = new BatchResult(3);
+        VectorizedEvaluator.evaluate(compiled, bindings, 1, 3, result);
+        
+        assertEquals(0.0, result.getValue(0));
+        assertEquals(20.0, result.getValue(1));
+        assertEquals(30.0, result.getValue(2));
+    }
+    
+    @Test
+    @DisplayName("should evaluate trees in parallel with interpreter semantics")
+    void testParallelTreeEvaluator() {
+        TreeNode root = EquationParser.parse("(a + b) * (c - d) / ((a * 2) + (d ^ 2))");
+        Map<String, Number> vars = Map.of("a", 1, "b", 2, "c", 5, "d", 3);
+        
+        assertEquals(EvaluatorService.evaluate(root, vars), ParallelTreeEvaluator.evaluate(root, vars, 3));
+        
+        TreeNode failing = EquationParser.parse("(1 / 0) + q");
+        Exception e = assertThrows(RuntimeException.class,
+            () -> ParallelTreeEvaluator.evaluate(failing, Map.of(), 3));
+        assertEquals("Division by zero", e.getMessage());
+    }
+}
@@ -0,0 +1,83 @@
+package com.pushkar.postfix_evaluator.jfr;
+
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the flight-recorder parse event
+ */
+@DisplayName("Parse Event Tests")
+class ParseEventTest {
+    
+    private static final String PARSE_EVENT = "com.pushkar.postfix_evaluator.Parse";
+    
+    @TempDir
+    Path tempDir;
+    
+    private List<RecordedEvent> record(Runnable action) throws Exception {
+        Path file = tempDir.resolve("parse.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PARSE_EVENT).withThreshold(Duration.ZERO);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals(PARSE_EVENT))
+                .toList();
+    }
+    
+    @Test
+    @DisplayName("should record equation ID, node count and variable count of a parse")
+    void testSuccessfulParseRecorded() throws Exception {
+        List<RecordedEvent> events = record(() -> EquationParser.parse("3 * x + y / x", "42"));
+        
+        assertEquals(1, events.size());
+        RecordedEvent event = events.get(0);
+        assertEquals("42", event.getString("equationId"));
+        assertEquals(7, event.getInt("nodeCount"));
+        assertEquals(2, event.getInt("variableCount"));
+        assertEquals("success", event.getString("outcome"));
+        assertNull(event.getString("failedStage"));
+    }
+    
+    @Test
+    @DisplayName("should record the stage at which a parse failed")
+    void testFailedParseRecorded() throws Exception {
+        List<RecordedEvent> events = record(() ->
+                assertThrows(InvalidEquationException.class, () -> EquationParser.parse("3 + * 2")));
+        
+        assertEquals(1, events.size());
+        assertEquals("invalid", events.get(0).getString("outcome"));
+        assertEquals("validate", events.get(0).getString("failedStage"));
+    }
+    
+    @Test
+    @DisplayName("should ship a loadable JFR configuration for all custom events")
+    void testConfigurationLoads() throws Exception {
+        try (InputStream in = getClass().getResourceAsStream("/jfr/postfix-evaluator.jfc")) {
+            assertNotNull(in);
+            Configuration configuration = Configuration.create(new InputStreamReader(in, StandardCharsets.UTF_8));
+            assertEquals("1 ms", configuration.getSettings().get(PARSE_EVENT + "#threshold"));
+            assertEquals("1 ms", configuration.getSettings().get("com.pushkar.postfix_evaluator.Evaluate#threshold"));
+            assertEquals("10 ms", configuration.getSettings().get("com.pushkar.postfix_evaluator.Request#threshold"));
+        }
+    }
+}
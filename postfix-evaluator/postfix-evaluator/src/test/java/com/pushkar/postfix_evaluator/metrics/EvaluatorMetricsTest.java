@@ -0,0 +1,114 @@
+package com.pushkar.postfix_evaluator.metrics;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.model.TreeStatistics;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for EvaluatorMetrics
+ */
+@DisplayName("Evaluator Metrics Tests")
+class EvaluatorMetricsTest {
+    
+    private SimpleMeterRegistry registry;
+    private EquationRepository repository;
+    private EvaluatorMetrics metrics;
+    
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        repository = new EquationRepository();
+        metrics = new EvaluatorMetrics(registry, repository, 250000);
+        metrics.observeParser();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        metrics.stopObservingParser();
+    }
+    
+    private long stageCount(String stage, String outcome) {
+        return registry.get("evaluator.stage.duration")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+    
+    @Test
+    @DisplayName("should time every parse stage of a valid equation")
+    void testParseStagesTimed() {
+        EquationParser.parse("3 * x + 2");
+        
+        assertEquals(1, stageCount("tokenize", "success"));
+        assertEquals(1, stageCount("validate", "success"));
+        assertEquals(1, stageCount("convert", "success"));
+        assertEquals(1, stageCount("build", "success"));
+    }
+    
+    @Test
+    @DisplayName("should record the failing stage as invalid")
+    void testFailingStageRecorded() {
+        assertThrows(InvalidEquationException.class, () -> EquationParser.parse("3 + * 2"));
+        
+        assertEquals(1, stageCount("tokenize", "success"));
+        assertEquals(1, stageCount("validate", "invalid"));
+        assertEquals(0, stageCount("convert", "success"));
+    }
+    
+    @Test
+    @DisplayName("should classify evaluation failures by cause")
+    void testOutcomeClassification() {
+        assertEquals(PipelineOutcome.DIVISION_BY_ZERO,
+                PipelineOutcome.of(new EvaluationException("Division by zero")));
+        assertEquals(PipelineOutcome.MISSING_VARIABLE,
+                PipelineOutcome.of(new EvaluationException("Variable 'x' not provided in variables map")));
+        assertEquals(PipelineOutcome.INVALID,
+                PipelineOutcome.of(new InvalidEquationException("Variables map cannot be null")));
+    }
+    
+    @Test
+    @DisplayName("should publish histogram buckets of stored tree sizes up to the node limit")
+    void testNodeCountHistogram() {
+        PrometheusMeterRegistry prometheus = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        TreeStatistics statistics = new TreeStatistics();
+        statistics.setNodeCount(5);
+        new EvaluatorMetrics(prometheus, repository, 250000).recordStoredTree(statistics);
+        
+        List<String> buckets = prometheus.scrape().lines()
+                .filter(line -> line.startsWith("evaluator_equation_nodes_bucket"))
+                .toList();
+        assertEquals("evaluator_equation_nodes_bucket{le=\"5.0\"} 1", buckets.get(4));
+        assertEquals("evaluator_equation_nodes_bucket{le=\"250000.0\"} 1", buckets.get(buckets.size() - 2));
+        assertEquals("evaluator_equation_nodes_bucket{le=\"+Inf\"} 1", buckets.get(buckets.size() - 1));
+    }
+    
+    @Test
+    @DisplayName("should expose repository size and count exceptions by type")
+    void testGaugeAndExceptionCounters() {
+        repository.save(new Equation());
+        repository.save(new Equation());
+        metrics.recordException(new EvaluationException("Division by zero"));
+        metrics.recordException(new IllegalStateException("boom"));
+        
+        assertEquals(2.0, registry.get("evaluator.equations.stored").gauge().value());
+        assertEquals(1.0, registry.get("evaluator.exceptions").tag("exception", "EvaluationException").counter().count());
+        assertEquals(1.0, registry.get("evaluator.exceptions").tag("exception", "IllegalStateException").counter().count());
+        assertEquals(0.0, registry.get("evaluator.exceptions").tag("exception", "InvalidEquationException").counter().count());
+    }
+}
@@ -0,0 +1,37 @@
+package com.pushkar.postfix_evaluator.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LatencySketch
+ */
+@DisplayName("Latency Sketch Tests")
+class LatencySketchTest {
+    
+    @Test
+    @DisplayName("should place every value at or below its bucket's upper bound")
+    void testBucketBounds() {
+        for (long nanos = 64; nanos < 1_000_000_000L; nanos = nanos * 3 / 2 + 1) {
+            long upper = LatencySketch.upperBound(LatencySketch.indexOf(nanos));
+            assertTrue(nanos <= upper, nanos + " above " + upper);
+            assertTrue(upper <= nanos * 1.25 + 1, nanos + " too far below " + upper);
+        }
+    }
+    
+    @Test
+    @DisplayName("should estimate quantiles within bucket precision")
+    void testQuantiles() {
+        LatencySketch sketch = new LatencySketch();
+        for (int i = 1; i <= 1000; i++) {
+            sketch.record(i * 1000L);
+        }
+        
+        assertEquals(1000, sketch.count());
+        assertEquals(500_000, sketch.quantile(0.5), 500_000 * 0.25);
+        assertEquals(990_000, sketch.quantile(0.99), 990_000 * 0.25);
+        assertEquals(0, new LatencySketch().quantile(0.99));
+    }
+}
@@ -0,0 +1,72 @@
+package com.pushkar.postfix_evaluator.parser;
+
+import com.pushkar.postfix_evaluator.exception.ComplexityLimitException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ComplexityLimits enforcement in the parser stages
+ */
+@DisplayName("Complexity Limits Tests")
+class ComplexityLimitsTest {
+    
+    @Test
+    @DisplayName("should reject equations over the length and token limits while tokenizing")
+    void testLengthAndTokenLimits() {
+        ComplexityLimits limits = new ComplexityLimits(12, 5, 100, 100);
+        
+        assertEquals(List.of("x", "+", "y"), Tokenizer.tokenize("x + y", limits));
+        ComplexityLimitException length = assertThrows(ComplexityLimitException.class,
+            () -> Tokenizer.tokenize("x + y + z + w", limits));
+        assertEquals("Equation length 13 exceeds the limit of 12 characters", length.getMessage());
+        assertThrows(ComplexityLimitException.class,
+            () -> Tokenizer.validateCharacters("x + y + z + w", limits));
+        ComplexityLimitException tokens = assertThrows(ComplexityLimitException.class,
+            () -> Tokenizer.tokenize("x+y+z+w", limits));
+        assertEquals("Equation exceeds the limit of 5 tokens", tokens.getMessage());
+    }
+    
+    @Test
+    @DisplayName("should count the zero inserted for unary minus towards the node limit")
+    void testNodeLimit() {
+        ComplexityLimits limits = new ComplexityLimits(100, 100, 3, 100);
+        
+        assertEquals(List.of("0", "x", "-"), InfixToPostfixConverter.convert(List.of("-", "x"), limits));
+        assertThrows(ComplexityLimitException.class,
+            () -> InfixToPostfixConverter.convert(List.of("-", "(", "x", ")", "*", "2"), limits));
+        assertThrows(ComplexityLimitException.class,
+            () -> PostfixTreeBuilder.buildTree(List.of("x", "y", "+", "z", "*"), limits));
+    }
+    
+    @Test
+    @DisplayName("should reject trees deeper than the depth limit")
+    void testDepthLimit() {
+        ComplexityLimits limits = new ComplexityLimits(100, 100, 100, 3);
+        
+        // Balanced: depth 3 with 7 nodes
+        assertNotNull(PostfixTreeBuilder.buildTree(List.of("a", "b", "+", "c", "d", "+", "*"), limits));
+        // Chained: depth 4 with 7 nodes
+        ComplexityLimitException e = assertThrows(ComplexityLimitException.class,
+            () -> PostfixTreeBuilder.buildTree(List.of("a", "b", "+", "c", "+", "d", "+"), limits));
+        assertEquals("Expression tree exceeds the depth limit of 3", e.getMessage());
+    }
+    
+    @Test
+    @DisplayName("should report limit violations from the parser without wrapping them")
+    void testParserLimits() {
+        ComplexityLimits previous = EquationParser.getLimits();
+        EquationParser.setLimits(new ComplexityLimits(1000, 1000, 1000, 2));
+        try {
+            assertNotNull(EquationParser.parse("x * y"));
+            ComplexityLimitException e = assertThrows(ComplexityLimitException.class,
+                () -> EquationParser.parse("x * y + 1"));
+            assertEquals(PipelineOutcome.LIMIT_EXCEEDED, PipelineOutcome.of(e));
+        } finally {
+            EquationParser.setLimits(previous);
+        }
+    }
+}
@@ -110,4 +110,15 @@ class InfixNotationReconstructorTest {
         String result = InfixNotationReconstructor.reconstruct(leaf);
         assertEquals("x", result);
     }
+    
+    @Test
+    @DisplayName("should stop reconstructing after the length limit")
+    void testLengthLimit() {
+        TreeNode tree = EquationParser.parse("(a + b) * c - d / 2");
+        String full = InfixNotationReconstructor.reconstruct(tree);
+        
+        assertEquals(full, InfixNotationReconstructor.reconstruct(tree, full.length()));
+        assertEquals(full.substring(0, 7), InfixNotationReconstructor.reconstruct(tree, 7));
+        assertEquals("ab", InfixNotationReconstructor.reconstruct(new TreeNode("abc", null, null), 2));
+    }
 }
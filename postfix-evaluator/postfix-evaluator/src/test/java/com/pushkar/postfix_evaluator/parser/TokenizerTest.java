@@ -80,6 +80,14 @@ class TokenizerTest {
         assertThrows(IllegalArgumentException.class, () -> Tokenizer.tokenize("x @ 2"));
     }
     
+    @Test
+    @DisplayName("should validate characters without tokenizing")
+    void testValidateCharacters() {
+        assertDoesNotThrow(() -> Tokenizer.validateCharacters("3*x + (y_1 - 2.5)^2"));
+        assertThrows(IllegalArgumentException.class, () -> Tokenizer.validateCharacters("x & y"));
+        assertThrows(IllegalArgumentException.class, () -> Tokenizer.validateCharacters("  "));
+    }
+    
     @ParameterizedTest
     @ValueSource(strings = {"42", "3.14", "0", "1.5"})
     @DisplayName("should identify numbers correctly")
@@ -87,6 +95,31 @@ class TokenizerTest {
         assertTrue(Tokenizer.isNumber(token));
     }
     
+    @ParameterizedTest
+    @ValueSource(strings = {"7", "x", "+", ".", "1.", ".5", "1.2.3", "007", "-1", "+2.5", "1e3", "1E-3",
+        "2.5f", "3d", "0x1p3", "NaN", "Infinity", "-Infinity", "Inf", " 4 ", "\t5", "4 x", "x1", "_", "e5", "",
+        "+NaN", "-NaN", "NaNf", "Infinityd", "+", "-.5", "1.e2", ".e1", "1e", "1e+", "5D", " +7 ", "+ 7",
+        "0x", "0x1", "0x.8p1", "0X1P-2d", "0x.p1", "0xg", "0x1e3", "1p3"})
+    @DisplayName("should accept exactly what Double.parseDouble accepts")
+    void testIsNumberMatchesParseDouble(String token) {
+        boolean parses;
+        try {
+            Double.parseDouble(token);
+            parses = true;
+        } catch (NumberFormatException e) {
+            parses = false;
+        }
+        assertEquals(parses, Tokenizer.isNumber(token));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"Notional", "Interest", "Index", "N", "I", "NaN1", "Infinite", "Nan"})
+    @DisplayName("should not treat identifiers starting with N or I as numbers")
+    void testIdentifiersLikeNaNAndInfinity(String token) {
+        assertFalse(Tokenizer.isNumber(token));
+        assertTrue(Tokenizer.isVariable(token));
+    }
+    
     @ParameterizedTest
     @ValueSource(strings = {"x", "var", "x1", "_var"})
     @DisplayName("should identify variables correctly")
@@ -7,6 +7,8 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -53,6 +55,24 @@ class EquationRepositoryTest {
         assertNotEquals(id1, id2);
     }
     
+    @Test
+    @DisplayName("should save batch with consecutive IDs in order")
+    void testSaveAll() {
+        Equation eq1 = new Equation();
+        eq1.setEquationInfix("x + 1");
+        Equation eq2 = new Equation();
+        eq2.setEquationInfix("y + 2");
+        
+        String before = repository.save(testEquation);
+        List<String> ids = repository.saveAll(List.of(eq1, eq2));
+        
+        assertEquals(2, ids.size());
+        assertEquals(Long.parseLong(before) + 1, Long.parseLong(ids.get(0)));
+        assertEquals(Long.parseLong(before) + 2, Long.parseLong(ids.get(1)));
+        assertEquals("y + 2", repository.findById(ids.get(1)).getEquationInfix());
+        assertEquals(3, repository.count());
+    }
+    
     @Test
     @DisplayName("should find equation by ID")
     void testFindById() {
@@ -139,4 +159,46 @@ class EquationRepositoryTest {
         repository.save(eq2);
         assertEquals(2, repository.count());
     }
+    
+    @Test
+    @DisplayName("should index equations by variable on save")
+    void testFindByVariable() {
+        Equation eq1 = new Equation();
+        eq1.setEquationInfix("rate * x");
+        eq1.setRootNode(new TreeNode());
+        eq1.setVariables(Set.of("rate", "x"));
+        
+        Equation eq2 = new Equation();
+        eq2.setEquationInfix("rate + 1");
+        eq2.setRootNode(new TreeNode());
+        eq2.setVariables(Set.of("rate"));
+        
+        String id1 = repository.save(eq1);
+        String id2 = repository.save(eq2);
+        
+        assertEquals(Set.of(id1, id2), repository.findIdsByVariable("rate"));
+        assertEquals(Set.of(id1), repository.findIdsByVariable("x"));
+        assertEquals(2, repository.findByVariable("rate").size());
+        assertTrue(repository.findIdsByVariable("y").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("should remove deleted equations from variable index")
+    void testDeleteRemovesFromVariableIndex() {
+        testEquation.setVariables(Set.of("x"));
+        String id = repository.save(testEquation);
+        
+        assertTrue(repository.deleteById(id));
+        assertTrue(repository.findIdsByVariable("x").isEmpty());
+        assertTrue(repository.findByVariable("x").isEmpty());
+    }
+    
+    @Test
+    @DisplayName("should clear variable index")
+    void testClearVariableIndex() {
+        testEquation.setVariables(Set.of("x"));
+        repository.save(testEquation);
+        repository.clear();
+        assertTrue(repository.findIdsByVariable("x").isEmpty());
+    }
 }
@@ -1,9 +1,13 @@
 package com.pushkar.postfix_evaluator.service;
 
+import com.pushkar.postfix_evaluator.dto.BulkStoreResultDTO;
 import com.pushkar.postfix_evaluator.dto.EquationDTO;
 import com.pushkar.postfix_evaluator.exception.EquationNotFoundException;
 import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.model.BuildStatus;
 import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.parser.PipelineObserver;
 import com.pushkar.postfix_evaluator.repository.EquationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -11,7 +15,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -122,4 +130,133 @@ class EquationServiceTest {
             assertNotNull(retrieved);
         }
     }
+    
+    @Test
+    @DisplayName("should bulk store equations and report results in input order")
+    void testStoreEquations() {
+        List<String> input = Arrays.asList("x + 1", "x ++ y", null, "(a + b) * c");
+        List<BulkStoreResultDTO> results = equationService.storeEquations(input.iterator());
+        
+        assertEquals(4, results.size());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+        assertNotNull(results.get(0).getEquationId());
+        assertNotNull(results.get(1).getError());
+        assertNotNull(results.get(2).getError());
+        assertNotNull(results.get(3).getEquationId());
+        
+        assertEquals("(a + b) * c",
+            equationService.getEquationById(results.get(3).getEquationId()).getEquationInfix());
+        assertEquals(2, equationRepository.count());
+    }
+    
+    @Test
+    @DisplayName("should bulk store more equations than one batch")
+    void testStoreEquationsAcrossBatches() {
+        List<String> input = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            input.add("x * " + i);
+        }
+        
+        List<BulkStoreResultDTO> results = equationService.storeEquations(input.iterator());
+        
+        assertEquals(2500, results.size());
+        assertEquals(2500, equationRepository.count());
+        assertEquals("x * 1234",
+            equationService.getEquationById(results.get(1234).getEquationId()).getEquationInfix());
+        assertEquals(2500, equationService.getEquationsByVariable("x").size());
+    }
+    
+    @Test
+    @DisplayName("should store an equation just under the default depth limit")
+    void testStoreDeepestEquation() {
+        StringBuilder equation = new StringBuilder("x");
+        for (int i = 1; i < 99999; i++) {
+            equation.append("+1");
+        }
+        
+        String id = equationService.storeEquation(equation.toString());
+        Equation stored = equationService.getEquationById(id);
+        assertEquals(99999, stored.getStatistics().getDepth());
+        assertEquals(List.of("x"), new ArrayList<>(stored.getVariables()));
+    }
+    
+    @Test
+    @DisplayName("should store equation asynchronously and build it in the background")
+    void testStoreEquationAsync() {
+        String id = equationService.storeEquationAsync("3*x + 2");
+        assertNotNull(id);
+        
+        Equation equation = equationService.getEvaluableEquation(id);
+        assertEquals(BuildStatus.READY, equation.getBuildStatus());
+        assertNotNull(equation.getRootNode());
+        assertEquals(List.of(id), List.copyOf(equationRepository.findIdsByVariable("x")));
+    }
+    
+    @Test
+    @DisplayName("should reject invalid characters before accepting async store")
+    void testStoreEquationAsyncInvalidCharacters() {
+        assertThrows(InvalidEquationException.class, () -> equationService.storeEquationAsync("x & y"));
+        assertThrows(InvalidEquationException.class, () -> equationService.storeEquationAsync(""));
+        assertEquals(0, equationRepository.count());
+    }
+    
+    @Test
+    @DisplayName("should record background build failure and fail evaluation cleanly")
+    void testStoreEquationAsyncBuildFailure() {
+        String id = equationService.storeEquationAsync("x ++ y");
+        
+        assertThrows(InvalidEquationException.class, () -> equationService.getEvaluableEquation(id));
+        Equation equation = equationService.getEquationById(id);
+        assertEquals(BuildStatus.FAILED, equation.getBuildStatus());
+        assertNotNull(equation.getBuildError());
+    }
+    
+    @Test
+    @DisplayName("should fail the background build and release waiters when building throws an error")
+    void testStoreEquationAsyncBuildError() {
+        PipelineObserver observer = EquationParser.getObserver();
+        EquationParser.setObserver((stage, outcome, nanos) -> {
+            throw new StackOverflowError();
+        });
+        try {
+            String id = equationService.storeEquationAsync("x + y");
+            
+            // Bounded, since a build that never completes would block this call forever
+            InvalidEquationException e = assertThrows(InvalidEquationException.class,
+                () -> assertTimeoutPreemptively(Duration.ofSeconds(10),
+                    () -> equationService.getEvaluableEquation(id)));
+            assertEquals("Equation with ID '" + id + "' failed to build: Equation is nested too deeply to build",
+                e.getMessage());
+            assertEquals(BuildStatus.FAILED, equationService.getEquationById(id).getBuildStatus());
+        } finally {
+            EquationParser.setObserver(observer);
+        }
+    }
+    
+    @Test
+    @DisplayName("should report any failure of one bulk line on that line")
+    void testStoreEquationsLineError() {
+        PipelineObserver observer = EquationParser.getObserver();
+        AtomicBoolean failed = new AtomicBoolean();
+        EquationParser.setObserver((stage, outcome, nanos) -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new StackOverflowError();
+            }
+        });
+        try {
+            List<BulkStoreResultDTO> results = equationService.storeEquations(
+                List.of("x + 1", "x + 2", "x + 3").iterator());
+            
+            assertEquals(3, results.size());
+            assertNull(results.get(0).getEquationId());
+            assertEquals("Equation is nested too deeply to build", results.get(0).getError());
+            assertNotNull(results.get(1).getEquationId());
+            assertNotNull(results.get(2).getEquationId());
+            assertEquals(2, equationRepository.count());
+        } finally {
+            EquationParser.setObserver(observer);
+        }
+    }
 }
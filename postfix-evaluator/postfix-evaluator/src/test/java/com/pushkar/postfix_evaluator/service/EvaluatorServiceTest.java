@@ -1,8 +1,11 @@
 package com.pushkar.postfix_evaluator.service;
 
+import com.pushkar.postfix_evaluator.engine.VariableSlots;
 import com.pushkar.postfix_evaluator.exception.EvaluationException;
 import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
 import com.pushkar.postfix_evaluator.model.TreeNode;
+import com.pushkar.postfix_evaluator.parser.EquationParser;
+import com.pushkar.postfix_evaluator.parser.PipelineOutcome;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -174,6 +177,23 @@ class EvaluatorServiceTest {
         assertThrows(EvaluationException.class, () -> EvaluatorService.evaluate(null, vars));
     }
     
+    @Test
+    @DisplayName("should read variable slots by name")
+    void testVariableSlots() {
+        TreeNode root = EquationParser.parse("a * 2 + b");
+        VariableSlots slots = new VariableSlots(new String[] {"a", "b"});
+        slots.set(0, 1.5);
+        
+        EvaluationException missing = assertThrows(EvaluationException.class,
+            () -> EvaluatorService.evaluate(root, slots));
+        assertTrue(missing.isMissingVariable());
+        
+        slots.set(1, Double.NaN);
+        assertTrue(Double.isNaN(EvaluatorService.evaluateToDouble(root, slots)));
+        slots.set(1, -4);
+        assertEquals(-1.0, EvaluatorService.evaluateToDouble(root, slots));
+    }
+    
     @Test
     @DisplayName("should throw exception for null variables map")
     void testNullVariablesMap() {
@@ -215,4 +235,36 @@ class EvaluatorServiceTest {
         assertEquals(1, variables.size());
         assertTrue(variables.contains("x"));
     }
+    
+    @Test
+    @DisplayName("should report evaluation errors without stack traces")
+    void testStacklessErrors() {
+        TreeNode root = EquationParser.parse("x / y");
+        
+        EvaluationException missing = assertThrows(EvaluationException.class,
+            () -> EvaluatorService.evaluate(root, Map.of("x", 1)));
+        assertTrue(missing.isMissingVariable());
+        assertEquals(PipelineOutcome.MISSING_VARIABLE, PipelineOutcome.of(missing));
+        assertEquals("Variable 'y' not provided in variables map", missing.getMessage());
+        assertEquals(0, missing.getStackTrace().length);
+        
+        EvaluationException first = assertThrows(EvaluationException.class,
+            () -> EvaluatorService.evaluate(root, Map.of("x", 1, "y", 0)));
+        EvaluationException second = assertThrows(EvaluationException.class,
+            () -> EvaluatorService.evaluate(root, Map.of("x", 2, "y", 0)));
+        assertSame(first, second);
+        assertEquals("Division by zero", first.getMessage());
+        assertEquals(0, first.getStackTrace().length);
+    }
+    
+    @Test
+    @DisplayName("should extract variables from very deep trees without recursion")
+    void testExtractVariablesDeepTree() {
+        StringBuilder equation = new StringBuilder("x");
+        for (int i = 1; i < 99999; i++) {
+            equation.append(i % 2 == 0 ? "+1" : "*y");
+        }
+        
+        assertEquals(Set.of("x", "y"), EvaluatorService.extractVariables(EquationParser.parse(equation.toString())));
+    }
 }
@@ -0,0 +1,319 @@
+package com.pushkar.postfix_evaluator.service;
+
+import com.pushkar.postfix_evaluator.dto.DistributionDTO;
+import com.pushkar.postfix_evaluator.dto.SweepRangeDTO;
+import com.pushkar.postfix_evaluator.engine.BatchAggregate;
+import com.pushkar.postfix_evaluator.engine.BatchResult;
+import com.pushkar.postfix_evaluator.engine.CompiledExpression;
+import com.pushkar.postfix_evaluator.engine.ExecutionStrategy;
+import com.pushkar.postfix_evaluator.engine.HistogramBin;
+import com.pushkar.postfix_evaluator.engine.MonteCarloSampler;
+import com.pushkar.postfix_evaluator.engine.MonteCarloSummary;
+import com.pushkar.postfix_evaluator.engine.SampleStatistics;
+import com.pushkar.postfix_evaluator.engine.SweepGrid;
+import com.pushkar.postfix_evaluator.engine.ValueSketch;
+import com.pushkar.postfix_evaluator.engine.VariableSlots;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.model.Equation;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ExecutionService
+ */
+@SpringBootTest(properties = {
+    "evaluator.tiered.promotion-threshold=3",
+    "evaluator.tiered.demotion-threshold=1",
+    "evaluator.tiered.max-compiled=1",
+    "evaluator.tiered.decay-interval-ms=3600000"
+})
+@DisplayName("Execution Service Tests")
+class ExecutionServiceTest {
+    
+    @Autowired
+    private ExecutionService executionService;
+    
+    @Autowired
+    private EquationService equationService;
+    
+    @Autowired
+    private EquationRepository equationRepository;
+    
+    @BeforeEach
+    void setUp() {
+        equationRepository.clear();
+        executionService.decay();
+    }
+    
+    @Test
+    @DisplayName("should interpret cold equations")
+    void testColdEquationInterpreted() {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x * 2"));
+        
+        assertEquals(4.0, executionService.evaluate(equation, Map.of("x", 2)));
+        assertNull(equation.getCompiled());
+        assertEquals(1, equation.getInvocationCount().get());
+    }
+    
+    @Test
+    @DisplayName("should promote hot equations to compiled form")
+    void testHotEquationPromoted() throws InterruptedException {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x * 2 + 1"));
+        
+        for (int i = 0; i < 3; i++) {
+            assertEquals(7.0, executionService.evaluate(equation, Map.of("x", 3)));
+        }
+        awaitCompiled(equation);
+        
+        assertNotNull(equation.getCompiled());
+        assertEquals(7.0, executionService.evaluate(equation, Map.of("x", 3)));
+    }
+    
+    @Test
+    @DisplayName("should make deep equations resident without waiting for them to get hot")
+    void testDeepEquationPromoted() throws InterruptedException {
+        Equation equation = equationService.getEquationById(
+            equationService.storeEquation("x" + " + 1".repeat(1000)));
+        
+        assertEquals(1001.0, executionService.evaluate(equation, Map.of("x", 1)));
+        awaitCompiled(equation);
+        
+        assertNotNull(equation.getCompiled());
+        assertEquals(1, executionService.getResidentCount());
+        assertEquals(1002.0, executionService.evaluate(equation, Map.of("x", 2)));
+    }
+    
+    @Test
+    @DisplayName("should make equations evaluated from variable slots resident")
+    void testSlotEquationPromoted() throws InterruptedException {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x * 2 + 1"));
+        VariableSlots slots = new VariableSlots(equation.getVariableSchema());
+        slots.set(0, 3);
+        
+        assertEquals(7.0, executionService.evaluate(equation, slots));
+        awaitCompiled(equation);
+        
+        assertNotNull(equation.getCompiled());
+        assertEquals(7.0, executionService.evaluate(equation, slots));
+    }
+    
+    @Test
+    @DisplayName("should demote equations that go cold")
+    void testColdEquationDemoted() throws InterruptedException {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x + 1"));
+        for (int i = 0; i < 3; i++) {
+            executionService.evaluate(equation, Map.of("x", 1));
+        }
+        awaitCompiled(equation);
+        
+        executionService.decay();
+        assertNotNull(equation.getCompiled());
+        executionService.decay();
+        
+        assertNull(equation.getCompiled());
+        assertEquals(0, executionService.getResidentCount());
+    }
+    
+    @Test
+    @DisplayName("should keep compiled forms within the resident budget")
+    void testResidentBudget() throws InterruptedException {
+        Equation first = equationService.getEquationById(equationService.storeEquation("x + 1"));
+        Equation second = equationService.getEquationById(equationService.storeEquation("x + 2"));
+        
+        for (int i = 0; i < 3; i++) {
+            executionService.evaluate(first, Map.of("x", 1));
+        }
+        awaitCompiled(first);
+        
+        // Cool the first equation down so the second one is hotter when it is promoted
+        executionService.decay();
+        for (int i = 0; i < 3; i++) {
+            executionService.evaluate(second, Map.of("x", 1));
+        }
+        awaitCompiled(second);
+        
+        assertNotNull(second.getCompiled());
+        
+        assertEquals(1, executionService.getResidentCount());
+        assertNull(first.getCompiled());
+    }
+    
+    @Test
+    @DisplayName("should evaluate batches with per-row results")
+    void testEvaluateBatch() {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x / y"));
+        List<Map<String, Number>> bindings = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            bindings.add(Map.of("x", i, "y", i % 10));
+        }
+        
+        BatchResult result = executionService.evaluateBatch(equation, bindings);
+        
+        assertEquals(3000, result.size());
+        assertEquals("Division by zero", result.getError(0));
+        assertEquals(11.0 / 1, result.getValue(11));
+        assertEquals(2999.0 / 9, result.getValue(2999));
+    }
+    
+    @Test
+    @DisplayName("should explain the plan with stored statistics")
+    void testExplain() {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x ^ 2 + y"));
+        
+        assertEquals(ExecutionStrategy.INTERPRETED, executionService.explain(equation, 1).getStrategy());
+        assertEquals(ExecutionStrategy.VECTORIZED, executionService.explain(equation, 10).getStrategy());
+        assertEquals(1, executionService.explain(equation, 1).getStatistics().getPowerCount());
+    }
+    
+    @Test
+    @DisplayName("should sweep a grid in point order")
+    void testSweep() {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x / y + z"));
+        SweepGrid grid = executionService.createSweepGrid(equation, Map.of(
+            "x", new SweepRangeDTO(0.0, 1.0, 0.1, null),
+            "y", new SweepRangeDTO(null, null, null, List.of(0.0, 2.0))
+        ), Map.of("z", 1));
+        
+        assertEquals(22, grid.size());
+        List<BatchResult> chunks = new ArrayList<>();
+        executionService.sweep(equation, grid, chunks::add);
+        
+        BatchResult first = chunks.get(0);
+        assertTrue(first.isError(0));
+        assertEquals(1.0, first.getValue(1));
+        assertEquals(1.5, chunks.get(chunks.size() - 1).getValue(chunks.get(chunks.size() - 1).size() - 1));
+        assertEquals(22, chunks.stream().mapToInt(BatchResult::size).sum());
+    }
+    
+    @Test
+    @DisplayName("should reject invalid sweeps before evaluating")
+    void testSweepValidation() {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x + y"));
+        SweepRangeDTO range = new SweepRangeDTO(0.0, 1.0, 1.0, null);
+        
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.createSweepGrid(equation, Map.of(), Map.of()));
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.createSweepGrid(equation, Map.of("w", range), Map.of("x", 1, "y", 1)));
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.createSweepGrid(equation, Map.of("x", range), Map.of()));
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.createSweepGrid(equation, Map.of("x", new SweepRangeDTO(1.0, 0.0, 1.0, null)), Map.of("y", 1)));
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.createSweepGrid(equation, Map.of("x", new SweepRangeDTO(0.0, 1.0, 0.0, null)), Map.of("y", 1)));
+    }
+    
+    @Test
+    @DisplayName("should simulate reproducibly for a seed")
+    void testSimulate() {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x * y + z"));
+        Map<String, DistributionDTO> distributions = Map.of(
+            "x", new DistributionDTO("uniform", 0.0, 2.0, null, null),
+            "y", new DistributionDTO("normal", null, null, 3.0, 1.0)
+        );
+        MonteCarloSampler sampler = executionService.createMonteCarloSampler(equation, distributions, Map.of("z", 1));
+        int samples = 3 * MonteCarloSampler.BLOCK_SIZE + 100;
+        
+        MonteCarloSummary summary = executionService.simulate(equation, sampler, samples, 42, List.of(0.5), 10);
+        assertEquals(samples, summary.getSampleCount());
+        assertEquals(0, summary.getErrorCount());
+        assertEquals(4.0, summary.getMean(), 0.1);
+        assertEquals(10, summary.getHistogram().size());
+        assertEquals(samples, summary.getHistogram().stream().mapToLong(HistogramBin::getCount).sum());
+        assertTrue(summary.getQuantiles().get("0.5") >= summary.getMin());
+        
+        // Evaluating the blocks one after another gives exactly the parallel result
+        SplittableRandom random = new SplittableRandom(42);
+        SampleStatistics sequential = new SampleStatistics();
+        CompiledExpression compiled = CompiledExpression.compile(equation.getRootNode());
+        for (int from = 0; from < samples; from += MonteCarloSampler.BLOCK_SIZE) {
+            int count = Math.min(MonteCarloSampler.BLOCK_SIZE, samples - from);
+            sequential.merge(sampler.sampleBlock(compiled, random.split(), count, new ValueSketch()));
+        }
+        assertEquals(sequential.mean(), summary.getMean());
+        assertEquals(sequential.variance(), summary.getVariance());
+        assertEquals(summary, executionService.simulate(equation, sampler, samples, 42, List.of(0.5), 10));
+    }
+    
+    @Test
+    @DisplayName("should reject invalid simulations before evaluating")
+    void testSimulateValidation() {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x + y"));
+        DistributionDTO uniform = new DistributionDTO("uniform", 0.0, 1.0, null, null);
+        
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.createMonteCarloSampler(equation, Map.of("x", uniform), Map.of()));
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.createMonteCarloSampler(equation,
+                Map.of("x", new DistributionDTO("normal", null, null, 0.0, -1.0)), Map.of("y", 1)));
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.createMonteCarloSampler(equation,
+                Map.of("x", new DistributionDTO("poisson", null, null, 1.0, 1.0)), Map.of("y", 1)));
+        
+        MonteCarloSampler sampler = executionService.createMonteCarloSampler(equation, Map.of("x", uniform), Map.of("y", 1));
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.simulate(equation, sampler, 0, 1, null, null));
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.simulate(equation, sampler, 10, 1, List.of(1.5), null));
+        assertThrows(InvalidEquationException.class,
+            () -> executionService.simulate(equation, sampler, 10, 1, null, 0));
+    }
+    
+    @Test
+    @DisplayName("should reject profile limits out of range")
+    void testProfileLimit() {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x * 2"));
+        List<Map<String, Number>> bindings = List.of(Map.of("x", 1));
+        
+        assertThrows(InvalidEquationException.class, () -> executionService.profile(equation, bindings, 0));
+        assertThrows(InvalidEquationException.class, () -> executionService.profile(equation, bindings, 1001));
+        assertEquals(1, executionService.profile(equation, bindings, 1000).getSubtrees().size());
+    }
+    
+    @Test
+    @DisplayName("should aggregate a batch without per-row results")
+    void testAggregateBatch() {
+        Equation equation = equationService.getEquationById(equationService.storeEquation("x / y"));
+        List<Map<String, Number>> bindings = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            bindings.add(Map.of("x", i % 100, "y", i % 7));
+        }
+        
+        BatchAggregate aggregate = executionService.aggregateBatch(equation, bindings, 2);
+        BatchResult batch = executionService.evaluateBatch(equation, bindings);
+        
+        double sum = 0;
+        long errors = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            if (batch.isError(i)) {
+                errors++;
+            } else {
+                sum += batch.getValue(i);
+            }
+        }
+        assertEquals(errors, aggregate.errorCount());
+        assertEquals(bindings.size() - errors, aggregate.count());
+        assertEquals(sum, aggregate.sum(), 1e-6);
+        assertEquals(99.0, aggregate.max());
+        assertEquals(99, aggregate.argmax());
+        assertEquals(2, aggregate.topK().size());
+        assertThrows(InvalidEquationException.class, () -> executionService.aggregateBatch(equation, bindings, -1));
+    }
+    
+    private static void awaitCompiled(Equation equation) throws InterruptedException {
+        for (int i = 0; i < 200 && equation.getCompiled() == null; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.pushkar.postfix_evaluator.service;
+
+import com.pushkar.postfix_evaluator.dto.EquationEvaluationResultDTO;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FanOutEvaluationService
+ */
+@SpringBootTest
+@DisplayName("Fan-Out Evaluation Service Tests")
+class FanOutEvaluationServiceTest {
+    
+    @Autowired
+    private FanOutEvaluationService fanOutEvaluationService;
+    
+    @Autowired
+    private EquationService equationService;
+    
+    @Autowired
+    private EquationRepository equationRepository;
+    
+    @Autowired
+    @Qualifier("evaluationExecutor")
+    private ExecutorService evaluationExecutor;
+    
+    @BeforeEach
+    void setUp() {
+        equationRepository.clear();
+    }
+    
+    @Test
+    @DisplayName("should evaluate only equations depending on the variable")
+    void testEvaluateDependents() {
+        String id1 = equationService.storeEquation("rate * 2");
+        String id2 = equationService.storeEquation("rate + x");
+        equationService.storeEquation("y + 1");
+        
+        List<EquationEvaluationResultDTO> results = new ArrayList<>();
+        fanOutEvaluationService.evaluateDependents("rate", Map.of("rate", 3, "x", 1), results::add);
+        
+        Map<String, EquationEvaluationResultDTO> byId = results.stream()
+                .collect(Collectors.toMap(EquationEvaluationResultDTO::getEquationId, Function.identity()));
+        assertEquals(2, byId.size());
+        assertEquals(6.0, byId.get(id1).getResult());
+        assertEquals(4.0, byId.get(id2).getResult());
+    }
+    
+    @Test
+    @DisplayName("should report per-equation errors without failing the whole request")
+    void testEvaluateDependentsWithErrors() {
+        String ok = equationService.storeEquation("rate * 2");
+        String missing = equationService.storeEquation("rate + z");
+        
+        List<EquationEvaluationResultDTO> results = new ArrayList<>();
+        fanOutEvaluationService.evaluateDependents("rate", Map.of("rate", 1), results::add);
+        
+        Map<String, EquationEvaluationResultDTO> byId = results.stream()
+                .collect(Collectors.toMap(EquationEvaluationResultDTO::getEquationId, Function.identity()));
+        assertEquals(2.0, byId.get(ok).getResult());
+        assertNull(byId.get(missing).getResult());
+        assertTrue(byId.get(missing).getError().contains("'z'"));
+    }
+    
+    @Test
+    @DisplayName("should produce no results when nothing depends on the variable")
+    void testEvaluateDependentsNoMatches() {
+        equationService.storeEquation("x + 1");
+        List<EquationEvaluationResultDTO> results = new ArrayList<>();
+        fanOutEvaluationService.evaluateDependents("rate", Map.of("rate", 1), results::add);
+        assertTrue(results.isEmpty());
+    }
+    
+    @Test
+    @DisplayName("should evaluate listed equations in request order")
+    void testEvaluateEquations() {
+        String sum = equationService.storeEquation("x + y");
+        String ratio = equationService.storeEquation("x / y");
+        String other = equationService.storeEquation("z * 2");
+        
+        List<EquationEvaluationResultDTO> results = fanOutEvaluationService.evaluateEquations(
+            List.of(ratio, "missing", sum, other, ratio), Map.of("x", 6, "y", 0));
+        
+        assertEquals(4, results.size());
+        assertEquals(ratio, results.get(0).getEquationId());
+        assertEquals("Division by zero", results.get(0).getError());
+        assertEquals("Equation with ID 'missing' not found", results.get(1).getError());
+        assertEquals(6.0, results.get(2).getResult());
+        assertTrue(results.get(3).getError().contains("'z'"));
+    }
+    
+    @Test
+    @DisplayName("should evaluate more equations than fit in one chunk")
+    void testEvaluateManyEquations() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            ids.add(equationService.storeEquation("x * " + i));
+        }
+        
+        List<EquationEvaluationResultDTO> results = fanOutEvaluationService.evaluateEquations(ids, Map.of("x", 2));
+        
+        assertEquals(500, results.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(ids.get(i), results.get(i).getEquationId());
+            assertEquals(2.0 * i, results.get(i).getResult());
+        }
+    }
+    
+    @Test
+    @DisplayName("should stop evaluating dependents once the sink fails")
+    void testSinkFailureCancelsEvaluations() throws Exception {
+        String equation = "x ^ 1.5" + " + x ^ 1.5".repeat(500);
+        for (int i = 0; i < 200; i++) {
+            equationService.storeEquation(equation + " + " + i);
+        }
+        
+        assertThrows(IllegalStateException.class,
+            () -> fanOutEvaluationService.evaluateDependents("x", Map.of("x", 2), result -> {
+                throw new IllegalStateException("client went away");
+            }));
+        // The pool is first in, first out, so every evaluation queued before this has started or been cancelled
+        evaluationExecutor.submit(() -> { }).get();
+        
+        long evaluated = equationService.getEquationsByVariable("x").stream()
+                .filter(stored -> stored.getInvocationCount().get() > 0)
+                .count();
+        assertTrue(evaluated < 200, "evaluated " + evaluated);
+    }
+}
@@ -0,0 +1,123 @@
+package com.pushkar.postfix_evaluator.service;
+
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.model.Equation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for InFlightEvaluations
+ */
+@DisplayName("In-Flight Evaluations Tests")
+class InFlightEvaluationsTest {
+    
+    private final InFlightEvaluations inFlight = new InFlightEvaluations();
+    
+    @Test
+    @DisplayName("should share a flight's result with concurrent identical calls")
+    void testSharesResult() throws Exception {
+        InFlightEvaluations.Key key = InFlightEvaluations.keyOf(equation("x", "y"), Map.of("x", 1, "y", 2));
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+        
+        CompletableFuture<Double> leader = CompletableFuture.supplyAsync(() -> inFlight.evaluate(key, () -> {
+            computations.incrementAndGet();
+            await(release);
+            return 42.0;
+        }, () -> fail("the leader must not share")));
+        awaitFlight();
+        
+        CompletableFuture<Double> follower = CompletableFuture.supplyAsync(() -> inFlight.evaluate(key, () -> {
+            computations.incrementAndGet();
+            return 0.0;
+        }, joined::countDown));
+        assertTrue(joined.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        
+        assertEquals(42.0, leader.get(5, TimeUnit.SECONDS));
+        assertEquals(42.0, follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals(0, inFlight.size());
+    }
+    
+    @Test
+    @DisplayName("should share a flight's exception with concurrent identical calls")
+    void testSharesException() throws Exception {
+        InFlightEvaluations.Key key = InFlightEvaluations.keyOf(equation("x"), Map.of("x", 0));
+        EvaluationException failure = new EvaluationException("Division by zero");
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(1);
+        
+        CompletableFuture<Double> leader = CompletableFuture.supplyAsync(() -> inFlight.evaluate(key, () -> {
+            await(release);
+            throw failure;
+        }, () -> { }));
+        awaitFlight();
+        
+        CompletableFuture<Throwable> follower = CompletableFuture.supplyAsync(() -> assertThrows(
+            EvaluationException.class, () -> inFlight.evaluate(key, () -> 0.0, joined::countDown)));
+        assertTrue(joined.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        
+        assertSame(failure, follower.get(5, TimeUnit.SECONDS));
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    @DisplayName("should not keep results once a flight completes")
+    void testNoCaching() {
+        InFlightEvaluations.Key key = InFlightEvaluations.keyOf(equation("x"), Map.of("x", 3));
+        AtomicInteger computations = new AtomicInteger();
+        
+        inFlight.evaluate(key, () -> (double) computations.incrementAndGet(), () -> { });
+        assertEquals(2.0, inFlight.evaluate(key, () -> (double) computations.incrementAndGet(), () -> { }));
+        assertEquals(0, inFlight.size());
+    }
+    
+    @Test
+    @DisplayName("should key on the equation and the values of its variables only")
+    void testKeys() {
+        Equation equation = equation("x", "y");
+        
+        assertEquals(InFlightEvaluations.keyOf(equation, Map.of("x", 2, "y", 1.5)),
+            InFlightEvaluations.keyOf(equation, Map.of("y", 1.5, "x", 2.0, "unused", 7)));
+        assertNotEquals(InFlightEvaluations.keyOf(equation, Map.of("x", 2, "y", 1.5)),
+            InFlightEvaluations.keyOf(equation, Map.of("x", 2, "y", 1.25)));
+        assertNotEquals(InFlightEvaluations.keyOf(equation, Map.of("x", 2, "y", 1.5)),
+            InFlightEvaluations.keyOf(equation("x", "y"), Map.of("x", 2, "y", 1.5)));
+        assertNull(InFlightEvaluations.keyOf(equation, Map.of("x", 2)));
+        assertNull(InFlightEvaluations.keyOf(equation, null));
+    }
+    
+    private static Equation equation(String... variables) {
+        Equation equation = new Equation();
+        equation.setVariables(Set.of(variables));
+        return equation;
+    }
+    
+    private void awaitFlight() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight.size() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(1, inFlight.size());
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
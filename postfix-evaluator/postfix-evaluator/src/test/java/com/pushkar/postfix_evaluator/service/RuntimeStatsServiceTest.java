@@ -0,0 +1,86 @@
+package com.pushkar.postfix_evaluator.service;
+
+import com.pushkar.postfix_evaluator.dto.EquationRuntimeStatsDTO;
+import com.pushkar.postfix_evaluator.exception.EvaluationException;
+import com.pushkar.postfix_evaluator.exception.InvalidEquationException;
+import com.pushkar.postfix_evaluator.repository.EquationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RuntimeStatsService
+ */
+@SpringBootTest(properties = "evaluator.stats.sample-rate=1.0")
+@DisplayName("Runtime Stats Service Tests")
+class RuntimeStatsServiceTest {
+    
+    @Autowired
+    private RuntimeStatsService runtimeStatsService;
+    
+    @Autowired
+    private EquationService equationService;
+    
+    @Autowired
+    private ExecutionService executionService;
+    
+    @Autowired
+    private EquationRepository equationRepository;
+    
+    @BeforeEach
+    void setUp() {
+        equationRepository.clear();
+    }
+    
+    private void evaluate(String id, Map<String, Number> variables, int times) {
+        for (int i = 0; i < times; i++) {
+            executionService.evaluate(equationService.getEvaluableEquation(id), variables);
+        }
+    }
+    
+    @Test
+    @DisplayName("should count calls and errors of every evaluation")
+    void testCallsAndErrorsCounted() {
+        String id = equationService.storeEquation("x / y");
+        evaluate(id, Map.of("x", 1, "y", 2), 3);
+        assertThrows(EvaluationException.class, () -> evaluate(id, Map.of("x", 1, "y", 0), 1));
+        
+        EquationRuntimeStatsDTO stats = runtimeStatsService.snapshot(equationService.getEquationById(id));
+        assertEquals(4, stats.getCalls());
+        assertEquals(1, stats.getErrors());
+        assertTrue(stats.getTotalTimeMs() > 0);
+        assertTrue(stats.getP99Micros() >= stats.getP50Micros());
+    }
+    
+    @Test
+    @DisplayName("should rank evaluated equations and skip unused ones")
+    void testTopByRate() {
+        String hot = equationService.storeEquation("x + 1");
+        String warm = equationService.storeEquation("x + 2");
+        equationService.storeEquation("x + 3");
+        evaluate(hot, Map.of("x", 1), 20);
+        evaluate(warm, Map.of("x", 1), 5);
+        
+        List<EquationRuntimeStatsDTO> top = runtimeStatsService.getTopEquations("rate", 10);
+        assertEquals(2, top.size());
+        assertEquals(hot, top.get(0).getEquationId());
+        assertEquals(warm, top.get(1).getEquationId());
+        
+        List<EquationRuntimeStatsDTO> first = runtimeStatsService.getTopEquations("cpu", 1);
+        assertEquals(1, first.size());
+    }
+    
+    @Test
+    @DisplayName("should reject unknown rankings and non-positive limits")
+    void testInvalidParameters() {
+        assertThrows(InvalidEquationException.class, () -> runtimeStatsService.getTopEquations("memory", 10));
+        assertThrows(InvalidEquationException.class, () -> runtimeStatsService.getTopEquations("cpu", 0));
+    }
+}